@@ -0,0 +1,48 @@
+package com.wisecamp.api.config.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.wisecamp.api.config.persistence.StatementCounter.RequestStatements;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Publishes the per-request database work collected by the statement counter,
+ * tagged by handler ("GET /api/boards/{boardId}"), so the endpoints burning
+ * database time can be ranked in Prometheus.
+ */
+@Component
+public class RequestMetrics {
+
+    private final MeterRegistry registry;
+
+    public RequestMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void record(RequestStatements statements) {
+        String handler = statements.tag();
+        DistributionSummary.builder("wisecamp.request.jdbc.statements")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(statements.count());
+        Timer.builder("wisecamp.request.jdbc.time")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(statements.jdbcNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("wisecamp.request.entity.loads")
+                .tag("handler", handler)
+                .register(registry)
+                .record(statements.entityLoads());
+        DistributionSummary.builder("wisecamp.request.collection.fetches")
+                .tag("handler", handler)
+                .register(registry)
+                .record(statements.collectionFetches());
+    }
+}
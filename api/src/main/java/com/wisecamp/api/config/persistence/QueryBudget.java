@@ -0,0 +1,17 @@
+package com.wisecamp.api.config.persistence;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of JDBC statements a handler may execute per request.
+ * Checked by {@link QueryBudgetInterceptor}; a method level annotation wins
+ * over the controller level one.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    int value();
+}
@@ -0,0 +1,7 @@
+package com.wisecamp.api.config.persistence;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String tag, int budget) {
+        super(tag + " exceeded its budget of " + budget + " statements");
+    }
+}
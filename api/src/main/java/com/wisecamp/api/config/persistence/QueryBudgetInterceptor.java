@@ -0,0 +1,56 @@
+package com.wisecamp.api.config.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.wisecamp.api.config.metrics.RequestMetrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    private final StatementCounter counter;
+    private final RequestMetrics requestMetrics;
+
+    public QueryBudgetInterceptor(StatementCounter counter, RequestMetrics requestMetrics) {
+        this.counter = counter;
+        this.requestMetrics = requestMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), QueryBudget.class);
+            if (budget == null)
+                budget = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), QueryBudget.class);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String tag = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+            counter.begin(tag, budget != null ? budget.value() : -1);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        StatementCounter.RequestStatements statements = counter.end();
+        if (statements == null)
+            return;
+        requestMetrics.record(statements);
+        if (statements.overBudget()) {
+            log.warn("{} executed {} statements, budget is {}", statements.tag(), statements.count(),
+                    statements.budget());
+        } else {
+            log.debug("{} executed {} statements", statements.tag(), statements.count());
+        }
+    }
+}
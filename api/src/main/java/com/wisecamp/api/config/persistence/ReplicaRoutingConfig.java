@@ -0,0 +1,78 @@
+package com.wisecamp.api.config.persistence;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Replaces the single pool with a primary pool plus one per replica in
+ * {@code wisecamp.replicas.urls}. The lazy proxy only fetches a real
+ * connection at the first statement, by which time a read-only transaction
+ * has marked it read-only, so {@code @Transactional(readOnly = true)} work
+ * runs on a replica and everything else on the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "wisecamp.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig implements DisposableBean {
+
+    private final List<ReplicaRoutingDataSource> routers = new ArrayList<>();
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+            @Value("${wisecamp.replicas.urls}") List<String> urls,
+            @Value("${wisecamp.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${wisecamp.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${wisecamp.replicas.stickiness-ms:5000}") long stickinessMillis,
+            @Value("${wisecamp.replicas.max-lag-ms:10000}") long maxLagMillis,
+            @Value("${wisecamp.replicas.lag-query:}") String lagQuery,
+            @Value("${wisecamp.replicas.health-ms:5000}") long healthMillis) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank())
+                continue;
+            HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim()).username(username).password(password).build();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, replicas, stickinessMillis,
+                maxLagMillis, lagQuery, healthMillis);
+        routers.add(router);
+        return routingProxy(router);
+    }
+
+    static LazyConnectionDataSourceProxy routingProxy(ReplicaRoutingDataSource router) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(router.writes());
+        proxy.setReadOnlyDataSource(router);
+        // Set up front so the proxy never opens a connection just to learn them
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (ReplicaRoutingDataSource router : routers)
+            router.close();
+    }
+}
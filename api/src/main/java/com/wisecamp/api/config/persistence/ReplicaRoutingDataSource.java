@@ -0,0 +1,242 @@
+package com.wisecamp.api.config.persistence;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The read-only side of a primary/replica pair, meant to sit behind a
+ * {@code LazyConnectionDataSourceProxy} whose read-only data source it is;
+ * {@link #writes()} is that proxy's target.
+ * <p>
+ * Read-only connections go round robin to the healthy replicas. A replica
+ * that fails to hand out a connection is skipped until the next health
+ * check passes, and with no healthy replica reads fall back to the primary.
+ * Each check runs {@code lagQuery} (or a plain validity check when there is
+ * none) and takes the replica out of rotation while it is further behind
+ * than {@code maxLagMillis}.
+ * <p>
+ * Read-your-writes: whenever a user's read-write transaction obtains a
+ * primary connection, the time is remembered, and that user's reads stay on
+ * the primary for {@code stickinessMillis} or the worst current replica lag,
+ * whichever is longer. That only protects the user's own reads, so
+ * anything read once and handed to other users, like a cache fill or a
+ * shared load, runs through {@link #onPrimary} instead.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Set while the current thread reads something it will share
+    private static final ThreadLocal<Boolean> pinned = new ThreadLocal<>();
+
+    public interface Work<V, E extends Exception> {
+        V run() throws E;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile long lagMillis;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long stickinessMillis;
+    private final long maxLagMillis;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService healthChecks;
+    private final DataSource writes;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, long stickinessMillis,
+            long maxLagMillis, String lagQuery, long healthMillis) {
+        this.primary = primary;
+        for (int i = 0; i < replicas.size(); i++)
+            this.replicas.add(new Replica("replica-" + (i + 1), replicas.get(i)));
+        this.stickinessMillis = stickinessMillis;
+        this.maxLagMillis = maxLagMillis;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.writes = new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                recordWrite();
+                return super.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                recordWrite();
+                return super.getConnection(username, password);
+            }
+        };
+        if (healthMillis > 0 && !replicas.isEmpty()) {
+            healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-health");
+                thread.setDaemon(true);
+                return thread;
+            });
+            healthChecks.scheduleWithFixedDelay(this::checkReplicas, healthMillis, healthMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            healthChecks = null;
+        }
+    }
+
+    /** The primary, recording a write for the current user on every connection. */
+    public DataSource writes() {
+        return writes;
+    }
+
+    /**
+     * Runs the work with every read-only connection taken from the primary.
+     * A replica may be behind a commit whose version bump the caller has
+     * already seen, and a result shared under that version would outlive
+     * the stickiness of the user who made the commit. A no-op without
+     * replicas.
+     */
+    public static <V, E extends Exception> V onPrimary(Work<V, E> work) throws E {
+        if (pinned.get() != null)
+            return work.run();
+        pinned.set(Boolean.TRUE);
+        try {
+            return work.run();
+        } finally {
+            pinned.remove();
+        }
+    }
+
+    private interface Connector {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(Connector connector) throws SQLException {
+        if (pinned.get() == null && !wroteRecently()) {
+            int size = replicas.size();
+            int start = size > 0 ? Math.floorMod(next.getAndIncrement(), size) : 0;
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (!replica.healthy)
+                    continue;
+                try {
+                    return connector.connect(replica.dataSource);
+                } catch (SQLException e) {
+                    replica.healthy = false;
+                    log.warn("{} refused a connection; reading from elsewhere until it recovers", replica.name, e);
+                }
+            }
+        }
+        return connector.connect(primary);
+    }
+
+    /** Re-evaluates every replica; runs on the health check thread and may be called directly. */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                long lag = 0;
+                if (lagQuery != null) {
+                    try (Statement statement = connection.createStatement();
+                            ResultSet rs = statement.executeQuery(lagQuery)) {
+                        lag = rs.next() ? rs.getLong(1) : 0;
+                    }
+                } else if (!connection.isValid(2)) {
+                    throw new SQLException("Connection is not valid");
+                }
+                replica.lagMillis = lag;
+                replica.healthy = lag <= maxLagMillis;
+                if (!replica.healthy)
+                    log.warn("{} is {} ms behind the primary; reads go elsewhere", replica.name, lag);
+            } catch (SQLException | RuntimeException e) {
+                replica.healthy = false;
+                if (wasHealthy)
+                    log.warn("{} failed its health check", replica.name, e);
+            }
+            if (replica.healthy && !wasHealthy)
+                log.info("{} is back in rotation", replica.name);
+        }
+        long cutoff = System.currentTimeMillis() - window();
+        lastWrites.values().removeIf(at -> at < cutoff);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (healthChecks != null)
+            healthChecks.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable)
+                closeable.close();
+        }
+        if (primary instanceof AutoCloseable closeable)
+            closeable.close();
+    }
+
+    // Plain autocommit reads also land on the primary; only read-write transactions count as writes
+    private void recordWrite() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+            return;
+        String key = currentKey();
+        if (key != null)
+            lastWrites.put(key, System.currentTimeMillis());
+    }
+
+    private boolean wroteRecently() {
+        String key = currentKey();
+        Long at = key != null ? lastWrites.get(key) : null;
+        return at != null && System.currentTimeMillis() - at < window();
+    }
+
+    private long window() {
+        long lag = 0;
+        for (Replica replica : replicas) {
+            if (replica.healthy)
+                lag = Math.max(lag, replica.lagMillis);
+        }
+        return Math.max(stickinessMillis, lag);
+    }
+
+    // Background work has no user and nothing of its own to read back
+    private static String currentKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken) ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.wisecamp.api.config.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the JDBC statements, statement time, entity loads and collection
+ * fetches on the current thread while a request scope is open. Work outside
+ * a scope (startup, scheduled jobs) is not counted.
+ */
+@Component
+public class StatementCounter {
+
+    public enum Mode {
+        LOG, FAIL
+    }
+
+    public record RequestStatements(String tag, int budget, int count, long jdbcNanos, int entityLoads,
+            int collectionFetches) {
+        public boolean overBudget() {
+            return budget >= 0 && count > budget;
+        }
+    }
+
+    private static final class Scope {
+        private final String tag;
+        private final int budget;
+        private int count;
+        private long jdbcNanos;
+        private int entityLoads;
+        private int collectionFetches;
+
+        private Scope(String tag, int budget) {
+            this.tag = tag;
+            this.budget = budget;
+        }
+    }
+
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+    private final Mode mode;
+    private final boolean tagStatements;
+
+    public StatementCounter(@Value("${wisecamp.query-budget.mode:log}") String mode,
+            @Value("${wisecamp.query-budget.tag-statements:false}") boolean tagStatements) {
+        this.mode = Mode.valueOf(mode.toUpperCase());
+        this.tagStatements = tagStatements;
+    }
+
+    public void begin(String tag, int budget) {
+        current.set(new Scope(tag, budget));
+    }
+
+    public RequestStatements end() {
+        Scope scope = current.get();
+        current.remove();
+        if (scope == null)
+            return null;
+        return new RequestStatements(scope.tag, scope.budget, scope.count, scope.jdbcNanos, scope.entityLoads,
+                scope.collectionFetches);
+    }
+
+    void onStatement() {
+        Scope scope = current.get();
+        if (scope == null)
+            return;
+        scope.count++;
+        if (mode == Mode.FAIL && scope.budget >= 0 && scope.count > scope.budget) {
+            throw new QueryBudgetExceededException(scope.tag, scope.budget);
+        }
+    }
+
+    void onStatementTime(long nanos) {
+        Scope scope = current.get();
+        if (scope != null)
+            scope.jdbcNanos += nanos;
+    }
+
+    void onEntityLoad() {
+        Scope scope = current.get();
+        if (scope != null)
+            scope.entityLoads++;
+    }
+
+    void onCollectionFetch() {
+        Scope scope = current.get();
+        if (scope != null)
+            scope.collectionFetches++;
+    }
+
+    String tag(String sql) {
+        Scope scope = current.get();
+        if (!tagStatements || scope == null || sql == null)
+            return sql;
+        return "/* " + scope.tag.replace("*/", "") + " */ " + sql;
+    }
+}
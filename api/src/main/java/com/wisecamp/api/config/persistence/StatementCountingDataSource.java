@@ -0,0 +1,114 @@
+package com.wisecamp.api.config.persistence;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Wraps the pool so every executed statement, whether it comes from
+ * Hibernate or a {@code JdbcTemplate}, is counted and timed by the
+ * {@link StatementCounter}.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final StatementCounter counter;
+
+    public StatementCountingDataSource(DataSource target, StatementCounter counter) {
+        super(target);
+        this.counter = counter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable)
+            closeable.close();
+    }
+
+    private Connection proxy(Connection target) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(target));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy))
+                return proxy;
+            if ((name.equals("prepareStatement") || name.equals("prepareCall")) && args != null
+                    && args[0] instanceof String sql) {
+                args[0] = counter.tag(sql);
+            }
+            Object result = StatementCountingDataSource.invoke(target, method, args);
+            if (result instanceof CallableStatement statement)
+                return wrap(statement, CallableStatement.class);
+            if (result instanceof PreparedStatement statement)
+                return wrap(statement, PreparedStatement.class);
+            if (result instanceof Statement statement)
+                return wrap(statement, Statement.class);
+            return result;
+        }
+
+        private Object wrap(Statement statement, Class<? extends Statement> type) {
+            return Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                    new Class<?>[] { type }, new StatementHandler(statement));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+
+        private StatementHandler(Statement target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute"))
+                return StatementCountingDataSource.invoke(target, method, args);
+            counter.onStatement();
+            if (args != null && args.length > 0 && args[0] instanceof String sql)
+                args[0] = counter.tag(sql);
+            long start = System.nanoTime();
+            try {
+                return StatementCountingDataSource.invoke(target, method, args);
+            } finally {
+                counter.onStatementTime(System.nanoTime() - start);
+            }
+        }
+    }
+}
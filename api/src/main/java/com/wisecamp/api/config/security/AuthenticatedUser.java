@@ -0,0 +1,72 @@
+package com.wisecamp.api.config.security;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.wisecamp.api.model.Role;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Principal rebuilt from JWT claims alone. The username is the email, as
+ * with the database backed {@code UserDetails}, so existing
+ * {@code getAuthentication().getName()} lookups keep working.
+ */
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final Role role;
+    private final int tokenEpoch;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String email, Role role, int tokenEpoch) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.tokenEpoch = tokenEpoch;
+        this.authorities = role != null ? List.of(new SimpleGrantedAuthority("ROLE_" + role.name())) : List.of();
+    }
+
+    // Null when the token predates the uid/tep claims; such tokens must be renewed by logging in
+    public static AuthenticatedUser fromClaims(Claims claims) {
+        Object id = claims.get(JwtUtil.USER_ID_CLAIM);
+        Object epoch = claims.get(JwtUtil.TOKEN_EPOCH_CLAIM);
+        if (!(id instanceof Number) || !(epoch instanceof Number) || claims.getSubject() == null)
+            return null;
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+        return new AuthenticatedUser(((Number) id).longValue(), claims.getSubject(),
+                role != null ? Role.valueOf(role) : null, ((Number) epoch).intValue());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public int getTokenEpoch() {
+        return tokenEpoch;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -1,11 +1,14 @@
 package com.wisecamp.api.config.security;
 
+import com.wisecamp.api.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
@@ -17,15 +20,23 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TOKEN_EPOCH_CLAIM = "tep";
+
     @Value("${jwt.secret}")
     private String secret;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    private final Timer signTimer;
+    private final Timer parseTimer;
+
+    public JwtUtil(MeterRegistry meterRegistry) {
+        this.signTimer = Timer.builder("wisecamp.jwt").tag("operation", "sign").register(meterRegistry);
+        this.parseTimer = Timer.builder("wisecamp.jwt").tag("operation", "parse").register(meterRegistry);
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    private Key getSigningKey() {
+        return Keys.hmacShaKeyFor(secret.getBytes());
     }
 
     public Date extractExpiration(String token) {
@@ -38,30 +49,36 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
+        return parseTimer.record(
+                () -> Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody());
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // Carries everything JwtRequestFilter needs to build the principal without a user lookup
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        if (user.getRole() != null)
+            claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(TOKEN_EPOCH_CLAIM, user.getTokenEpoch());
+        return createToken(claims, user.getEmail());
     }
 
-    public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+    // Returns null for malformed, tampered or expired tokens
+    public Claims parseClaims(String token) {
+        try {
+            return extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder()
+        return signTimer.record(() -> Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 hours
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
-    }
-
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+                .compact());
     }
 }
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.wisecamp.api.config.security;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Token bucket per caller, right after {@link JwtRequestFilter}: the
+ * authenticated user for API calls, the client address for
+ * {@code /api/auth/**} and anything unauthenticated. A request takes as
+ * many tokens as the first matching entry of {@code costs} says (default
+ * 1), so opening a board drains a bucket faster than {@code GET /me}. When
+ * the bucket is short the request gets 429 with {@code Retry-After} set to
+ * the seconds until it would fit.
+ * <p>
+ * A bucket is one {@link AtomicLong} holding the millitokens left in the
+ * high 24 bits and the time of the last take in the low 40, updated with a
+ * compare-and-set, so the request path takes no lock. Buckets live in a
+ * Caffeine map (striped buffers, no global lock) and are dropped once idle
+ * for longer than it takes to refill them, when they are full anyway.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int TIME_BITS = 40;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private static final long MAX_CAPACITY_MILLIS = (1L << (Long.SIZE - TIME_BITS)) - 1;
+
+    private record Cost(String method, PathPattern pattern, int tokens) {
+    }
+
+    private record Limit(long capacityMillis, long refillPerSecond) {
+    }
+
+    static final class Bucket {
+        private final AtomicLong state;
+
+        Bucket(Limit limit, long now) {
+            state = new AtomicLong(limit.capacityMillis() << TIME_BITS | now);
+        }
+
+        /** Takes the tokens and returns 0, or returns how many milliseconds until they would be there. */
+        long take(Limit limit, int tokens, long now) {
+            // A cost above the capacity would never fit; it takes the whole bucket instead
+            long needed = Math.min(tokens * 1000L, limit.capacityMillis());
+            while (true) {
+                long current = state.get();
+                long last = current & TIME_MASK;
+                long elapsed = Math.max(0, now - last);
+                // Tokens per second is millitokens per millisecond
+                long available = Math.min(limit.capacityMillis(),
+                        (current >>> TIME_BITS) + elapsed * limit.refillPerSecond());
+                if (available < needed)
+                    return (needed - available + limit.refillPerSecond() - 1) / limit.refillPerSecond();
+                if (state.compareAndSet(current, (available - needed) << TIME_BITS | Math.max(now, last)))
+                    return 0;
+            }
+        }
+    }
+
+    private final boolean enabled;
+    private final Limit userLimit;
+    private final Limit addressLimit;
+    private final List<Cost> costs = new ArrayList<>();
+    private final Cache<String, Bucket> buckets;
+    private final long startedAt = System.currentTimeMillis();
+    private final Counter rejected;
+
+    public RateLimitFilter(MeterRegistry registry,
+            @Value("${wisecamp.rate-limit.enabled:true}") boolean enabled,
+            @Value("${wisecamp.rate-limit.capacity:120}") int capacity,
+            @Value("${wisecamp.rate-limit.refill-per-second:20}") int refillPerSecond,
+            @Value("${wisecamp.rate-limit.auth-capacity:10}") int authCapacity,
+            @Value("${wisecamp.rate-limit.auth-refill-per-second:1}") int authRefillPerSecond,
+            @Value("${wisecamp.rate-limit.costs:}") List<String> costs,
+            @Value("${wisecamp.rate-limit.max-entries:1000000}") long maxEntries) {
+        this.enabled = enabled;
+        this.userLimit = new Limit(Math.min(capacity * 1000L, MAX_CAPACITY_MILLIS), Math.max(1, refillPerSecond));
+        this.addressLimit = new Limit(Math.min(authCapacity * 1000L, MAX_CAPACITY_MILLIS),
+                Math.max(1, authRefillPerSecond));
+        for (String cost : costs) {
+            // "GET /api/boards/{id}=5"
+            int space = cost.indexOf(' ');
+            int equals = cost.lastIndexOf('=');
+            if (cost.isBlank() || space < 0 || equals < space)
+                continue;
+            this.costs.add(new Cost(cost.substring(0, space).trim(),
+                    PathPatternParser.defaultInstance.parse(cost.substring(space + 1, equals).trim()),
+                    Integer.parseInt(cost.substring(equals + 1).trim())));
+        }
+        long slowestRefillMillis = Math.max(userLimit.capacityMillis() / userLimit.refillPerSecond(),
+                addressLimit.capacityMillis() / addressLimit.refillPerSecond());
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMillis(Math.max(slowestRefillMillis, 1000)))
+                .maximumSize(maxEntries)
+                .build();
+        this.rejected = Counter.builder("wisecamp.rate-limit.rejected").register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String key;
+        Limit limit;
+        if (path.startsWith("/api/auth/") || authentication == null
+                || authentication instanceof AnonymousAuthenticationToken) {
+            key = "ip:" + request.getRemoteAddr();
+            limit = addressLimit;
+        } else {
+            key = authentication.getPrincipal() instanceof AuthenticatedUser user ? "user:" + user.getId()
+                    : "user:" + authentication.getName();
+            limit = userLimit;
+        }
+
+        long now = System.currentTimeMillis() - startedAt;
+        Bucket bucket = buckets.get(key, k -> new Bucket(limit, now));
+        long waitMillis = bucket.take(limit, cost(request.getMethod(), path), now);
+        if (waitMillis > 0) {
+            rejected.increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", Long.toString((waitMillis + 999) / 1000));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private int cost(String method, String path) {
+        if (costs.isEmpty())
+            return 1;
+        PathContainer container = PathContainer.parsePath(path);
+        for (Cost cost : costs) {
+            if (cost.method().equalsIgnoreCase(method) && cost.pattern().matches(container))
+                return cost.tokens();
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,134 @@
+package com.wisecamp.api.config.security;
+
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.wisecamp.api.service.InvalidationBus;
+import com.wisecamp.api.service.InvalidationListener;
+
+/**
+ * In-memory copy of every user's token epoch, so a request can be
+ * authenticated from its JWT without touching the database.
+ * <p>
+ * The table is two sorted primitive arrays (about 12 bytes per user)
+ * swapped atomically on each refresh, plus a small map of epochs bumped on
+ * this node since the last refresh. A user id missing from the snapshot
+ * but below its highest id has been removed; ids above it were registered
+ * after the snapshot was taken and are accepted at epoch 0, so a user
+ * removed before any snapshot saw a higher id keeps a local tombstone.
+ * <p>
+ * Revocations travel over {@link InvalidationBus}, so every node reloads
+ * the user's epoch at once instead of at its next refresh.
+ */
+@Component
+public class TokenEpochRegistry implements InvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenEpochRegistry.class);
+
+    private record Snapshot(long[] ids, int[] epochs, long maxId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InvalidationBus invalidationBus;
+    private final Map<Long, Integer> localBumps = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(new long[0], new int[0], 0);
+
+    public TokenEpochRegistry(JdbcTemplate jdbcTemplate, InvalidationBus invalidationBus) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.invalidationBus = invalidationBus;
+    }
+
+    public boolean isCurrent(long userId, int tokenEpoch) {
+        Integer bumped = localBumps.get(userId);
+        if (bumped != null)
+            return bumped == tokenEpoch;
+        Snapshot s = snapshot;
+        int index = Arrays.binarySearch(s.ids(), userId);
+        if (index >= 0)
+            return s.epochs()[index] == tokenEpoch;
+        return userId > s.maxId() && tokenEpoch == 0;
+    }
+
+    /**
+     * Invalidates every token issued to the user so far and returns the new
+     * epoch, as written by the update itself. Every node, this one
+     * included, reloads the epoch once the caller's transaction commits.
+     */
+    public int revoke(long userId) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE users SET token_epoch = COALESCE(token_epoch, 0) + 1 WHERE id = ?",
+                    new String[] { "token_epoch" });
+            statement.setLong(1, userId);
+            return statement;
+        }, keys);
+        Number epoch = keys.getKey();
+        if (epoch == null)
+            throw new RuntimeException("User not found");
+        invalidationBus.tokensRevoked(userId);
+        return epoch.intValue();
+    }
+
+    /** Forgets a user whose row was deleted; their tokens stop validating once the deletion commits. */
+    public void remove(long userId) {
+        invalidationBus.tokensRevoked(userId);
+    }
+
+    @Override
+    public void tokensRevoked(long userId) {
+        List<Integer> epochs = jdbcTemplate.queryForList(
+                "SELECT COALESCE(token_epoch, 0) FROM users WHERE id = ?", Integer.class, userId);
+        localBumps.put(userId, epochs.isEmpty() ? Integer.MIN_VALUE : epochs.get(0));
+    }
+
+    @Override
+    public void flushAll() {
+        refresh();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${wisecamp.auth.epoch-refresh-ms:30000}", initialDelayString = "${wisecamp.auth.epoch-refresh-ms:30000}")
+    public void refresh() {
+        int count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        long[] ids = new long[count + 16];
+        int[] epochs = new int[ids.length];
+        int[] size = { 0 };
+        jdbcTemplate.query("SELECT id, token_epoch FROM users ORDER BY id", rs -> {
+            if (size[0] == ids.length)
+                return;
+            ids[size[0]] = rs.getLong(1);
+            epochs[size[0]] = rs.getInt(2);
+            size[0]++;
+        });
+        long[] loadedIds = Arrays.copyOf(ids, size[0]);
+        int[] loadedEpochs = Arrays.copyOf(epochs, size[0]);
+        // Ids are never reused, so the highest id ever seen separates removed users from new ones
+        long maxId = Math.max(snapshot.maxId(), size[0] > 0 ? loadedIds[size[0] - 1] : 0);
+        Snapshot loaded = new Snapshot(loadedIds, loadedEpochs, maxId);
+        snapshot = loaded;
+
+        // Keep local bumps the snapshot has not caught up with yet. A removal is only covered once the
+        // row is gone and the id is at or below maxId; above it, a missing id would read as a new user
+        localBumps.entrySet().removeIf(entry -> {
+            int index = Arrays.binarySearch(loaded.ids(), entry.getKey());
+            if (index < 0)
+                return entry.getKey() <= loaded.maxId();
+            return entry.getValue() != Integer.MIN_VALUE && loaded.epochs()[index] >= entry.getValue();
+        });
+        log.debug("Loaded token epochs for {} users", size[0]);
+    }
+}
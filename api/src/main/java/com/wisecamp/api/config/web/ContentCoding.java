@@ -0,0 +1,44 @@
+package com.wisecamp.api.config.web;
+
+/**
+ * Reads an {@code Accept-Encoding} header. A coding is acceptable when it,
+ * or failing that {@code *}, is listed with a quality value above zero, so
+ * {@code gzip;q=0} refuses gzip even next to {@code *}.
+ */
+public final class ContentCoding {
+
+    private ContentCoding() {
+    }
+
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank())
+            return false;
+        double gzip = -1;
+        double any = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim();
+            double quality = quality(parts);
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip"))
+                gzip = Math.max(gzip, quality);
+            else if (coding.equals("*"))
+                any = Math.max(any, quality);
+        }
+        return gzip >= 0 ? gzip > 0 : any > 0;
+    }
+
+    // An unparseable weight counts as q=0 rather than guessing
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
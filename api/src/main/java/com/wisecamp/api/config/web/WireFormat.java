@@ -0,0 +1,49 @@
+package com.wisecamp.api.config.web;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Payload encodings the API can produce. JSON stays the default; Smile and
+ * CBOR carry the same Jackson object model in a binary form.
+ */
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    CBOR(new MediaType("application", "cbor"));
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Picks the format with the highest quality value in an {@code Accept}
+     * header; ties go to the type listed first. Wildcards and missing or
+     * unparseable headers resolve to JSON.
+     */
+    public static WireFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank())
+            return JSON;
+        WireFormat best = JSON;
+        double bestQuality = 0;
+        try {
+            for (MediaType requested : MediaType.parseMediaTypes(accept)) {
+                for (WireFormat format : values()) {
+                    if (requested.includes(format.mediaType) && requested.getQualityValue() > bestQuality) {
+                        best = format;
+                        bestQuality = requested.getQualityValue();
+                    }
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        return best;
+    }
+}
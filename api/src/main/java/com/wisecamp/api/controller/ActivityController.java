@@ -0,0 +1,54 @@
+package com.wisecamp.api.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.wisecamp.api.config.persistence.QueryBudget;
+import com.wisecamp.api.config.security.AuthenticatedUser;
+import com.wisecamp.api.dto.ActivityDtos.ActivityPage;
+import com.wisecamp.api.repository.UserRepository;
+import com.wisecamp.api.service.ActivityService;
+import com.wisecamp.api.service.BoardService;
+
+@RestController
+@PreAuthorize("isAuthenticated()")
+public class ActivityController {
+
+    private final ActivityService activityService;
+    private final BoardService boardService;
+    private final UserRepository userRepository;
+
+    public ActivityController(ActivityService activityService, BoardService boardService,
+            UserRepository userRepository) {
+        this.activityService = activityService;
+        this.boardService = boardService;
+        this.userRepository = userRepository;
+    }
+
+    // Newest first; pass nextBefore from the previous page to continue
+    @GetMapping("/api/boards/{boardId}/activities")
+    @QueryBudget(3)
+    public ResponseEntity<ActivityPage> getBoardActivities(@PathVariable Long boardId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer limit) {
+        boardService.checkBoardAccess(boardId);
+        return ResponseEntity.ok(activityService.getBoardFeed(boardId, before, limit));
+    }
+
+    @GetMapping("/api/users/me/activities")
+    @QueryBudget(2)
+    public ResponseEntity<ActivityPage> getMyActivities(@AuthenticationPrincipal UserDetails principal,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer limit) {
+        Long userId = principal instanceof AuthenticatedUser user
+                ? user.getId()
+                : userRepository.findByEmail(principal.getUsername()).orElseThrow().getId();
+        return ResponseEntity.ok(activityService.getUserFeed(userId, before, limit));
+    }
+}
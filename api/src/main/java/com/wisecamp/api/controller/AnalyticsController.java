@@ -0,0 +1,54 @@
+package com.wisecamp.api.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.wisecamp.api.config.persistence.QueryBudget;
+import com.wisecamp.api.dto.AnalyticsDtos.CumulativeFlowResponse;
+import com.wisecamp.api.dto.AnalyticsDtos.CycleTimeResponse;
+import com.wisecamp.api.service.BoardService;
+import com.wisecamp.api.service.FlowAnalyticsService;
+
+@RestController
+@RequestMapping("/api/boards/{boardId}/analytics")
+@PreAuthorize("hasAnyRole('PROJECT_MANAGER', 'SYSTEM_ADMINISTRATOR')")
+public class AnalyticsController {
+
+    private final FlowAnalyticsService flowAnalyticsService;
+    private final BoardService boardService;
+
+    public AnalyticsController(FlowAnalyticsService flowAnalyticsService, BoardService boardService) {
+        this.flowAnalyticsService = flowAnalyticsService;
+        this.boardService = boardService;
+    }
+
+    // The last `days` days, today included
+    @GetMapping("/cumulative-flow")
+    @QueryBudget(6)
+    public ResponseEntity<CumulativeFlowResponse> getCumulativeFlow(@PathVariable Long boardId,
+            @RequestParam(defaultValue = "90") int days) {
+        boardService.checkBoardAccess(boardId);
+        LocalDate to = LocalDate.now();
+        return ResponseEntity.ok(flowAnalyticsService.getCumulativeFlow(boardId, to.minusDays(clamp(days) - 1), to));
+    }
+
+    @GetMapping("/cycle-time")
+    @QueryBudget(4)
+    public ResponseEntity<CycleTimeResponse> getCycleTime(@PathVariable Long boardId,
+            @RequestParam(defaultValue = "90") int days) {
+        boardService.checkBoardAccess(boardId);
+        LocalDate to = LocalDate.now();
+        return ResponseEntity.ok(flowAnalyticsService.getCycleTimes(boardId, to.minusDays(clamp(days) - 1), to));
+    }
+
+    private static int clamp(int days) {
+        return Math.max(1, Math.min(days, FlowAnalyticsService.MAX_DAYS));
+    }
+}
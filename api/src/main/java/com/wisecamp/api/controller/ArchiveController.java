@@ -0,0 +1,56 @@
+package com.wisecamp.api.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.wisecamp.api.config.persistence.QueryBudget;
+import com.wisecamp.api.dto.ArchiveDtos.ArchivePage;
+import com.wisecamp.api.dto.ArchiveDtos.ArchivedCard;
+import com.wisecamp.api.dto.CardResponse;
+import com.wisecamp.api.service.CardArchiveService;
+import com.wisecamp.api.service.CardService;
+
+@RestController
+@RequestMapping("/api/boards/{boardId}/archive")
+@PreAuthorize("isAuthenticated()")
+public class ArchiveController {
+
+    private static final int MAX_PAGE = 200;
+
+    private final CardArchiveService cardArchiveService;
+    private final CardService cardService;
+
+    public ArchiveController(CardArchiveService cardArchiveService, CardService cardService) {
+        this.cardArchiveService = cardArchiveService;
+        this.cardService = cardService;
+    }
+
+    // Newest first; q matches titles, after is the previous page's nextAfter
+    @GetMapping
+    @QueryBudget(3)
+    public ResponseEntity<ArchivePage> getArchivedCards(@PathVariable Long boardId,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(cardArchiveService.getArchivedCards(boardId, q, after,
+                Math.max(1, Math.min(limit, MAX_PAGE))));
+    }
+
+    @GetMapping("/{cardId}")
+    @QueryBudget(3)
+    public ResponseEntity<ArchivedCard> getArchivedCard(@PathVariable Long boardId, @PathVariable Long cardId) {
+        return ResponseEntity.ok(cardArchiveService.getArchivedCard(boardId, cardId));
+    }
+
+    @PostMapping("/{cardId}/restore")
+    @QueryBudget(13)
+    public ResponseEntity<CardResponse> restoreCard(@PathVariable Long boardId, @PathVariable Long cardId) {
+        return ResponseEntity.ok(cardService.toCardResponse(cardArchiveService.restoreCard(boardId, cardId)));
+    }
+}
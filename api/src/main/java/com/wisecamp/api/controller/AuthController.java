@@ -1,5 +1,6 @@
 package com.wisecamp.api.controller;
 
+import com.wisecamp.api.config.persistence.QueryBudget;
 import com.wisecamp.api.dto.AuthDtos.*;
 import com.wisecamp.api.service.AuthService;
 import org.springframework.http.ResponseEntity;
@@ -19,14 +20,14 @@ public class AuthController {
     }
 
     @PostMapping("/register")
+    @QueryBudget(2)
     public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request) {
-        authService.register(request);
-        // Immediately log the user in after registration to return token + user
-        AuthResponse auth = authService.login(new LoginRequest(request.email(), request.password()));
-        return ResponseEntity.ok(auth);
+        // The new user is logged in straight away: token + user, without hashing the password again
+        return ResponseEntity.ok(authService.register(request));
     }
 
     @PostMapping("/login")
+    @QueryBudget(1)
     public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request) {
         return ResponseEntity.ok(authService.login(request));
     }
@@ -1,7 +1,10 @@
 package com.wisecamp.api.controller;
 
+import java.io.IOException;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,48 +13,136 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.wisecamp.api.config.persistence.QueryBudget;
+import com.wisecamp.api.config.web.ContentCoding;
+import com.wisecamp.api.config.web.WireFormat;
 import com.wisecamp.api.dto.BoardDtos.BoardRequest;
 import com.wisecamp.api.dto.BoardDtos.BoardSummaryResponse;
+import com.wisecamp.api.dto.BoardDtos.ColumnResponse;
 import com.wisecamp.api.dto.BoardDtos.FullBoardResponse;
+import com.wisecamp.api.service.BoardJsonWriter;
+import com.wisecamp.api.service.BoardQueryService;
 import com.wisecamp.api.service.BoardService;
+import com.wisecamp.api.service.BoardSnapshotCache;
+import com.wisecamp.api.service.BoardSnapshotCache.Snapshot;
+import com.wisecamp.api.service.FieldSelection;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/api/boards")
 @PreAuthorize("isAuthenticated()")
 public class BoardController {
 
-    private final BoardService boardService;
+    private static final int MAX_CARDS_PER_COLUMN = 200;
 
-    public BoardController(BoardService boardService) {
+    private final BoardService boardService;
+    private final BoardQueryService boardQueryService;
+    private final BoardJsonWriter boardJsonWriter;
+    private final BoardSnapshotCache boardSnapshotCache;
+    private final boolean streamingReads;
+
+    public BoardController(BoardService boardService, BoardQueryService boardQueryService,
+            BoardJsonWriter boardJsonWriter,
+            BoardSnapshotCache boardSnapshotCache,
+            @Value("${wisecamp.boards.streaming-read:true}") boolean streamingReads) {
         this.boardService = boardService;
+        this.boardQueryService = boardQueryService;
+        this.boardJsonWriter = boardJsonWriter;
+        this.boardSnapshotCache = boardSnapshotCache;
+        this.streamingReads = streamingReads;
     }
 
     @GetMapping
+    @QueryBudget(2)
     public ResponseEntity<List<BoardSummaryResponse>> getUserBoards() {
-        return ResponseEntity.ok(boardService.getBoardsForCurrentUser());
+        return ResponseEntity.ok(boardQueryService.getBoardsForCurrentUser());
+    }
+
+    @GetMapping("/templates")
+    @QueryBudget(2)
+    public ResponseEntity<List<BoardSummaryResponse>> getUserTemplates() {
+        return ResponseEntity.ok(boardQueryService.getTemplatesForCurrentUser());
     }
 
     @PostMapping
+    @QueryBudget(6)
     public ResponseEntity<FullBoardResponse> createBoard(@RequestBody BoardRequest request) {
         return ResponseEntity.ok(boardService.createBoard(request));
     }
 
     @GetMapping("/{boardId}")
-    public ResponseEntity<FullBoardResponse> getBoardById(@PathVariable Long boardId) {
-        return ResponseEntity.ok(boardService.getBoardById(boardId));
+    @QueryBudget(5)
+    public ResponseEntity<FullBoardResponse> getBoardById(@PathVariable Long boardId,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
+            @RequestParam(required = false) Integer cardsPerColumn,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        FieldSelection selection = BoardJsonWriter.validate(FieldSelection.parse(fields, include));
+        int cardLimit = cardsPerColumn != null ? Math.max(1, Math.min(cardsPerColumn, MAX_CARDS_PER_COLUMN)) : 0;
+        if (!streamingReads && selection.isAll() && cardLimit == 0)
+            return ResponseEntity.ok(boardQueryService.getBoardById(boardId));
+
+        boardService.checkBoardAccess(boardId);
+        WireFormat format = WireFormat.negotiate(accept);
+        response.setContentType(format.mediaType().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // Sparse and paged reads are cheap to build and too varied to cache
+        if (!boardSnapshotCache.isEnabled() || !selection.isAll() || cardLimit > 0) {
+            if (!boardJsonWriter.writeBoard(boardId, selection, cardLimit, format, response.getOutputStream()))
+                throw new RuntimeException("Board not found");
+            // Body already written; a null return marks the request as handled
+            return null;
+        }
+
+        Snapshot snapshot = boardSnapshotCache.getOrLoad(boardId, format,
+                out -> boardJsonWriter.writeBoard(boardId, format, out));
+        if (snapshot == null)
+            throw new RuntimeException("Board not found");
+        byte[] body = snapshot.body();
+        if (snapshot.gzip() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (ContentCoding.acceptsGzip(acceptEncoding)) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                body = snapshot.gzip();
+            }
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return null;
     }
 
     @PutMapping("/{boardId}")
+    @QueryBudget(6)
     public ResponseEntity<FullBoardResponse> updateBoard(
             @PathVariable Long boardId,
             @RequestBody BoardRequest request) {
         return ResponseEntity.ok(boardService.updateBoard(boardId, request));
     }
 
+    @PostMapping("/{boardId}/template")
+    @QueryBudget(10)
+    public ResponseEntity<BoardSummaryResponse> saveAsTemplate(@PathVariable Long boardId,
+            @RequestBody(required = false) BoardRequest request) {
+        return ResponseEntity.ok(boardService.saveAsTemplate(boardId, request));
+    }
+
+    @PostMapping("/{boardId}/clone")
+    @QueryBudget(13)
+    public ResponseEntity<BoardSummaryResponse> cloneBoard(@PathVariable Long boardId,
+            @RequestBody(required = false) BoardRequest request) {
+        return ResponseEntity.ok(boardService.createFromBoard(boardId, request));
+    }
+
     @DeleteMapping("/{boardId}")
+    @QueryBudget(7)
     public ResponseEntity<Void> deleteBoard(@PathVariable Long boardId) {
         boardService.deleteBoard(boardId);
         return ResponseEntity.noContent().build();
@@ -61,12 +152,23 @@ public class BoardController {
     }
 
     @PostMapping("/{boardId}/columns")
-    public ResponseEntity<Void> createColumn(@PathVariable Long boardId, @RequestBody ColumnRequest req) {
-        boardService.createColumn(boardId, req.name(), req.position());
+    @QueryBudget(4)
+    public ResponseEntity<ColumnResponse> createColumn(@PathVariable Long boardId, @RequestBody ColumnRequest req) {
+        return ResponseEntity.ok(boardService.createColumn(boardId, req.name(), req.position()));
+    }
+
+    public record ColumnOrderRequest(List<Long> columnIds) {
+    }
+
+    @PutMapping("/{boardId}/columns/order")
+    @QueryBudget(4)
+    public ResponseEntity<Void> reorderColumns(@PathVariable Long boardId, @RequestBody ColumnOrderRequest req) {
+        boardService.reorderColumns(boardId, req.columnIds());
         return ResponseEntity.ok().build();
     }
 
     @PutMapping("/{boardId}/columns/{columnId}")
+    @QueryBudget(5)
     public ResponseEntity<Void> updateColumn(@PathVariable Long boardId, @PathVariable Long columnId,
             @RequestBody ColumnRequest req) {
         boardService.updateColumn(boardId, columnId, req.name(), req.position());
@@ -74,6 +176,7 @@ public class BoardController {
     }
 
     @DeleteMapping("/{boardId}/columns/{columnId}")
+    @QueryBudget(11)
     public ResponseEntity<Void> deleteColumn(@PathVariable Long boardId, @PathVariable Long columnId) {
         boardService.deleteColumn(boardId, columnId);
         return ResponseEntity.noContent().build();
@@ -83,12 +186,14 @@ public class BoardController {
     }
 
     @PostMapping("/{boardId}/members")
+    @QueryBudget(7)
     public ResponseEntity<Void> addMember(@PathVariable Long boardId, @RequestBody MemberRequest req) {
         boardService.addMember(boardId, req.userId());
         return ResponseEntity.ok().build();
     }
 
     @DeleteMapping("/{boardId}/members/{userId}")
+    @QueryBudget(7)
     public ResponseEntity<Void> removeMember(@PathVariable Long boardId, @PathVariable Long userId) {
         boardService.removeMember(boardId, userId);
         return ResponseEntity.noContent().build();
@@ -4,9 +4,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 
+import com.wisecamp.api.config.persistence.QueryBudget;
+import com.wisecamp.api.dto.CardDetailResponse;
 import com.wisecamp.api.dto.CardRequest;
 import com.wisecamp.api.dto.CardResponse;
 import com.wisecamp.api.model.Card;
+import com.wisecamp.api.service.CardArchiveService;
 import com.wisecamp.api.service.CardService;
 
 @RestController
@@ -14,39 +17,55 @@ import com.wisecamp.api.service.CardService;
 @PreAuthorize("isAuthenticated()")
 public class CardController {
     private final CardService cardService;
+    private final CardArchiveService cardArchiveService;
 
-    public CardController(CardService cardService) {
+    public CardController(CardService cardService, CardArchiveService cardArchiveService) {
         this.cardService = cardService;
+        this.cardArchiveService = cardArchiveService;
     }
 
     @PostMapping
+    @QueryBudget(9)
     public ResponseEntity<CardResponse> createCard(@RequestBody CardRequest req) {
-        Card c = cardService.createCard(req.columnId(), req.title(), req.name(), req.description());
-        return ResponseEntity.ok(new CardResponse(c.getId(), c.getTitle(), c.getName(), c.getDescription(),
-                c.getPosition(), c.getIsActive(), c.getDueDate(), c.getComments() != null ? c.getComments().size() : 0,
-                c.getAttachments() != null ? c.getAttachments().size() : 0));
+        Card c = cardService.createCard(req.columnId(), req.title(), req.name(), req.description(), req.dueDate());
+        return ResponseEntity.ok(cardService.toCardResponse(c));
+    }
+
+    @GetMapping("/{cardId}")
+    @QueryBudget(6)
+    public ResponseEntity<CardDetailResponse> getCard(@PathVariable Long cardId) {
+        return ResponseEntity.ok(cardService.getCard(cardId));
     }
 
     @PutMapping("/{cardId}")
+    @QueryBudget(7)
     public ResponseEntity<CardResponse> updateCard(@PathVariable Long cardId, @RequestBody CardRequest req) {
-        Card c = cardService.updateCard(cardId, req.title(), req.name(), req.description());
-        return ResponseEntity.ok(new CardResponse(c.getId(), c.getTitle(), c.getName(), c.getDescription(),
-                c.getPosition(), c.getIsActive(), c.getDueDate(), c.getComments().size(), c.getAttachments().size()));
+        Card c = cardService.updateCard(cardId, req.title(), req.name(), req.description(), req.dueDate());
+        return ResponseEntity.ok(cardService.toCardResponse(c));
     }
 
     @DeleteMapping("/{cardId}")
+    @QueryBudget(10)
     public ResponseEntity<Void> deleteCard(@PathVariable Long cardId) {
         cardService.deleteCard(cardId);
         return ResponseEntity.noContent().build();
     }
 
+    // Moves the card, with its comments and checklist, to the board's archive
+    @PostMapping("/{cardId}/archive")
+    @QueryBudget(15)
+    public ResponseEntity<Void> archiveCard(@PathVariable Long cardId) {
+        cardArchiveService.archiveCard(cardId);
+        return ResponseEntity.noContent().build();
+    }
+
     public record MoveRequest(Long columnId, Integer position) {
     }
 
     @PatchMapping("/{cardId}/move")
+    @QueryBudget(13)
     public ResponseEntity<CardResponse> moveCard(@PathVariable Long cardId, @RequestBody MoveRequest req) {
         Card c = cardService.moveCard(cardId, req.columnId(), req.position());
-        return ResponseEntity.ok(new CardResponse(c.getId(), c.getTitle(), c.getName(), c.getDescription(),
-                c.getPosition(), c.getIsActive(), c.getDueDate(), c.getComments().size(), c.getAttachments().size()));
+        return ResponseEntity.ok(cardService.toCardResponse(c));
     }
 }
@@ -0,0 +1,37 @@
+package com.wisecamp.api.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.wisecamp.api.config.persistence.QueryBudget;
+import com.wisecamp.api.dto.BoardDtos.CardPage;
+import com.wisecamp.api.service.BoardQueryService;
+
+@RestController
+@RequestMapping("/api/columns")
+@PreAuthorize("isAuthenticated()")
+public class ColumnController {
+
+    private static final int MAX_PAGE = 200;
+
+    private final BoardQueryService boardQueryService;
+
+    public ColumnController(BoardQueryService boardQueryService) {
+        this.boardQueryService = boardQueryService;
+    }
+
+    // In board order; after is a nextCursor from this endpoint or from a board read with cardsPerColumn
+    @GetMapping("/{columnId}/cards")
+    @QueryBudget(4)
+    public ResponseEntity<CardPage> getCards(@PathVariable Long columnId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(boardQueryService.getColumnCards(columnId, after,
+                Math.max(1, Math.min(limit, MAX_PAGE))));
+    }
+}
@@ -0,0 +1,38 @@
+package com.wisecamp.api.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.wisecamp.api.config.persistence.QueryBudget;
+import com.wisecamp.api.config.security.AuthenticatedUser;
+import com.wisecamp.api.dto.DashboardDtos.DashboardResponse;
+import com.wisecamp.api.repository.UserRepository;
+import com.wisecamp.api.service.DashboardService;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@PreAuthorize("isAuthenticated()")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+    private final UserRepository userRepository;
+
+    public DashboardController(DashboardService dashboardService, UserRepository userRepository) {
+        this.dashboardService = dashboardService;
+        this.userRepository = userRepository;
+    }
+
+    @GetMapping
+    @QueryBudget(2)
+    public ResponseEntity<DashboardResponse> getDashboard(@AuthenticationPrincipal UserDetails principal) {
+        Long userId = principal instanceof AuthenticatedUser user
+                ? user.getId()
+                : userRepository.findByEmail(principal.getUsername()).orElseThrow().getId();
+        return ResponseEntity.ok(dashboardService.getDashboard(userId));
+    }
+}
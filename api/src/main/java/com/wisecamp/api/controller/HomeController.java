@@ -1,5 +1,8 @@
 package com.wisecamp.api.controller;
 
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,6 +15,12 @@ import java.util.Map;
 @RequestMapping("/")
 public class HomeController {
 
+    private final HealthEndpoint healthEndpoint;
+
+    public HomeController(HealthEndpoint healthEndpoint) {
+        this.healthEndpoint = healthEndpoint;
+    }
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> home() {
         Map<String, Object> response = new HashMap<>();
@@ -20,7 +29,8 @@ public class HomeController {
         response.put("status", "running");
 
         Map<String, String> endpoints = new HashMap<>();
-        endpoints.put("health", "GET /");
+        endpoints.put("health", "GET /health");
+        endpoints.put("metrics", "GET /actuator/prometheus");
         endpoints.put("h2-console", "GET /h2-console");
         endpoints.put("register", "POST /api/auth/register");
         endpoints.put("login", "POST /api/auth/login");
@@ -45,9 +55,11 @@ public class HomeController {
 
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> health() {
+        Status status = healthEndpoint.health().getStatus();
         Map<String, String> response = new HashMap<>();
-        response.put("status", "UP");
+        response.put("status", status.getCode());
         response.put("service", "WiseCamp API");
-        return ResponseEntity.ok(response);
+        return Status.UP.equals(status) ? ResponseEntity.ok(response)
+                : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
 }
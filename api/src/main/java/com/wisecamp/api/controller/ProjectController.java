@@ -1,11 +1,19 @@
 package com.wisecamp.api.controller;
 
+import com.wisecamp.api.config.persistence.QueryBudget;
+import com.wisecamp.api.config.web.WireFormat;
 import com.wisecamp.api.dto.ProjectDtos.*;
+import com.wisecamp.api.service.FieldSelection;
+import com.wisecamp.api.service.ProjectJsonWriter;
+import com.wisecamp.api.service.ProjectQueryService;
 import com.wisecamp.api.service.ProjectService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -14,27 +22,51 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ProjectQueryService projectQueryService;
+    private final ProjectJsonWriter projectJsonWriter;
 
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, ProjectQueryService projectQueryService,
+            ProjectJsonWriter projectJsonWriter) {
         this.projectService = projectService;
+        this.projectQueryService = projectQueryService;
+        this.projectJsonWriter = projectJsonWriter;
     }
 
     @GetMapping
+    @QueryBudget(2)
     public ResponseEntity<List<ProjectResponse>> getProjects() {
-        return ResponseEntity.ok(projectService.getUserProjects());
+        return ResponseEntity.ok(projectQueryService.getUserProjects());
     }
 
     @PostMapping
+    @QueryBudget(4)
     public ResponseEntity<ProjectResponse> createProject(@RequestBody CreateProjectRequest request) {
         return ResponseEntity.ok(projectService.createProject(request));
     }
 
     @GetMapping("/{projectId}")
-    public ResponseEntity<ProjectDetailResponse> getProjectById(@PathVariable Long projectId) {
-        return ResponseEntity.ok(projectService.getProjectById(projectId));
+    @QueryBudget(4)
+    public ResponseEntity<ProjectDetailResponse> getProjectById(@PathVariable Long projectId,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse response) throws IOException {
+        FieldSelection selection = ProjectJsonWriter.validate(FieldSelection.parse(fields, include));
+        if (selection.isAll())
+            return ResponseEntity.ok(projectQueryService.getProjectById(projectId));
+
+        projectQueryService.checkProjectAccess(projectId);
+        WireFormat format = WireFormat.negotiate(accept);
+        response.setContentType(format.mediaType().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (!projectJsonWriter.writeProject(projectId, selection, format, response.getOutputStream()))
+            throw new RuntimeException("Project not found");
+        // Body already written; a null return marks the request as handled
+        return null;
     }
 
     @PutMapping("/{projectId}")
+    @QueryBudget(5)
     public ResponseEntity<ProjectResponse> updateProject(
             @PathVariable Long projectId,
             @RequestBody UpdateProjectRequest request) {
@@ -42,12 +74,14 @@ public class ProjectController {
     }
 
     @DeleteMapping("/{projectId}")
+    @QueryBudget(11)
     public ResponseEntity<Void> deleteProject(@PathVariable Long projectId) {
         projectService.deleteProject(projectId);
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{projectId}/members")
+    @QueryBudget(11)
     public ResponseEntity<Void> addProjectMember(
             @PathVariable Long projectId,
             @RequestBody AddMemberRequest request) {
@@ -56,6 +90,7 @@ public class ProjectController {
     }
 
     @DeleteMapping("/{projectId}/members/{userId}")
+    @QueryBudget(11)
     public ResponseEntity<Void> removeProjectMember(
             @PathVariable Long projectId,
             @PathVariable Long userId) {
@@ -0,0 +1,37 @@
+package com.wisecamp.api.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.wisecamp.api.config.persistence.QueryBudget;
+import com.wisecamp.api.dto.PurgeDtos.PurgeJobResponse;
+import com.wisecamp.api.service.BulkPurger;
+
+@RestController
+@RequestMapping("/api/purge-jobs")
+@PreAuthorize("hasRole('SYSTEM_ADMINISTRATOR')")
+public class PurgeJobController {
+
+    private final BulkPurger bulkPurger;
+
+    public PurgeJobController(BulkPurger bulkPurger) {
+        this.bulkPurger = bulkPurger;
+    }
+
+    // Most recent first
+    @GetMapping
+    @QueryBudget(1)
+    public ResponseEntity<List<PurgeJobResponse>> getPurgeJobs(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(bulkPurger.recentJobs(Math.max(1, Math.min(limit, 500))).stream()
+                .map(job -> new PurgeJobResponse(job.getId(), job.getTarget(), job.getTargetId(), job.getStatus(),
+                        job.getPhase(), job.getRowsDeleted(), job.getAttempts(), job.getLastError(),
+                        job.getCreatedAt(), job.getFinishedAt()))
+                .toList());
+    }
+}
@@ -6,15 +6,24 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.wisecamp.api.config.persistence.QueryBudget;
+import com.wisecamp.api.dto.AuthDtos.AuthResponse;
+import com.wisecamp.api.dto.AuthDtos.ChangePasswordRequest;
 import com.wisecamp.api.dto.AuthDtos.UserResponse;
+import com.wisecamp.api.model.Role;
 import com.wisecamp.api.model.User;
 import com.wisecamp.api.repository.UserRepository;
+import com.wisecamp.api.service.AuthService;
+import com.wisecamp.api.service.InvalidationBus;
+import com.wisecamp.api.service.UserService;
 
 @RestController
 @RequestMapping("/api/users")
@@ -22,12 +31,20 @@ import com.wisecamp.api.repository.UserRepository;
 public class UserController {
 
     private final UserRepository userRepository;
+    private final InvalidationBus invalidationBus;
+    private final AuthService authService;
+    private final UserService userService;
 
-    public UserController(UserRepository userRepository) {
+    public UserController(UserRepository userRepository, InvalidationBus invalidationBus, AuthService authService,
+            UserService userService) {
         this.userRepository = userRepository;
+        this.invalidationBus = invalidationBus;
+        this.authService = authService;
+        this.userService = userService;
     }
 
     @GetMapping
+    @QueryBudget(1)
     public ResponseEntity<java.util.List<UserResponse>> listUsers() {
         java.util.List<UserResponse> users = userRepository.findAll().stream()
                 .map(user -> new UserResponse(
@@ -42,6 +59,7 @@ public class UserController {
     }
 
     @GetMapping("/me")
+    @QueryBudget(1)
     public ResponseEntity<UserResponse> me(@AuthenticationPrincipal UserDetails principal) {
         User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
         UserResponse dto = new UserResponse(
@@ -58,6 +76,7 @@ public class UserController {
     }
 
     @PutMapping("/me")
+    @QueryBudget(3)
     public ResponseEntity<UserResponse> updateMe(@AuthenticationPrincipal UserDetails principal,
             @RequestBody UpdateUserRequest request) {
         User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
@@ -69,8 +88,34 @@ public class UserController {
             user.setEmail(request.email());
         // role/avatar updates intentionally omitted for safety
         userRepository.save(user);
+        invalidationBus.userChanged(user.getId());
         return ResponseEntity.ok(new UserResponse(
                 user.getId(), user.getName(), user.getEmail(), user.getUsername(), user.getRole(),
                 user.getAvatarUrl()));
     }
+
+    @PutMapping("/me/password")
+    @QueryBudget(4)
+    public ResponseEntity<AuthResponse> changePassword(@AuthenticationPrincipal UserDetails principal,
+            @RequestBody ChangePasswordRequest request) {
+        return ResponseEntity.ok(authService.changePassword(principal.getUsername(), request));
+    }
+
+    public record UpdateRoleRequest(Role role) {
+    }
+
+    @PutMapping("/{userId}/role")
+    @PreAuthorize("hasRole('SYSTEM_ADMINISTRATOR')")
+    @QueryBudget(4)
+    public ResponseEntity<UserResponse> updateRole(@PathVariable Long userId, @RequestBody UpdateRoleRequest request) {
+        return ResponseEntity.ok(userService.updateRole(userId, request.role()));
+    }
+
+    @DeleteMapping("/{userId}")
+    @PreAuthorize("hasRole('SYSTEM_ADMINISTRATOR')")
+    @QueryBudget(14)
+    public ResponseEntity<Void> removeUser(@PathVariable Long userId) {
+        userService.removeUser(userId);
+        return ResponseEntity.noContent().build();
+    }
 }
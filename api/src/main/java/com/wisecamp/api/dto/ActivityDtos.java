@@ -0,0 +1,22 @@
+package com.wisecamp.api.dto;
+
+import com.wisecamp.api.model.ActivityType;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ActivityDtos {
+
+    public record ActivityResponse(
+            Long id,
+            Long boardId,
+            Long cardId,
+            Long userId,
+            ActivityType type,
+            String details,
+            LocalDateTime createdAt) {
+    }
+
+    // nextBefore is null on the last page
+    public record ActivityPage(List<ActivityResponse> items, Long nextBefore) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.wisecamp.api.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class AnalyticsDtos {
+
+    public record FlowColumn(Long id, String name) {
+    }
+
+    // counts line up with the response's columns
+    public record FlowDay(LocalDate date, List<Long> counts) {
+    }
+
+    public record CumulativeFlowResponse(
+            Long boardId,
+            LocalDate from,
+            LocalDate to,
+            List<FlowColumn> columns,
+            List<FlowDay> days) {
+    }
+
+    public record DurationPercentiles(int cards, double p50Hours, double p85Hours, double p95Hours) {
+    }
+
+    // Cards that first reached the board's last column between from and to
+    public record CycleTimeResponse(
+            Long boardId,
+            LocalDate from,
+            LocalDate to,
+            FlowColumn doneColumn,
+            DurationPercentiles leadTime,
+            DurationPercentiles cycleTime) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.wisecamp.api.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ArchiveDtos {
+
+    public record ArchivedCardSummary(Long cardId, Long columnId, String title, LocalDateTime archivedAt) {
+    }
+
+    // nextAfter is the cursor for the following page, null on the last one
+    public record ArchivePage(List<ArchivedCardSummary> cards, Long nextAfter) {
+    }
+
+    public record ArchivedComment(Long id, String comment, Long userId, LocalDateTime createdAt,
+            LocalDateTime updatedAt) {
+    }
+
+    public record ArchivedChecklistItem(Long id, String name, Boolean isChecked, Integer position,
+            LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    public record ArchivedAttachment(Long id, String filename, String location, LocalDateTime createdAt,
+            LocalDateTime updatedAt) {
+    }
+
+    // Exactly what is written to the archive segment for a card
+    public record ArchivedCard(
+            Long id,
+            Long boardId,
+            Long columnId,
+            String columnName,
+            String name,
+            String title,
+            String description,
+            Integer position,
+            Boolean isActive,
+            LocalDate dueDate,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            List<ArchivedComment> comments,
+            List<ArchivedChecklistItem> checklistItems,
+            List<ArchivedAttachment> attachments) {
+    }
+}
@@ -14,4 +14,7 @@ public class AuthDtos {
 
     public record AuthResponse(String token, UserResponse user) {
     }
+
+    public record ChangePasswordRequest(String currentPassword, String newPassword) {
+    }
 }
\ No newline at end of file
@@ -37,13 +37,17 @@ public class BoardDtos {
                         List<CardResponse> cards) {
         }
 
+        // No description: boards never show it, so it is only read by GET /api/cards/{id}
         public record CardResponse(
                         Long id,
                         String name,
                         String title,
-                        String description,
                         Integer position,
                         Boolean isActive,
                         LocalDateTime createdAt) {
         }
+
+        // nextCursor is the after value for the following page, null on the last one
+        public record CardPage(List<CardResponse> cards, String nextCursor) {
+        }
 }
@@ -0,0 +1,11 @@
+package com.wisecamp.api.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// descriptionHtml is the description rendered from Markdown, with raw HTML escaped
+public record CardDetailResponse(Long id, Long columnId, String title, String name, String description,
+                                 String descriptionHtml, Integer position, Boolean isActive, LocalDate dueDate,
+                                 int commentCount, int attachmentCount, LocalDateTime createdAt,
+                                 LocalDateTime updatedAt) {
+}
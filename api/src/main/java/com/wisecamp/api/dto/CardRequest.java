@@ -1,4 +1,7 @@
 package com.wisecamp.api.dto;
 
-public record CardRequest(Long columnId, String title, String name, String description) {
+import java.time.LocalDate;
+
+public record CardRequest(Long columnId, String title, String name, String description,
+        LocalDate dueDate) {
 }
@@ -0,0 +1,15 @@
+package com.wisecamp.api.dto;
+
+import java.util.Map;
+
+public class DashboardDtos {
+
+    // dueThisWeek runs from today through Sunday; overdue is anything due before today
+    public record DashboardResponse(
+            long boards,
+            long projects,
+            long dueThisWeek,
+            long overdue,
+            Map<String, Long> cardsByColumn) {
+    }
+}
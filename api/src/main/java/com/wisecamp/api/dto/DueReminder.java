@@ -0,0 +1,6 @@
+package com.wisecamp.api.dto;
+
+import java.time.LocalDate;
+
+public record DueReminder(Long cardId, Long boardId, String title, LocalDate dueDate) {
+}
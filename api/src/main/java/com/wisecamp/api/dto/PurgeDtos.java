@@ -0,0 +1,23 @@
+package com.wisecamp.api.dto;
+
+import java.time.LocalDateTime;
+
+import com.wisecamp.api.model.PurgeStatus;
+import com.wisecamp.api.model.PurgeTarget;
+
+public class PurgeDtos {
+
+    // phase names the table being worked on while status is PENDING
+    public record PurgeJobResponse(
+            Long id,
+            PurgeTarget target,
+            Long targetId,
+            PurgeStatus status,
+            String phase,
+            long rowsDeleted,
+            int attempts,
+            String lastError,
+            LocalDateTime createdAt,
+            LocalDateTime finishedAt) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.wisecamp.api.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only board history. Rows are written in batches by
+ * {@code ActivityWriter}, never through the entity manager; on PostgreSQL
+ * the table is hash-partitioned by board (see db/migration/V2__Activities.sql).
+ */
+@Data
+@Entity
+@Table(name = "activities", indexes = {
+        @Index(name = "idx_activities_board_id", columnList = "board_id, id"),
+        @Index(name = "idx_activities_user_id", columnList = "user_id, id")
+})
+public class Activity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @jakarta.persistence.Column(name = "board_id", nullable = false)
+    private Long boardId;
+    private Long cardId;
+    @jakarta.persistence.Column(name = "user_id")
+    private Long userId;
+    @Enumerated(EnumType.STRING)
+    @jakarta.persistence.Column(nullable = false, length = 32)
+    private ActivityType type;
+    private String details;
+    @jakarta.persistence.Column(nullable = false)
+    private LocalDateTime createdAt;
+}
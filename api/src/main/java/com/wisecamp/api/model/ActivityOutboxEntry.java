@@ -0,0 +1,34 @@
+package com.wisecamp.api.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Activities committed with the business transaction in outbox mode,
+ * waiting for {@code ActivityWriter} to move them into {@link Activity}.
+ */
+@Data
+@Entity
+@Table(name = "activity_outbox")
+public class ActivityOutboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @jakarta.persistence.Column(nullable = false)
+    private Long boardId;
+    private Long cardId;
+    private Long userId;
+    @Enumerated(EnumType.STRING)
+    @jakarta.persistence.Column(nullable = false, length = 32)
+    private ActivityType type;
+    private String details;
+    @jakarta.persistence.Column(nullable = false)
+    private LocalDateTime createdAt;
+}
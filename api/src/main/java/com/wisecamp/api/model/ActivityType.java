@@ -0,0 +1,17 @@
+package com.wisecamp.api.model;
+
+public enum ActivityType {
+    BOARD_CREATED,
+    BOARD_UPDATED,
+    COLUMN_CREATED,
+    COLUMN_UPDATED,
+    COLUMN_DELETED,
+    MEMBER_ADDED,
+    MEMBER_REMOVED,
+    CARD_CREATED,
+    CARD_UPDATED,
+    CARD_MOVED,
+    CARD_DELETED,
+    CARD_ARCHIVED,
+    CARD_RESTORED
+}
@@ -0,0 +1,33 @@
+package com.wisecamp.api.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Catalog row for a card moved out of the hot tables. The card itself,
+ * with its comments, checklist items and attachments, is record recordSeq
+ * of archive segment segmentNo; cardId keeps the card's original id.
+ */
+@Data
+@Entity
+@Table(name = "archived_cards", indexes = @Index(name = "idx_archived_cards_board", columnList = "board_id, card_id"))
+public class ArchivedCardEntry {
+    @Id
+    @jakarta.persistence.Column(name = "card_id")
+    private Long cardId;
+    @jakarta.persistence.Column(name = "board_id", nullable = false)
+    private Long boardId;
+    @jakarta.persistence.Column(name = "column_id")
+    private Long columnId;
+    private String title;
+    @jakarta.persistence.Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+    @jakarta.persistence.Column(name = "segment_no", nullable = false)
+    private Integer segmentNo;
+    @jakarta.persistence.Column(name = "record_seq", nullable = false)
+    private Long recordSeq;
+}
@@ -2,13 +2,16 @@ package com.wisecamp.api.model;
 
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
+// Deleted boards stay hidden until BulkPurger has removed them
 @Entity
 @Table(name = "boards")
+@SQLRestriction("deleted_at is null")
 public class Board {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -16,12 +19,13 @@ public class Board {
     private String name;
     private String description;
     private Boolean isPublic;
+    private Boolean isTemplate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User owner;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
     private Project project;
 
@@ -30,13 +34,14 @@ public class Board {
     private Set<User> members;
 
     @OneToMany(mappedBy = "board", cascade = CascadeType.ALL, orphanRemoval = true)
-    @OrderBy("position ASC")
+    @OrderBy("position ASC, id ASC")
     private List<Column> columns;
 
     @CreationTimestamp
     private LocalDateTime createdAt;
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+    private LocalDateTime deletedAt;
 
     // Getters and Setters
     public Long getId() {
@@ -75,6 +80,18 @@ public class Board {
         this.isPublic = isPublic;
     }
 
+    public Boolean getIsTemplate() {
+        return isTemplate;
+    }
+
+    public boolean isTemplate() {
+        return isTemplate != null && isTemplate;
+    }
+
+    public void setIsTemplate(Boolean isTemplate) {
+        this.isTemplate = isTemplate;
+    }
+
     public User getOwner() {
         return owner;
     }
@@ -122,4 +139,12 @@ public class Board {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
 }
\ No newline at end of file
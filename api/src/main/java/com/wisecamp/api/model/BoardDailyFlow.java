@@ -0,0 +1,34 @@
+package com.wisecamp.api.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import java.time.LocalDate;
+
+/**
+ * Cards entering and leaving a column on one day, rolled up from
+ * {@link CardTransition} once the day is over.
+ */
+@Data
+@Entity
+@Table(name = "board_daily_flow", uniqueConstraints = @UniqueConstraint(name = "uk_board_daily_flow_key", columnNames = {
+        "board_id", "flow_date", "column_id" }))
+public class BoardDailyFlow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @jakarta.persistence.Column(name = "board_id", nullable = false)
+    private Long boardId;
+    @jakarta.persistence.Column(name = "flow_date", nullable = false)
+    private LocalDate flowDate;
+    @jakarta.persistence.Column(name = "column_id", nullable = false)
+    private Long columnId;
+    @jakarta.persistence.Column(nullable = false)
+    private Long entered;
+    @jakarta.persistence.Column(nullable = false)
+    private Long exited;
+}
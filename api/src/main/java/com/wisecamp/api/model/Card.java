@@ -10,7 +10,7 @@ import java.util.List;
 
 @Data
 @Entity
-@Table(name = "cards")
+@Table(name = "cards", indexes = @Index(name = "idx_cards_due_date", columnList = "due_date, id"))
 public class Card {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -18,8 +18,10 @@ public class Card {
     private String name;
     private String title;
     private String description;
+    @jakarta.persistence.Column(nullable = false)
     private Integer position;
     private Boolean isActive;
+    @jakarta.persistence.Column(name = "due_date")
     private LocalDate dueDate;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,39 @@
+package com.wisecamp.api.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * A card entering or leaving a column. fromColumnId is null when the card
+ * is created on (or moved onto) the board, toColumnId when it is deleted or
+ * moved off it.
+ */
+@Data
+@Entity
+@Table(name = "card_transitions", indexes = {
+        @Index(name = "idx_card_transitions_board", columnList = "board_id, moved_at"),
+        @Index(name = "idx_card_transitions_moved_at", columnList = "moved_at")
+})
+public class CardTransition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @jakarta.persistence.Column(name = "board_id", nullable = false)
+    private Long boardId;
+    @jakarta.persistence.Column(name = "card_id", nullable = false)
+    private Long cardId;
+    @jakarta.persistence.Column(name = "from_column_id")
+    private Long fromColumnId;
+    @jakarta.persistence.Column(name = "to_column_id")
+    private Long toColumnId;
+    @jakarta.persistence.Column(name = "user_id")
+    private Long userId;
+    @jakarta.persistence.Column(name = "moved_at", nullable = false)
+    private LocalDateTime movedAt;
+}
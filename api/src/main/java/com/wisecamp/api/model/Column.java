@@ -22,6 +22,7 @@ public class Column {
     private Board board;
 
     @OneToMany(mappedBy = "column", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("position ASC, id ASC")
     private List<Card> cards;
 
     @CreationTimestamp
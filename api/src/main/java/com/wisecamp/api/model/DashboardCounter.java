@@ -0,0 +1,34 @@
+package com.wisecamp.api.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * One per-user dashboard number. Rows are only ever adjusted by deltas from
+ * {@code DashboardService}, never through the entity manager.
+ */
+@Data
+@Entity
+@Table(name = "dashboard_counters", uniqueConstraints = @UniqueConstraint(name = "uk_dashboard_counters_key", columnNames = {
+        "user_id", "metric", "bucket" }))
+public class DashboardCounter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @jakarta.persistence.Column(name = "user_id", nullable = false)
+    private Long userId;
+    @Enumerated(EnumType.STRING)
+    @jakarta.persistence.Column(nullable = false, length = 32)
+    private DashboardMetric metric;
+    @jakarta.persistence.Column(nullable = false)
+    private String bucket;
+    @jakarta.persistence.Column(nullable = false)
+    private Long total;
+}
@@ -0,0 +1,10 @@
+package com.wisecamp.api.model;
+
+public enum DashboardMetric {
+    BOARDS,
+    PROJECTS,
+    // bucket = column name
+    CARDS_BY_COLUMN,
+    // bucket = ISO due date
+    CARDS_DUE
+}
@@ -0,0 +1,45 @@
+package com.wisecamp.api.model;
+
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Removal of a deleted board or project and everything under it. Progress
+ * (phase, rowsDeleted) is written by {@code BulkPurger} in the same
+ * transaction as each batch it deletes.
+ */
+@Data
+@Entity
+@Table(name = "purge_jobs", indexes = @Index(name = "idx_purge_jobs_status", columnList = "status, id"))
+public class PurgeJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @jakarta.persistence.Column(nullable = false, length = 16)
+    private PurgeTarget target;
+    @jakarta.persistence.Column(name = "target_id", nullable = false)
+    private Long targetId;
+    @Enumerated(EnumType.STRING)
+    @jakarta.persistence.Column(nullable = false, length = 16)
+    private PurgeStatus status;
+    private String phase;
+    @jakarta.persistence.Column(name = "rows_deleted", nullable = false)
+    private Long rowsDeleted;
+    @jakarta.persistence.Column(nullable = false)
+    private Integer attempts;
+    @jakarta.persistence.Column(name = "last_error", length = 1000)
+    private String lastError;
+    @jakarta.persistence.Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    @jakarta.persistence.Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
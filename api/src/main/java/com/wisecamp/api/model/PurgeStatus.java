@@ -0,0 +1,8 @@
+package com.wisecamp.api.model;
+
+public enum PurgeStatus {
+    PENDING,
+    DONE,
+    // gave up after repeated errors; see lastError
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.wisecamp.api.model;
+
+public enum PurgeTarget {
+    BOARD,
+    // the project's boards are purged first, then the project itself
+    PROJECT
+}
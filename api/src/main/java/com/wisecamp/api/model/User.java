@@ -23,6 +23,10 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    // Bumped to revoke every token issued before (password or role change); only TokenEpochRegistry writes it
+    @jakarta.persistence.Column(updatable = false)
+    private Integer tokenEpoch = 0;
+
     @ManyToMany(mappedBy = "members")
     private Set<Board> memberOfBoards;
 
@@ -88,6 +92,14 @@ public class User {
         this.role = role;
     }
 
+    public int getTokenEpoch() {
+        return tokenEpoch != null ? tokenEpoch : 0;
+    }
+
+    public void setTokenEpoch(Integer tokenEpoch) {
+        this.tokenEpoch = tokenEpoch;
+    }
+
     public Set<Board> getMemberOfBoards() {
         return memberOfBoards;
     }
@@ -0,0 +1,13 @@
+package com.wisecamp.api.repository;
+
+import com.wisecamp.api.model.Activity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface ActivityRepository extends JpaRepository<Activity, Long> {
+    // Keyset pages, newest first: pass the last id of the previous page as the cursor
+    List<Activity> findByBoardIdAndIdLessThanOrderByIdDesc(Long boardId, Long before, Limit limit);
+
+    List<Activity> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long before, Limit limit);
+}
@@ -0,0 +1,15 @@
+package com.wisecamp.api.repository;
+
+import com.wisecamp.api.model.ArchivedCardEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface ArchivedCardRepository extends JpaRepository<ArchivedCardEntry, Long> {
+    // Newest first, keyset-paged by card id
+    List<ArchivedCardEntry> findByBoardIdAndCardIdLessThanOrderByCardIdDesc(Long boardId, Long beforeCardId,
+            Limit limit);
+
+    List<ArchivedCardEntry> findByBoardIdAndCardIdLessThanAndTitleContainingIgnoreCaseOrderByCardIdDesc(
+            Long boardId, Long beforeCardId, String title, Limit limit);
+}
@@ -2,8 +2,15 @@ package com.wisecamp.api.repository;
 
 import com.wisecamp.api.model.Board;
 import com.wisecamp.api.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
+import java.util.Optional;
 
 public interface BoardRepository extends JpaRepository<Board, Long> {
     // Finds all boards where the user is a member
@@ -11,5 +18,34 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
 
     List<Board> findByMembersContaining(User user);
 
+    boolean existsByIdAndMembers_Id(Long boardId, Long userId);
+
     List<Board> findByProjectId(Long projectId);
-}
\ No newline at end of file
+
+    // Board, owner and members in one statement. Columns are a second statement and the cards follow in
+    // batches: fetching two collections at once would repeat every column once per member.
+    @EntityGraph(attributePaths = { "owner", "members" })
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select b from Board b where b.id = :boardId")
+    Optional<Board> findDetailedById(@Param("boardId") Long boardId);
+
+    // id, name, description, isPublic, createdAt of a project's boards
+    @Query("select b.id, b.name, b.description, b.isPublic, b.createdAt from Board b "
+            + "where b.project.id = :projectId order by b.id")
+    List<Object[]> findRowsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("select b.owner.id from Board b where b.id = :boardId")
+    Optional<Long> findOwnerIdById(@Param("boardId") Long boardId);
+
+    // id, name, description, isPublic, memberCount, cardCount, createdAt in one round trip
+    @Query("select b.id, b.name, b.description, b.isPublic, size(b.members), "
+            + "(select count(c) from Card c where c.column.board = b), b.createdAt "
+            + "from Board b join b.members m "
+            + "where m.id = :userId and (b.isTemplate is null or b.isTemplate = false)")
+    List<Object[]> findSummariesByMemberId(@Param("userId") Long userId);
+
+    @Query("select b.id, b.name, b.description, b.isPublic, size(b.members), "
+            + "(select count(c) from Card c where c.column.board = b), b.createdAt "
+            + "from Board b join b.members m where m.id = :userId and b.isTemplate = true")
+    List<Object[]> findTemplateSummariesByMemberId(@Param("userId") Long userId);
+}
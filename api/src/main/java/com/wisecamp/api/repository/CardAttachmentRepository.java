@@ -4,4 +4,5 @@ import com.wisecamp.api.model.CardAttachment;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface CardAttachmentRepository extends JpaRepository<CardAttachment, Long> {
-}
\ No newline at end of file
+    long countByCard_Id(Long cardId);
+}
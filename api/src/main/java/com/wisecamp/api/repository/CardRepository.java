@@ -1,8 +1,31 @@
 package com.wisecamp.api.repository;
 
+import com.wisecamp.api.dto.DueReminder;
 import com.wisecamp.api.model.Card;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
 
 public interface CardRepository extends JpaRepository<Card, Long> {
-    // Custom query methods can be added here
-}
\ No newline at end of file
+    @Query("select coalesce(max(c.position), 0) from Card c where c.column.id = :columnId")
+    int findMaxPositionByColumnId(@Param("columnId") Long columnId);
+
+    // Keyset page over idx_cards_due_date (due_date, id)
+    @Query("select new com.wisecamp.api.dto.DueReminder(c.id, c.column.board.id, c.title, c.dueDate) from Card c "
+            + "where c.dueDate = :dueDate and c.id > :afterId and (c.isActive is null or c.isActive = true) "
+            + "and c.column.board.deletedAt is null order by c.id")
+    List<DueReminder> findDueReminders(@Param("dueDate") LocalDate dueDate, @Param("afterId") Long afterId,
+            Limit limit);
+
+    // Keyset page over idx_cards_column_page (column_id, position, id)
+    @Query("select c.id, c.name, c.title, c.position, c.isActive, c.createdAt from Card c "
+            + "where c.column.id = :columnId "
+            + "and (c.position > :position or (c.position = :position and c.id > :afterId)) "
+            + "order by c.position, c.id")
+    List<Object[]> findPageByColumnId(@Param("columnId") Long columnId, @Param("position") int position,
+            @Param("afterId") long afterId, Limit limit);
+}
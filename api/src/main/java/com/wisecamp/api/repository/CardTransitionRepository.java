@@ -0,0 +1,7 @@
+package com.wisecamp.api.repository;
+
+import com.wisecamp.api.model.CardTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CardTransitionRepository extends JpaRepository<CardTransition, Long> {
+}
@@ -4,4 +4,47 @@ package com.wisecamp.api.repository;
 
 import com.wisecamp.api.model.Column;
 import org.springframework.data.jpa.repository.JpaRepository;
-public interface ColumnRepository extends JpaRepository<Column, Long> { }
\ No newline at end of file
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ColumnRepository extends JpaRepository<Column, Long> {
+    Optional<Column> findByIdAndBoard_Id(Long id, Long boardId);
+
+    boolean existsByIdAndBoard_Id(Long id, Long boardId);
+
+    long countByBoard_Id(Long boardId);
+
+    @Query("select c.board.id from Column c where c.id = :columnId")
+    Optional<Long> findBoardIdById(@Param("columnId") Long columnId);
+
+    @Query("select c.id from Column c where c.board.id = :boardId")
+    List<Long> findIdsByBoardId(@Param("boardId") Long boardId);
+
+    @Query("select c.id from Card c where c.column.id = :columnId and c.dueDate is not null")
+    List<Long> findDueCardIdsByColumnId(@Param("columnId") Long columnId);
+
+    // Bulk deletes for removing a column without loading its cards; children first
+    @Modifying
+    @Query("delete from Comment x where x.card.id in (select c.id from Card c where c.column.id = :columnId)")
+    int deleteCommentsByColumnId(@Param("columnId") Long columnId);
+
+    @Modifying
+    @Query("delete from CardAttachment x where x.card.id in (select c.id from Card c where c.column.id = :columnId)")
+    int deleteAttachmentsByColumnId(@Param("columnId") Long columnId);
+
+    @Modifying
+    @Query("delete from ChecklistItem x where x.card.id in (select c.id from Card c where c.column.id = :columnId)")
+    int deleteChecklistItemsByColumnId(@Param("columnId") Long columnId);
+
+    @Modifying
+    @Query("delete from Card c where c.column.id = :columnId")
+    int deleteCardsByColumnId(@Param("columnId") Long columnId);
+
+    @Modifying
+    @Query("delete from Column c where c.id = :columnId")
+    int deleteByColumnId(@Param("columnId") Long columnId);
+}
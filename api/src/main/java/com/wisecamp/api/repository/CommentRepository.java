@@ -4,4 +4,5 @@ import com.wisecamp.api.model.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-}
\ No newline at end of file
+    long countByCard_Id(Long cardId);
+}
@@ -0,0 +1,9 @@
+package com.wisecamp.api.repository;
+
+import com.wisecamp.api.model.DashboardCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface DashboardCounterRepository extends JpaRepository<DashboardCounter, Long> {
+    List<DashboardCounter> findByUserId(Long userId);
+}
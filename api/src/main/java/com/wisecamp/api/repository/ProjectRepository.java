@@ -1,9 +1,28 @@
 package com.wisecamp.api.repository;
 
 import com.wisecamp.api.model.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
+import java.util.Optional;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> findByMembers_Id(Long memberId);
-}
\ No newline at end of file
+
+    boolean existsByIdAndMembers_Id(Long projectId, Long userId);
+
+    @EntityGraph(attributePaths = { "owner", "members" })
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select p from Project p where p.id = :projectId")
+    Optional<Project> findDetailedById(@Param("projectId") Long projectId);
+
+    // id, name, description, ownerId, ownerName, memberCount, boardCount, createdAt in one round trip
+    @Query("select p.id, p.name, p.description, o.id, o.name, size(p.members), size(p.boards), p.createdAt "
+            + "from Project p join p.owner o join p.members m where m.id = :userId")
+    List<Object[]> findSummariesByMemberId(@Param("userId") Long userId);
+}
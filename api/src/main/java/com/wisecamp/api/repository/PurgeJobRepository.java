@@ -0,0 +1,14 @@
+package com.wisecamp.api.repository;
+
+import com.wisecamp.api.model.PurgeJob;
+import com.wisecamp.api.model.PurgeStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+import java.util.Optional;
+
+public interface PurgeJobRepository extends JpaRepository<PurgeJob, Long> {
+    Optional<PurgeJob> findFirstByStatusOrderByIdAsc(PurgeStatus status);
+
+    List<PurgeJob> findByOrderByIdDesc(Limit limit);
+}
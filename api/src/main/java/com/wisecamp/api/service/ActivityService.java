@@ -0,0 +1,125 @@
+package com.wisecamp.api.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.wisecamp.api.dto.ActivityDtos.ActivityPage;
+import com.wisecamp.api.dto.ActivityDtos.ActivityResponse;
+import com.wisecamp.api.model.Activity;
+import com.wisecamp.api.model.ActivityType;
+import com.wisecamp.api.repository.ActivityRepository;
+
+/**
+ * Records board activity and serves the feeds.
+ * <p>
+ * {@code wisecamp.activity.durability=after-commit} (default) hands events to
+ * {@link ActivityWriter} once the caller's transaction commits: no extra
+ * write on the request path, but events still in the ring are lost if the
+ * process dies. {@code outbox} inserts them into {@code activity_outbox} as
+ * one batch just before the caller commits, so they are durable with the
+ * change itself, and the writer relays them into {@code activities}.
+ */
+@Service
+public class ActivityService {
+
+    public enum Durability {
+        AFTER_COMMIT, OUTBOX;
+
+        static Durability parse(String value) {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final Object OUTBOX_RESOURCE = new Object();
+
+    private final ActivityWriter writer;
+    private final ActivityRepository activityRepository;
+    private final Durability durability;
+
+    public ActivityService(ActivityWriter writer, ActivityRepository activityRepository,
+            @Value("${wisecamp.activity.durability:after-commit}") String durability) {
+        this.writer = writer;
+        this.activityRepository = activityRepository;
+        this.durability = Durability.parse(durability);
+    }
+
+    public void record(Long boardId, Long cardId, Long userId, ActivityType type, String details) {
+        if (boardId == null)
+            return;
+        ActivityWriter.Event event = new ActivityWriter.Event(boardId, cardId, userId, type, details,
+                LocalDateTime.now());
+        if (durability == Durability.OUTBOX) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                pendingOutbox().add(event);
+            } else {
+                writer.writeOutbox(List.of(event));
+            }
+        } else {
+            AfterCommit.run(() -> writer.enqueue(event));
+        }
+    }
+
+    // One list per transaction, flushed as a single batch insert before commit
+    @SuppressWarnings("unchecked")
+    private List<ActivityWriter.Event> pendingOutbox() {
+        List<ActivityWriter.Event> pending = (List<ActivityWriter.Event>) TransactionSynchronizationManager
+                .getResource(OUTBOX_RESOURCE);
+        if (pending != null)
+            return pending;
+        List<ActivityWriter.Event> events = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(OUTBOX_RESOURCE, events);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (!events.isEmpty())
+                    writer.writeOutbox(events);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OUTBOX_RESOURCE);
+            }
+        });
+        return events;
+    }
+
+    public ActivityPage getBoardFeed(Long boardId, Long before, Integer limit) {
+        int size = pageSize(limit);
+        return page(activityRepository.findByBoardIdAndIdLessThanOrderByIdDesc(boardId, cursor(before),
+                Limit.of(size)), size);
+    }
+
+    public ActivityPage getUserFeed(Long userId, Long before, Integer limit) {
+        int size = pageSize(limit);
+        return page(activityRepository.findByUserIdAndIdLessThanOrderByIdDesc(userId, cursor(before),
+                Limit.of(size)), size);
+    }
+
+    private static int pageSize(Integer limit) {
+        if (limit == null || limit <= 0)
+            return DEFAULT_PAGE_SIZE;
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private static Long cursor(Long before) {
+        return before != null ? before : Long.MAX_VALUE;
+    }
+
+    private static ActivityPage page(List<Activity> rows, int size) {
+        List<ActivityResponse> items = rows.stream()
+                .map(a -> new ActivityResponse(a.getId(), a.getBoardId(), a.getCardId(), a.getUserId(),
+                        a.getType(), a.getDetails(), a.getCreatedAt()))
+                .toList();
+        Long nextBefore = items.size() == size ? items.get(items.size() - 1).id() : null;
+        return new ActivityPage(items, nextBefore);
+    }
+}
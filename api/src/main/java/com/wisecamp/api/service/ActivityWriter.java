@@ -0,0 +1,212 @@
+package com.wisecamp.api.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wisecamp.api.model.ActivityType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Background writer for the activity log. Request threads hand events to a
+ * {@link MpscRingBuffer} and return; one writer thread drains it and inserts
+ * whatever has accumulated within {@code wisecamp.activity.flush-ms} (or a
+ * full batch) as one JDBC batch in one transaction, so many requests share
+ * a commit. A full ring drops the event and counts it rather than slowing
+ * the request down.
+ * <p>
+ * In outbox mode the same thread moves committed rows from
+ * {@code activity_outbox} into {@code activities}.
+ */
+@Component
+public class ActivityWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityWriter.class);
+
+    private static final String COLUMNS = "(board_id, card_id, user_id, type, details, created_at)";
+    private static final String INSERT_SQL = "insert into activities " + COLUMNS + " values (?, ?, ?, ?, ?, ?)";
+    private static final String OUTBOX_INSERT_SQL = "insert into activity_outbox " + COLUMNS
+            + " values (?, ?, ?, ?, ?, ?)";
+    private static final String OUTBOX_SELECT_SQL = "select id, board_id, card_id, user_id, type, details, "
+            + "created_at from activity_outbox order by id fetch first ? rows only";
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    public record Event(Long boardId, Long cardId, Long userId, ActivityType type, String details,
+            LocalDateTime createdAt) {
+    }
+
+    private final MpscRingBuffer<Event> buffer;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long flushNanos;
+    private final boolean relayOutbox;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public ActivityWriter(DataSource dataSource, PlatformTransactionManager transactionManager,
+            MeterRegistry registry,
+            @Value("${wisecamp.activity.durability:after-commit}") String durability,
+            @Value("${wisecamp.activity.buffer-size:8192}") int bufferSize,
+            @Value("${wisecamp.activity.batch-size:500}") int batchSize,
+            @Value("${wisecamp.activity.flush-ms:200}") long flushMs) {
+        this.buffer = new MpscRingBuffer<>(bufferSize);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMs);
+        this.relayOutbox = ActivityService.Durability.parse(durability) == ActivityService.Durability.OUTBOX;
+        this.written = Counter.builder("wisecamp.activity.written").register(registry);
+        this.dropped = Counter.builder("wisecamp.activity.dropped")
+                .description("Activities lost because the ring buffer was full")
+                .register(registry);
+        this.failed = Counter.builder("wisecamp.activity.failed")
+                .description("Activities lost because their batch insert failed")
+                .register(registry);
+        this.flushTimer = Timer.builder("wisecamp.activity.flush").register(registry);
+        Gauge.builder("wisecamp.activity.buffer.size", buffer, MpscRingBuffer::size).register(registry);
+    }
+
+    /** Queues an event for the next batch; false if the ring is full. */
+    public boolean enqueue(Event event) {
+        if (buffer.offer(event))
+            return true;
+        dropped.increment();
+        return false;
+    }
+
+    /** Inserts outbox rows on the caller's connection, inside its transaction. */
+    public void writeOutbox(List<Event> events) {
+        insert(OUTBOX_INSERT_SQL, events);
+    }
+
+    private void run() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        long deadline = 0;
+        long nextRelay = 0;
+        while (true) {
+            buffer.drain(batch::add, batchSize - batch.size());
+            boolean stopping = !running;
+            long now = System.nanoTime();
+            if (!batch.isEmpty()) {
+                if (deadline == 0)
+                    deadline = now + flushNanos;
+                if (batch.size() >= batchSize || now >= deadline || stopping) {
+                    flush(batch);
+                    batch.clear();
+                    deadline = 0;
+                    continue;
+                }
+            } else if (relayOutbox && (now >= nextRelay || stopping)) {
+                relay();
+                nextRelay = now + flushNanos;
+            }
+            if (stopping && batch.isEmpty())
+                return;
+            LockSupport.parkNanos(Math.min(flushNanos, MAX_PARK_NANOS));
+        }
+    }
+
+    private void flush(List<Event> batch) {
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> insert(INSERT_SQL, batch)));
+            written.increment(batch.size());
+        } catch (DataAccessException e) {
+            failed.increment(batch.size());
+            log.error("Dropped {} activities after a failed batch insert", batch.size(), e);
+        }
+    }
+
+    private void relay() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Long> ids = new ArrayList<>();
+                List<Event> events = new ArrayList<>();
+                jdbcTemplate.query(OUTBOX_SELECT_SQL, rs -> {
+                    ids.add(rs.getLong(1));
+                    events.add(new Event(rs.getLong(2), rs.getObject(3, Long.class),
+                            rs.getObject(4, Long.class), ActivityType.valueOf(rs.getString(5)),
+                            rs.getString(6), rs.getTimestamp(7).toLocalDateTime()));
+                }, batchSize);
+                if (ids.isEmpty())
+                    return;
+                insert(INSERT_SQL, events);
+                // Only the rows copied above; rows committed meanwhile wait for the next pass
+                jdbcTemplate.batchUpdate("delete from activity_outbox where id = ?", ids, ids.size(),
+                        (ps, id) -> ps.setLong(1, id));
+                written.increment(events.size());
+            });
+        } catch (DataAccessException e) {
+            log.warn("Activity outbox relay failed; retrying on the next pass", e);
+        }
+    }
+
+    private void insert(String sql, List<Event> events) {
+        jdbcTemplate.batchUpdate(sql, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.boardId());
+            ps.setObject(2, event.cardId());
+            ps.setObject(3, event.userId());
+            ps.setString(4, event.type().name());
+            ps.setString(5, event.details());
+            ps.setTimestamp(6, Timestamp.valueOf(event.createdAt()));
+        });
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "activity-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = thread;
+        if (current == null)
+            return;
+        LockSupport.unpark(current);
+        try {
+            current.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server so requests still in flight can enqueue their events
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
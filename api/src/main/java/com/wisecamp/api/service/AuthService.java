@@ -1,35 +1,34 @@
 package com.wisecamp.api.service;
 
 import com.wisecamp.api.config.security.JwtUtil;
+import com.wisecamp.api.config.security.PasswordHashingExecutor;
+import com.wisecamp.api.config.security.TokenEpochRegistry;
 import com.wisecamp.api.dto.AuthDtos.*;
 import com.wisecamp.api.model.User;
 import com.wisecamp.api.repository.UserRepository;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
 
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
+    private final PasswordHashingExecutor passwordHashing;
     private final JwtUtil jwtUtil;
+    private final TokenEpochRegistry tokenEpochRegistry;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder,
-            AuthenticationManager authenticationManager, UserDetailsService userDetailsService, JwtUtil jwtUtil) {
+    public AuthService(UserRepository userRepository, PasswordHashingExecutor passwordHashing, JwtUtil jwtUtil,
+            TokenEpochRegistry tokenEpochRegistry) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
-        this.authenticationManager = authenticationManager;
-        this.userDetailsService = userDetailsService;
+        this.passwordHashing = passwordHashing;
         this.jwtUtil = jwtUtil;
+        this.tokenEpochRegistry = tokenEpochRegistry;
     }
 
-    public void register(RegisterRequest request) {
+    public AuthResponse register(RegisterRequest request) {
         if (userRepository.findByEmail(request.email()).isPresent()) {
             throw new IllegalStateException("Email already in use");
         }
@@ -37,17 +36,33 @@ public class AuthService {
         user.setName(request.name());
         user.setUsername(request.username());
         user.setEmail(request.email());
-        user.setPassword(passwordEncoder.encode(request.password()));
+        user.setPassword(passwordHashing.encode(request.password()));
         user.setRole(request.role());
-        userRepository.save(user);
+        return toAuthResponse(userRepository.save(user));
     }
 
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.email(), request.password()));
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(request.email());
-        final String token = jwtUtil.generateToken(userDetails);
-        User user = userRepository.findByEmail(request.email()).orElseThrow();
+        Optional<User> user = userRepository.findByEmail(request.email());
+        if (!passwordHashing.matches(request.password(), user.map(User::getPassword).orElse(null))) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        return toAuthResponse(user.get());
+    }
+
+    // Every token issued before stops working; the caller gets a fresh one
+    @Transactional
+    public AuthResponse changePassword(String email, ChangePasswordRequest request) {
+        User user = userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
+        if (!passwordHashing.matches(request.currentPassword(), user.getPassword())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        user.setPassword(passwordHashing.encode(request.newPassword()));
+        user.setTokenEpoch(tokenEpochRegistry.revoke(user.getId()));
+        return toAuthResponse(user);
+    }
+
+    private AuthResponse toAuthResponse(User user) {
+        final String token = jwtUtil.generateToken(user);
         UserResponse userResp = new UserResponse(
                 user.getId(),
                 user.getName(),
@@ -57,4 +72,4 @@ public class AuthService {
                 user.getAvatarUrl());
         return new AuthResponse(token, userResp);
     }
-}
\ No newline at end of file
+}
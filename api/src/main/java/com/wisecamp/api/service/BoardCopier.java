@@ -0,0 +1,152 @@
+package com.wisecamp.api.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copies the columns, cards and checklist items of one board into another
+ * with a handful of statements: one read per table, then one JDBC batch
+ * insert per table. Column and card inserts return their generated keys in
+ * batch order, which is how the old ids are remapped onto the copies.
+ * Comments and attachments are not copied, nor are due dates, which belong
+ * to the original board's schedule.
+ */
+@Component
+public class BoardCopier {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String COLUMNS_SQL = "select id, name, position from columns where board_id = ? "
+            + "order by position, id";
+    private static final String CARDS_SQL = "select c.id, c.column_id, c.name, c.title, c.description, c.position, "
+            + "c.is_active from cards c join columns col on col.id = c.column_id where col.board_id = ? order by c.id";
+    private static final String CHECKLIST_SQL = "select i.card_id, i.name, i.is_checked, i.position "
+            + "from checklist_items i join cards c on c.id = i.card_id join columns col on col.id = c.column_id "
+            + "where col.board_id = ? order by i.id";
+    private static final String INSERT_COLUMN_SQL = "insert into columns (name, position, board_id, created_at, "
+            + "updated_at) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_CARD_SQL = "insert into cards (name, title, description, position, is_active, "
+            + "column_id, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CHECKLIST_SQL = "insert into checklist_items (name, is_checked, position, "
+            + "card_id, created_at, updated_at) values (?, ?, ?, ?, ?, ?)";
+
+    private record SourceColumn(long id, String name, Long position) {
+    }
+
+    private record SourceCard(long id, long columnId, String name, String title, String description,
+            Integer position, Boolean isActive) {
+    }
+
+    private record SourceItem(long cardId, String name, Boolean isChecked, Integer position) {
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement statement, T row) throws SQLException;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BoardCopier(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Must run inside the caller's transaction, after the target board row
+     * is inserted. With {@code resetProgress} checklist items start
+     * unchecked. Returns the number of cards copied.
+     */
+    public int copyContent(Long sourceBoardId, Long targetBoardId, boolean resetProgress) {
+        List<SourceColumn> columns = jdbcTemplate.query(COLUMNS_SQL,
+                (rs, row) -> new SourceColumn(rs.getLong(1), rs.getString(2), rs.getObject(3, Long.class)),
+                sourceBoardId);
+        if (columns.isEmpty())
+            return 0;
+        List<SourceCard> cards = jdbcTemplate.query(CARDS_SQL,
+                (rs, row) -> new SourceCard(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4),
+                        rs.getString(5), rs.getObject(6, Integer.class), rs.getObject(7, Boolean.class)),
+                sourceBoardId);
+        List<SourceItem> items = jdbcTemplate.query(CHECKLIST_SQL,
+                (rs, row) -> new SourceItem(rs.getLong(1), rs.getString(2), rs.getObject(3, Boolean.class),
+                        rs.getObject(4, Integer.class)),
+                sourceBoardId);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        Map<Long, Long> columnIds = insertReturningIds(INSERT_COLUMN_SQL, columns, SourceColumn::id, (ps, column) -> {
+            ps.setString(1, column.name());
+            ps.setObject(2, column.position());
+            ps.setLong(3, targetBoardId);
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+        });
+        Map<Long, Long> cardIds = insertReturningIds(INSERT_CARD_SQL, cards, SourceCard::id, (ps, card) -> {
+            ps.setString(1, card.name());
+            ps.setString(2, card.title());
+            ps.setString(3, card.description());
+            ps.setObject(4, card.position());
+            ps.setObject(5, card.isActive());
+            ps.setLong(6, columnIds.get(card.columnId()));
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+        jdbcTemplate.batchUpdate(INSERT_CHECKLIST_SQL, items, BATCH_SIZE, (ps, item) -> {
+            ps.setString(1, item.name());
+            ps.setObject(2, resetProgress ? Boolean.FALSE : item.isChecked());
+            ps.setObject(3, item.position());
+            ps.setLong(4, cardIds.get(item.cardId()));
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+        return cards.size();
+    }
+
+    // Old id -> generated id, relying on keys coming back in the order the rows were batched
+    private <T> Map<Long, Long> insertReturningIds(String sql, List<T> rows, ToLongFunction<T> id,
+            RowBinder<T> binder) {
+        Map<Long, Long> ids = new HashMap<>(rows.size() * 2);
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+                List<T> chunk = rows.subList(from, Math.min(from + BATCH_SIZE, rows.size()));
+                List<Long> keys = executeBatch(connection, sql, chunk, binder);
+                if (keys.size() != chunk.size())
+                    throw new IllegalStateException("Expected " + chunk.size() + " generated keys, got " + keys.size());
+                for (int i = 0; i < chunk.size(); i++)
+                    ids.put(id.applyAsLong(chunk.get(i)), keys.get(i));
+            }
+            return null;
+        });
+        return ids;
+    }
+
+    private static <T> List<Long> executeBatch(Connection connection, String sql, List<T> rows, RowBinder<T> binder)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql, new String[] { "id" })) {
+            for (T row : rows) {
+                binder.bind(statement, row);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            List<Long> keys = new ArrayList<>(rows.size());
+            try (ResultSet generated = statement.getGeneratedKeys()) {
+                while (generated.next())
+                    keys.add(generated.getLong(1));
+            }
+            return keys;
+        }
+    }
+}
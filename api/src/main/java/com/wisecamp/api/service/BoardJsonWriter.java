@@ -0,0 +1,467 @@
+package com.wisecamp.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wisecamp.api.config.web.WireFormat;
+
+/**
+ * Writes the {@code FullBoardResponse} JSON for a board straight from JDBC
+ * rows into a {@link JsonGenerator}, without building the entity or DTO
+ * graph. Field order, null handling and date format match what Jackson
+ * produces for the record, so both paths are byte-identical as long as
+ * members are ordered by id and cards by position within a column. The
+ * same events can be written as Smile or CBOR. Card descriptions are
+ * left to the card detail read and never selected here.
+ * <p>
+ * A {@link FieldSelection} narrows the statements as well as the output:
+ * fields nobody asked for are not selected, and relations that are not
+ * included are not joined or queried at all.
+ * <p>
+ * With {@code cardsPerColumn} each column carries at most that many cards
+ * followed by a {@code nextCursor}, the {@code after} value for
+ * {@code GET /api/columns/{id}/cards}, or null when nothing is left out.
+ * <p>
+ * Access checks are the caller's job; see {@link BoardService#checkBoardAccess}.
+ */
+@Component
+public class BoardJsonWriter {
+
+    // Same formatter Jackson's LocalDateTimeSerializer uses when dates are not timestamps
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    static final Set<String> USER_FIELDS = Set.of("id", "name", "email", "username", "role", "avatarUrl");
+    private static final Set<String> BOARD_FIELDS = Set.of("id", "name", "description", "isPublic", "userId",
+            "createdAt", "updatedAt");
+    private static final Map<String, Set<String>> BOARD_RELATIONS = Map.of(
+            "user", USER_FIELDS,
+            "members", USER_FIELDS,
+            "columns", Set.of("id", "name", "position"),
+            "cards", Set.of("id", "name", "title", "position", "isActive", "createdAt"));
+
+    private static final Queries ALL = new Queries(FieldSelection.ALL, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<WireFormat, JsonFactory> factories = new EnumMap<>(WireFormat.class);
+
+    public BoardJsonWriter(DataSource dataSource, ObjectMapper objectMapper,
+            MappingJackson2SmileHttpMessageConverter smileConverter,
+            MappingJackson2CborHttpMessageConverter cborConverter) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Lets the driver stream large boards instead of buffering the whole result
+        this.jdbcTemplate.setFetchSize(256);
+        factories.put(WireFormat.JSON, objectMapper.getFactory());
+        factories.put(WireFormat.SMILE, smileConverter.getObjectMapper().getFactory());
+        factories.put(WireFormat.CBOR, cborConverter.getObjectMapper().getFactory());
+    }
+
+    /** Checks the names in a selection against the board's fields and relations. */
+    public static FieldSelection validate(FieldSelection selection) {
+        return selection.validate(BOARD_FIELDS, BOARD_RELATIONS);
+    }
+
+    /** Returns false, writing nothing, if the board does not exist. */
+    @Transactional(readOnly = true)
+    public boolean writeBoard(Long boardId, OutputStream out) throws IOException {
+        return writeBoard(boardId, WireFormat.JSON, out);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean writeBoard(Long boardId, WireFormat format, OutputStream out) throws IOException {
+        return writeBoard(boardId, FieldSelection.ALL, format, out);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean writeBoard(Long boardId, FieldSelection selection, WireFormat format, OutputStream out)
+            throws IOException {
+        return writeBoard(boardId, selection, 0, format, out);
+    }
+
+    /** As above, with at most {@code cardsPerColumn} cards in each column; 0 means all of them. */
+    @Transactional(readOnly = true)
+    public boolean writeBoard(Long boardId, FieldSelection selection, int cardsPerColumn, WireFormat format,
+            OutputStream out) throws IOException {
+        Queries queries = selection.isAll() && cardsPerColumn == 0 ? ALL
+                : new Queries(validate(selection), cardsPerColumn);
+        try (JsonGenerator gen = factories.get(format).createGenerator(out, JsonEncoding.UTF8)) {
+            // The servlet container owns the response stream
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            return writeBoard(boardId, queries, gen);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public boolean writeBoard(Long boardId, JsonGenerator gen) throws IOException {
+        return writeBoard(boardId, ALL, gen);
+    }
+
+    private boolean writeBoard(Long boardId, Queries q, JsonGenerator gen) throws IOException {
+        try {
+            // createdAt and updatedAt come last in the record, after the collections
+            Timestamp[] dates = jdbcTemplate.query(q.board, rs -> {
+                if (!rs.next())
+                    return null;
+                writeHeader(rs, q, gen);
+                return new Timestamp[] { q.createdAt > 0 ? rs.getTimestamp(q.createdAt) : null,
+                        q.updatedAt > 0 ? rs.getTimestamp(q.updatedAt) : null };
+            }, boardId);
+            if (dates == null)
+                return false;
+
+            if (q.members != null) {
+                gen.writeFieldName("members");
+                gen.writeStartArray();
+                jdbcTemplate.query(q.members, rs -> {
+                    writeUser(rs, q.member, gen);
+                }, boardId);
+                gen.writeEndArray();
+            }
+
+            if (q.columns != null) {
+                gen.writeFieldName("columns");
+                gen.writeStartArray();
+                ColumnCursor cursor = new ColumnCursor(gen, q);
+                jdbcTemplate.query(q.columns, cursor::row, q.columnArgs(boardId));
+                cursor.finish();
+                gen.writeEndArray();
+            }
+
+            if (q.createdAt > 0)
+                writeDateTime(gen, "createdAt", dates[0]);
+            if (q.updatedAt > 0)
+                writeDateTime(gen, "updatedAt", dates[1]);
+            gen.writeEndObject();
+            return true;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** A select list being built, handing out the 1-based index of each column; 0 means not selected. */
+    static final class Select {
+        private final StringBuilder sql = new StringBuilder("select ");
+        private int count;
+
+        int add(String column) {
+            if (count++ > 0)
+                sql.append(", ");
+            sql.append(column);
+            return count;
+        }
+
+        int addIf(boolean wanted, String column) {
+            return wanted ? add(column) : 0;
+        }
+
+        String from(String rest) {
+            return sql.append(' ').append(rest).toString();
+        }
+    }
+
+    /** Where each user field sits in a result set. */
+    record UserColumns(int id, int name, int email, int username, int role, int avatarUrl) {
+        static UserColumns select(Select select, String alias, FieldSelection selection, String relation) {
+            return new UserColumns(
+                    select.add(alias + ".id"),
+                    select.addIf(selection.has(relation, "name"), alias + ".name"),
+                    select.addIf(selection.has(relation, "email"), alias + ".email"),
+                    select.addIf(selection.has(relation, "username"), alias + ".username"),
+                    select.addIf(selection.has(relation, "role"), alias + ".role"),
+                    select.addIf(selection.has(relation, "avatarUrl"), alias + ".avatar_url"));
+        }
+    }
+
+    /** The statements for one selection, with the position of every selected column. */
+    private static final class Queries {
+        private final String board;
+        private final int name;
+        private final int description;
+        private final int isPublic;
+        private final int userId;
+        private final int createdAt;
+        private final int updatedAt;
+        private final UserColumns owner;
+        private final String members;
+        private final UserColumns member;
+        private final String columns;
+        private final int columnName;
+        private final int columnPosition;
+        private final boolean cards;
+        private final int cardId;
+        private final int cardName;
+        private final int cardTitle;
+        private final int cardPosition;
+        private final int cardActive;
+        private final int cardCreatedAt;
+        private final int cardsPerColumn;
+        private final int cardSortPosition;
+
+        private Queries(FieldSelection s, int cardsPerColumn) {
+            Select board = new Select();
+            board.add("b.id");
+            name = board.addIf(s.has("name"), "b.name");
+            description = board.addIf(s.has("description"), "b.description");
+            isPublic = board.addIf(s.has("isPublic"), "b.is_public");
+            userId = board.addIf(s.has("userId"), "b.user_id");
+            createdAt = board.addIf(s.has("createdAt"), "b.created_at");
+            updatedAt = board.addIf(s.has("updatedAt"), "b.updated_at");
+            if (s.includes("user")) {
+                owner = UserColumns.select(board, "u", s, "user");
+                this.board = board.from("from boards b left join users u on u.id = b.user_id "
+                        + "where b.id = ? and b.deleted_at is null");
+            } else {
+                owner = null;
+                this.board = board.from("from boards b where b.id = ? and b.deleted_at is null");
+            }
+
+            if (s.includes("members")) {
+                Select members = new Select();
+                member = UserColumns.select(members, "u", s, "members");
+                this.members = members.from("from board_members m join users u on u.id = m.user_id "
+                        + "where m.board_id = ? order by u.id");
+            } else {
+                member = null;
+                this.members = null;
+            }
+
+            cards = s.includes("cards");
+            this.cardsPerColumn = cards ? cardsPerColumn : 0;
+            Select columns = new Select();
+            columns.add("c.id");
+            columnName = columns.addIf(s.has("columns", "name"), "c.name");
+            columnPosition = columns.addIf(s.has("columns", "position"), "c.position");
+            if (cards) {
+                // The card columns the windowed subquery has to pass through
+                StringBuilder window = new StringBuilder("x.id, x.column_id, x.position");
+                cardId = columns.add("k.id");
+                cardName = card(columns, window, s.has("cards", "name"), "name");
+                cardTitle = card(columns, window, s.has("cards", "title"), "title");
+                cardPosition = columns.addIf(s.has("cards", "position"), "k.position");
+                cardActive = card(columns, window, s.has("cards", "isActive"), "is_active");
+                cardCreatedAt = card(columns, window, s.has("cards", "createdAt"), "created_at");
+                if (this.cardsPerColumn == 0) {
+                    cardSortPosition = 0;
+                    // One row per card (or per empty column), already in output order
+                    this.columns = columns.from("from columns c left join cards k on k.column_id = c.id "
+                            + "where c.board_id = ? order by c.position, c.id, k.position, k.id");
+                } else {
+                    // The cursor needs the position even when the output does not
+                    cardSortPosition = cardPosition > 0 ? cardPosition : columns.add("k.position");
+                    // The first cardsPerColumn + 1 cards of each column; the extra one only says there are more
+                    this.columns = columns.from("from columns c left join (select " + window
+                            + ", row_number() over (partition by x.column_id order by x.position, x.id) as rn "
+                            + "from cards x join columns xc on xc.id = x.column_id where xc.board_id = ?) k "
+                            + "on k.column_id = c.id and k.rn <= ? "
+                            + "where c.board_id = ? order by c.position, c.id, k.position, k.id");
+                }
+            } else {
+                cardId = cardName = cardTitle = cardPosition = cardActive = cardCreatedAt = 0;
+                cardSortPosition = 0;
+                this.columns = s.includes("columns")
+                        ? columns.from("from columns c where c.board_id = ? order by c.position, c.id")
+                        : null;
+            }
+        }
+
+        private Object[] columnArgs(Long boardId) {
+            return cardsPerColumn == 0 ? new Object[] { boardId }
+                    : new Object[] { boardId, cardsPerColumn + 1, boardId };
+        }
+
+        private static int card(Select select, StringBuilder window, boolean wanted, String column) {
+            if (!wanted)
+                return 0;
+            window.append(", x.").append(column);
+            return select.add("k." + column);
+        }
+    }
+
+    private static void writeHeader(ResultSet rs, Queries q, JsonGenerator gen) throws SQLException {
+        try {
+            gen.writeStartObject();
+            writeLong(gen, "id", rs, 1);
+            if (q.name > 0)
+                gen.writeStringField("name", rs.getString(q.name));
+            if (q.description > 0)
+                gen.writeStringField("description", rs.getString(q.description));
+            if (q.isPublic > 0)
+                writeBoolean(gen, "isPublic", rs, q.isPublic);
+            if (q.userId > 0)
+                writeLong(gen, "userId", rs, q.userId);
+            if (q.owner != null) {
+                gen.writeFieldName("user");
+                if (rs.getObject(q.owner.id()) == null) {
+                    gen.writeNull();
+                } else {
+                    writeUser(rs, q.owner, gen);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void writeUser(ResultSet rs, UserColumns c, JsonGenerator gen) throws SQLException {
+        try {
+            gen.writeStartObject();
+            writeLong(gen, "id", rs, c.id());
+            if (c.name() > 0)
+                gen.writeStringField("name", rs.getString(c.name()));
+            if (c.email() > 0)
+                gen.writeStringField("email", rs.getString(c.email()));
+            if (c.username() > 0)
+                gen.writeStringField("username", rs.getString(c.username()));
+            if (c.role() > 0)
+                gen.writeStringField("role", rs.getString(c.role()));
+            if (c.avatarUrl() > 0)
+                gen.writeStringField("avatarUrl", rs.getString(c.avatarUrl()));
+            gen.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Opens a column object whenever the column id changes and appends its cards. */
+    private static final class ColumnCursor {
+        private final JsonGenerator gen;
+        private final Queries q;
+        private long columnId;
+        private boolean open;
+        private int written;
+        private boolean more;
+        private long lastCardId;
+        private int lastPosition;
+
+        private ColumnCursor(JsonGenerator gen, Queries q) {
+            this.gen = gen;
+            this.q = q;
+        }
+
+        private void row(ResultSet rs) throws SQLException {
+            try {
+                long id = rs.getLong(1);
+                if (!open || id != columnId) {
+                    finish();
+                    gen.writeStartObject();
+                    gen.writeNumberField("id", id);
+                    if (q.columnName > 0)
+                        gen.writeStringField("name", rs.getString(q.columnName));
+                    if (q.columnPosition > 0)
+                        writeLong(gen, "position", rs, q.columnPosition);
+                    if (q.cards) {
+                        gen.writeFieldName("cards");
+                        gen.writeStartArray();
+                    }
+                    columnId = id;
+                    open = true;
+                    written = 0;
+                    more = false;
+                }
+                if (!q.cards)
+                    return;
+                long cardId = rs.getLong(q.cardId);
+                if (rs.wasNull())
+                    return;
+                if (q.cardsPerColumn > 0) {
+                    if (written == q.cardsPerColumn) {
+                        more = true;
+                        return;
+                    }
+                    written++;
+                    lastCardId = cardId;
+                    // Null positions are treated as 0, the same as a move without one
+                    lastPosition = rs.getInt(q.cardSortPosition);
+                }
+                gen.writeStartObject();
+                gen.writeNumberField("id", cardId);
+                if (q.cardName > 0)
+                    gen.writeStringField("name", rs.getString(q.cardName));
+                if (q.cardTitle > 0)
+                    gen.writeStringField("title", rs.getString(q.cardTitle));
+                if (q.cardPosition > 0) {
+                    int position = rs.getInt(q.cardPosition);
+                    if (rs.wasNull()) {
+                        gen.writeNullField("position");
+                    } else {
+                        gen.writeNumberField("position", position);
+                    }
+                }
+                if (q.cardActive > 0)
+                    writeBoolean(gen, "isActive", rs, q.cardActive);
+                if (q.cardCreatedAt > 0)
+                    writeDateTime(gen, "createdAt", rs.getTimestamp(q.cardCreatedAt));
+                gen.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void finish() throws IOException {
+            if (open) {
+                if (q.cards)
+                    gen.writeEndArray();
+                if (q.cardsPerColumn > 0) {
+                    if (more) {
+                        gen.writeStringField("nextCursor", new CardCursor(lastPosition, lastCardId).encode());
+                    } else {
+                        gen.writeNullField("nextCursor");
+                    }
+                }
+                gen.writeEndObject();
+                open = false;
+            }
+        }
+    }
+
+    static void writeLong(JsonGenerator gen, String field, ResultSet rs, int index)
+            throws SQLException, IOException {
+        long value = rs.getLong(index);
+        if (rs.wasNull()) {
+            gen.writeNullField(field);
+        } else {
+            gen.writeNumberField(field, value);
+        }
+    }
+
+    static void writeBoolean(JsonGenerator gen, String field, ResultSet rs, int index)
+            throws SQLException, IOException {
+        boolean value = rs.getBoolean(index);
+        if (rs.wasNull()) {
+            gen.writeNullField(field);
+        } else {
+            gen.writeBooleanField(field, value);
+        }
+    }
+
+    static void writeDateTime(JsonGenerator gen, String field, Timestamp value) {
+        try {
+            if (value == null) {
+                gen.writeNullField(field);
+            } else {
+                gen.writeStringField(field, DATE_TIME.format(value.toLocalDateTime()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
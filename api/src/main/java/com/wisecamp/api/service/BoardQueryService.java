@@ -0,0 +1,207 @@
+package com.wisecamp.api.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wisecamp.api.config.persistence.ReplicaRoutingDataSource;
+import com.wisecamp.api.config.security.AuthenticatedUser;
+import com.wisecamp.api.dto.AuthDtos.UserResponse;
+import com.wisecamp.api.dto.BoardDtos.BoardSummaryResponse;
+import com.wisecamp.api.dto.BoardDtos.CardPage;
+import com.wisecamp.api.dto.BoardDtos.CardResponse;
+import com.wisecamp.api.dto.BoardDtos.ColumnResponse;
+import com.wisecamp.api.dto.BoardDtos.FullBoardResponse;
+import com.wisecamp.api.model.Board;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.repository.BoardRepository;
+import com.wisecamp.api.repository.CardRepository;
+import com.wisecamp.api.repository.ColumnRepository;
+import com.wisecamp.api.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read side of boards.
+ * <p>
+ * With open-in-view off nothing can be lazily loaded once a service method
+ * returns, so every read here fetches what its response needs up front and
+ * hands back DTOs only. The class-level read-only transaction runs with
+ * flush mode MANUAL and a read-only session, so Hibernate keeps no snapshots
+ * for dirty checking, and the connection returns to the pool before any JSON
+ * is written.
+ * <p>
+ * Concurrent reads of the same board version share one load; only the
+ * membership check runs for every caller. Shared loads read from the
+ * primary so no caller is handed a replica's view from before its own
+ * write.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BoardQueryService {
+
+    private record BoardLoad(Long boardId, long version) {
+    }
+
+    private final BoardRepository boardRepository;
+    private final UserRepository userRepository;
+    private final ColumnRepository columnRepository;
+    private final CardRepository cardRepository;
+    private final BoardSnapshotCache boardSnapshotCache;
+    private final TransactionTemplate readOnly;
+    private final SingleFlight<BoardLoad, FullBoardResponse> boardLoads;
+
+    public BoardQueryService(BoardRepository boardRepository, UserRepository userRepository,
+            ColumnRepository columnRepository, CardRepository cardRepository,
+            BoardSnapshotCache boardSnapshotCache, PlatformTransactionManager transactionManager,
+            MeterRegistry registry) {
+        this.boardRepository = boardRepository;
+        this.userRepository = userRepository;
+        this.columnRepository = columnRepository;
+        this.cardRepository = cardRepository;
+        this.boardSnapshotCache = boardSnapshotCache;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.boardLoads = new SingleFlight<>("board-detail", registry);
+    }
+
+    public List<BoardSummaryResponse> getBoardsForCurrentUser() {
+        return boardRepository.findSummariesByMemberId(currentUserId()).stream()
+                .map(BoardQueryService::toSummary)
+                .collect(Collectors.toList());
+    }
+
+    public List<BoardSummaryResponse> getTemplatesForCurrentUser() {
+        return boardRepository.findTemplateSummariesByMemberId(currentUserId()).stream()
+                .map(BoardQueryService::toSummary)
+                .collect(Collectors.toList());
+    }
+
+    // Outside a transaction so callers waiting on a shared load hold no connection
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public FullBoardResponse getBoardById(Long boardId) {
+        checkBoardAccess(boardId);
+        return boardLoads.load(new BoardLoad(boardId, boardSnapshotCache.version(boardId)),
+                () -> ReplicaRoutingDataSource.onPrimary(() -> readOnly.execute(status -> toFullBoardResponse(
+                        boardRepository.findDetailedById(boardId)
+                                .orElseThrow(() -> new RuntimeException("Board not found"))))));
+    }
+
+    /** One page of a column's cards in board order, starting after the cursor. */
+    public CardPage getColumnCards(Long columnId, String after, int limit) {
+        CardCursor cursor = CardCursor.parse(after);
+        Long boardId = columnRepository.findBoardIdById(columnId)
+                .orElseThrow(() -> new RuntimeException("Column not found"));
+        checkBoardAccess(boardId);
+        // One extra row tells whether another page follows
+        List<Object[]> rows = cardRepository.findPageByColumnId(columnId, cursor.position(), cursor.cardId(),
+                Limit.of(limit + 1));
+        List<CardResponse> cards = rows.stream()
+                .limit(limit)
+                .map(row -> new CardResponse(
+                        (Long) row[0],
+                        (String) row[1],
+                        (String) row[2],
+                        (Integer) row[3],
+                        (Boolean) row[4],
+                        (LocalDateTime) row[5]))
+                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            CardResponse last = cards.get(cards.size() - 1);
+            nextCursor = new CardCursor(last.position(), last.id()).encode();
+        }
+        return new CardPage(cards, nextCursor);
+    }
+
+    private void checkBoardAccess(Long boardId) {
+        if (!boardRepository.existsByIdAndMembers_Id(boardId, currentUserId())) {
+            if (!boardRepository.existsById(boardId)) {
+                throw new RuntimeException("Board not found");
+            }
+            throw new AccessDeniedException("Access denied to this board");
+        }
+    }
+
+    static BoardSummaryResponse toSummary(Object[] row) {
+        return new BoardSummaryResponse(
+                (Long) row[0],
+                (String) row[1],
+                (String) row[2],
+                (Boolean) row[3],
+                ((Number) row[4]).intValue(),
+                ((Number) row[5]).intValue(),
+                (LocalDateTime) row[6]);
+    }
+
+    // Also used by the write side on boards it has just saved, inside its own transaction
+    static FullBoardResponse toFullBoardResponse(Board board) {
+        List<ColumnResponse> columnResponses = board.getColumns() != null
+                ? board.getColumns().stream()
+                        .map(column -> new ColumnResponse(
+                                column.getId(),
+                                column.getName(),
+                                column.getPosition(),
+                                column.getCards() != null
+                                        ? column.getCards().stream()
+                                                .map(card -> new CardResponse(
+                                                        card.getId(),
+                                                        card.getName(),
+                                                        card.getTitle(),
+                                                        card.getPosition(),
+                                                        card.getIsActive(),
+                                                        card.getCreatedAt()))
+                                                .collect(Collectors.toList())
+                                        : new ArrayList<CardResponse>()))
+                        .collect(Collectors.toList())
+                : new ArrayList<ColumnResponse>();
+
+        // Ordered by id so the output matches BoardJsonWriter byte for byte
+        List<UserResponse> memberResponses = board.getMembers().stream()
+                .sorted(Comparator.comparing(User::getId))
+                .map(BoardQueryService::toUserResponse)
+                .collect(Collectors.toList());
+
+        return new FullBoardResponse(
+                board.getId(),
+                board.getName(),
+                board.getDescription(),
+                board.getIsPublic(),
+                board.getOwner().getId(),
+                toUserResponse(board.getOwner()),
+                memberResponses,
+                columnResponses,
+                board.getCreatedAt(),
+                board.getUpdatedAt());
+    }
+
+    private static UserResponse toUserResponse(User user) {
+        return new UserResponse(
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                user.getUsername(),
+                user.getRole(),
+                user.getAvatarUrl());
+    }
+
+    private Long currentUserId() {
+        if (SecurityContextHolder.getContext().getAuthentication().getPrincipal() instanceof AuthenticatedUser user)
+            return user.getId();
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")).getId();
+    }
+}
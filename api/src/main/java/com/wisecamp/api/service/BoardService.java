@@ -1,26 +1,30 @@
 package com.wisecamp.api.service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.wisecamp.api.dto.AuthDtos.UserResponse;
+import com.wisecamp.api.config.security.AuthenticatedUser;
 import com.wisecamp.api.dto.BoardDtos.BoardRequest;
 import com.wisecamp.api.dto.BoardDtos.BoardSummaryResponse;
 import com.wisecamp.api.dto.BoardDtos.CardResponse;
 import com.wisecamp.api.dto.BoardDtos.ColumnResponse;
 import com.wisecamp.api.dto.BoardDtos.FullBoardResponse;
+import com.wisecamp.api.model.ActivityType;
 import com.wisecamp.api.model.Board;
 import com.wisecamp.api.model.Project;
+import com.wisecamp.api.model.PurgeTarget;
 import com.wisecamp.api.model.User;
 import com.wisecamp.api.repository.BoardRepository;
+import com.wisecamp.api.repository.ColumnRepository;
 import com.wisecamp.api.repository.ProjectRepository;
 import com.wisecamp.api.repository.UserRepository;
 
@@ -29,12 +33,34 @@ public class BoardService {
         private final BoardRepository boardRepository;
         private final UserRepository userRepository;
         private final ProjectRepository projectRepository;
+        private final InvalidationBus invalidationBus;
+        private final ActivityService activityService;
+        private final DashboardService dashboardService;
+        private final FlowAnalyticsService flowAnalyticsService;
+        private final BoardCopier boardCopier;
+        private final BulkPurger bulkPurger;
+        private final ColumnRepository columnRepository;
+        private final DueDateReminderScheduler reminderScheduler;
+        private final JdbcTemplate jdbcTemplate;
 
         public BoardService(BoardRepository boardRepository, UserRepository userRepository,
-                        ProjectRepository projectRepository) {
+                        ProjectRepository projectRepository, InvalidationBus invalidationBus,
+                        ActivityService activityService, DashboardService dashboardService,
+                        FlowAnalyticsService flowAnalyticsService, BoardCopier boardCopier,
+                        BulkPurger bulkPurger, ColumnRepository columnRepository,
+                        DueDateReminderScheduler reminderScheduler, JdbcTemplate jdbcTemplate) {
                 this.boardRepository = boardRepository;
                 this.userRepository = userRepository;
                 this.projectRepository = projectRepository;
+                this.invalidationBus = invalidationBus;
+                this.activityService = activityService;
+                this.dashboardService = dashboardService;
+                this.flowAnalyticsService = flowAnalyticsService;
+                this.boardCopier = boardCopier;
+                this.bulkPurger = bulkPurger;
+                this.columnRepository = columnRepository;
+                this.reminderScheduler = reminderScheduler;
+                this.jdbcTemplate = jdbcTemplate;
         }
 
         private User getCurrentUser() {
@@ -43,29 +69,59 @@ public class BoardService {
                                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         }
 
-        public List<BoardSummaryResponse> getBoardsForCurrentUser() {
+        @Transactional
+        public FullBoardResponse createBoard(BoardRequest request) {
                 User currentUser = getCurrentUser();
-                List<Board> boards = boardRepository.findByMembers_Id(currentUser.getId());
-                return boards.stream()
-                                .map(board -> new BoardSummaryResponse(
-                                                board.getId(),
-                                                board.getName(),
-                                                board.getDescription(),
-                                                board.getIsPublic(),
-                                                board.getMembers().size(),
-                                                board.getColumns() != null ? board.getColumns().stream()
-                                                                .mapToInt(c -> c.getCards() != null
-                                                                                ? c.getCards().size()
-                                                                                : 0)
-                                                                .sum() : 0,
-                                                board.getCreatedAt()))
-                                .collect(Collectors.toList());
+                Board savedBoard = boardRepository.save(newBoard(currentUser, request));
+                dashboardService.boardCreated(savedBoard.getId());
+                activityService.record(savedBoard.getId(), null, currentUser.getId(), ActivityType.BOARD_CREATED,
+                                null);
+                return BoardQueryService.toFullBoardResponse(savedBoard);
         }
 
+        // Saves the board as a template: its structure and cards, nothing tied to the original's schedule
         @Transactional
-        public FullBoardResponse createBoard(BoardRequest request) {
+        public BoardSummaryResponse saveAsTemplate(Long boardId, BoardRequest request) {
+                return copyBoard(boardId, request, true);
+        }
+
+        // Creates a working board from a template or from another board
+        @Transactional
+        public BoardSummaryResponse createFromBoard(Long boardId, BoardRequest request) {
+                return copyBoard(boardId, request, false);
+        }
+
+        private BoardSummaryResponse copyBoard(Long sourceId, BoardRequest request, boolean template) {
                 User currentUser = getCurrentUser();
+                Board source = boardRepository.findById(sourceId)
+                                .orElseThrow(() -> new RuntimeException("Board not found"));
+
+                if (source.getMembers().stream().noneMatch(member -> member.getId().equals(currentUser.getId()))) {
+                        throw new AccessDeniedException("Access denied to this board");
+                }
+
+                String name = request != null && request.name() != null ? request.name() : source.getName();
+                String description = request != null && request.description() != null ? request.description()
+                                : source.getDescription();
+                Boolean isPublic = template || request == null ? Boolean.FALSE : request.isPublic();
+                Long projectId = template || request == null ? null : request.projectId();
+                Board board = newBoard(currentUser, new BoardRequest(name, description, isPublic, projectId));
+                board.setIsTemplate(template);
+                Board savedBoard = boardRepository.saveAndFlush(board);
+
+                int cards = boardCopier.copyContent(sourceId, savedBoard.getId(), template || source.isTemplate());
+                if (!template) {
+                        dashboardService.boardCopied(savedBoard.getId());
+                        flowAnalyticsService.boardCopied(savedBoard.getId());
+                }
+                activityService.record(savedBoard.getId(), null, currentUser.getId(), ActivityType.BOARD_CREATED,
+                                "{\"copiedFrom\":" + sourceId + "}");
+                return new BoardSummaryResponse(savedBoard.getId(), savedBoard.getName(),
+                                savedBoard.getDescription(), savedBoard.getIsPublic(), savedBoard.getMembers().size(),
+                                cards, savedBoard.getCreatedAt());
+        }
 
+        private Board newBoard(User currentUser, BoardRequest request) {
                 Board board = new Board();
                 board.setName(request.name());
                 board.setDescription(request.description());
@@ -89,24 +145,21 @@ public class BoardService {
                         // Add all project members to the new board
                         board.getMembers().addAll(project.getMembers());
                 }
-
-                Board savedBoard = boardRepository.save(board);
-                return convertToFullBoardResponse(savedBoard);
+                return board;
         }
 
-        public FullBoardResponse getBoardById(Long boardId) {
-                User currentUser = getCurrentUser();
-                Board board = boardRepository.findById(boardId)
-                                .orElseThrow(() -> new RuntimeException("Board not found"));
-
-                // Check access
-                if (board.getMembers().stream().noneMatch(member -> member.getId().equals(currentUser.getId()))) {
+        // Membership check for the streaming read: no entity graph, one query when the principal carries the id
+        public void checkBoardAccess(Long boardId) {
+                Long userId = currentUserId();
+                if (!boardRepository.existsByIdAndMembers_Id(boardId, userId)) {
+                        if (!boardRepository.existsById(boardId)) {
+                                throw new RuntimeException("Board not found");
+                        }
                         throw new AccessDeniedException("Access denied to this board");
                 }
-
-                return convertToFullBoardResponse(board);
         }
 
+        @Transactional
         public FullBoardResponse updateBoard(Long boardId, BoardRequest request) {
                 User currentUser = getCurrentUser();
                 Board board = boardRepository.findById(boardId)
@@ -122,54 +175,42 @@ public class BoardService {
                 board.setIsPublic(request.isPublic());
 
                 Board savedBoard = boardRepository.save(board);
-                return convertToFullBoardResponse(savedBoard);
+                invalidationBus.boardChanged(boardId);
+                activityService.record(boardId, null, currentUser.getId(), ActivityType.BOARD_UPDATED, null);
+                return BoardQueryService.toFullBoardResponse(savedBoard);
         }
 
         @Transactional
         public ColumnResponse createColumn(Long boardId, String name, Integer position) {
-                User currentUser = getCurrentUser();
-                Board board = boardRepository.findById(boardId)
-                                .orElseThrow(() -> new RuntimeException("Board not found"));
-
-                if (!board.getOwner().getId().equals(currentUser.getId())) {
-                        throw new AccessDeniedException("Only board owner can add columns");
-                }
+                Long userId = checkOwner(boardId, "Only board owner can add columns");
 
                 com.wisecamp.api.model.Column col = new com.wisecamp.api.model.Column();
                 col.setName(name);
-                col.setPosition(position != null ? position.longValue()
-                                : (long) (board.getColumns() != null ? board.getColumns().size() : 0));
-                col.setBoard(board);
-
-                if (board.getColumns() == null)
-                        board.setColumns(new java.util.ArrayList<>());
-                board.getColumns().add(col);
-                Board saved = boardRepository.save(board);
-                // find the created column
-                com.wisecamp.api.model.Column created = saved.getColumns().stream()
-                                .filter(c -> c.getName().equals(name)).reduce((a, b) -> b).orElse(null);
+                col.setPosition(position != null ? position.longValue() : columnRepository.countByBoard_Id(boardId));
+                col.setBoard(boardRepository.getReferenceById(boardId));
+                com.wisecamp.api.model.Column created = columnRepository.save(col);
+                invalidationBus.boardChanged(boardId);
+                activityService.record(boardId, null, userId, ActivityType.COLUMN_CREATED,
+                                "{\"columnId\":" + created.getId() + "}");
                 return new ColumnResponse(created.getId(), created.getName(), created.getPosition(),
                                 new java.util.ArrayList<CardResponse>());
         }
 
         @Transactional
         public ColumnResponse updateColumn(Long boardId, Long columnId, String name, Integer position) {
-                User currentUser = getCurrentUser();
-                Board board = boardRepository.findById(boardId)
-                                .orElseThrow(() -> new RuntimeException("Board not found"));
-
-                if (!board.getOwner().getId().equals(currentUser.getId())) {
-                        throw new AccessDeniedException("Only board owner can update columns");
-                }
+                Long userId = checkOwner(boardId, "Only board owner can update columns");
 
-                com.wisecamp.api.model.Column col = board.getColumns().stream().filter(c -> c.getId().equals(columnId))
-                                .findFirst()
+                com.wisecamp.api.model.Column col = columnRepository.findByIdAndBoard_Id(columnId, boardId)
                                 .orElseThrow(() -> new RuntimeException("Column not found"));
+                String previousName = col.getName();
                 if (name != null)
                         col.setName(name);
                 if (position != null)
                         col.setPosition(position.longValue());
-                boardRepository.save(board);
+                dashboardService.columnRenamed(boardId, columnId, previousName, col.getName());
+                invalidationBus.boardChanged(boardId);
+                activityService.record(boardId, null, userId, ActivityType.COLUMN_UPDATED,
+                                "{\"columnId\":" + columnId + "}");
                 // build response
                 return new ColumnResponse(col.getId(), col.getName(), col.getPosition(),
                                 new java.util.ArrayList<CardResponse>());
@@ -177,20 +218,70 @@ public class BoardService {
 
         @Transactional
         public void deleteColumn(Long boardId, Long columnId) {
-                User currentUser = getCurrentUser();
-                Board board = boardRepository.findById(boardId)
-                                .orElseThrow(() -> new RuntimeException("Board not found"));
+                Long userId = checkOwner(boardId, "Only board owner can delete columns");
+                if (!columnRepository.existsByIdAndBoard_Id(columnId, boardId))
+                        throw new RuntimeException("Column not found");
 
-                if (!board.getOwner().getId().equals(currentUser.getId())) {
-                        throw new AccessDeniedException("Only board owner can delete columns");
+                dashboardService.columnRemoved(boardId, columnId);
+                flowAnalyticsService.columnRemoved(boardId, columnId, userId);
+                columnRepository.findDueCardIdsByColumnId(columnId).forEach(reminderScheduler::cardDeleted);
+                columnRepository.deleteCommentsByColumnId(columnId);
+                columnRepository.deleteAttachmentsByColumnId(columnId);
+                columnRepository.deleteChecklistItemsByColumnId(columnId);
+                columnRepository.deleteCardsByColumnId(columnId);
+                columnRepository.deleteByColumnId(columnId);
+                invalidationBus.boardChanged(boardId);
+                activityService.record(boardId, null, userId, ActivityType.COLUMN_DELETED,
+                                "{\"columnId\":" + columnId + "}");
+        }
+
+        // Sets every column's position from its index in columnIds with a single UPDATE
+        @Transactional
+        public void reorderColumns(Long boardId, List<Long> columnIds) {
+                Long userId = checkOwner(boardId, "Only board owner can reorder columns");
+                List<Long> existing = columnRepository.findIdsByBoardId(boardId);
+                if (columnIds == null || columnIds.size() != existing.size()
+                                || !new HashSet<>(columnIds).equals(new HashSet<>(existing))) {
+                        throw new RuntimeException("Column order must list every column of the board once");
                 }
+                if (columnIds.isEmpty())
+                        return;
+
+                StringBuilder sql = new StringBuilder("update columns set position = case id");
+                List<Object> args = new ArrayList<>(columnIds.size() * 2 + 1);
+                for (int i = 0; i < columnIds.size(); i++) {
+                        sql.append(" when ? then ?");
+                        args.add(columnIds.get(i));
+                        args.add(i);
+                }
+                sql.append(" end, updated_at = ? where board_id = ?");
+                args.add(java.sql.Timestamp.valueOf(LocalDateTime.now()));
+                args.add(boardId);
+                jdbcTemplate.update(sql.toString(), args.toArray());
+                invalidationBus.boardChanged(boardId);
+                activityService.record(boardId, null, userId, ActivityType.COLUMN_UPDATED,
+                                "{\"columnIds\":" + columnIds + "}");
+        }
 
-                boolean removed = board.getColumns().removeIf(c -> c.getId().equals(columnId));
-                if (!removed)
-                        throw new RuntimeException("Column not found");
-                boardRepository.save(board);
+        // Owner check without loading the board; returns the caller's id
+        private Long checkOwner(Long boardId, String message) {
+                Long ownerId = boardRepository.findOwnerIdById(boardId)
+                                .orElseThrow(() -> new RuntimeException("Board not found"));
+                Long userId = currentUserId();
+                if (!ownerId.equals(userId)) {
+                        throw new AccessDeniedException(message);
+                }
+                return userId;
+        }
+
+        private Long currentUserId() {
+                return SecurityContextHolder.getContext().getAuthentication()
+                                .getPrincipal() instanceof AuthenticatedUser principal
+                                                ? principal.getId()
+                                                : getCurrentUser().getId();
         }
 
+        @Transactional
         public void deleteBoard(Long boardId) {
                 User currentUser = getCurrentUser();
                 Board board = boardRepository.findById(boardId)
@@ -201,7 +292,12 @@ public class BoardService {
                         throw new AccessDeniedException("Only board owner can delete the board");
                 }
 
-                boardRepository.delete(board);
+                // Hidden from here on; BulkPurger removes the rows
+                dashboardService.boardRemoved(boardId);
+                board.setDeletedAt(LocalDateTime.now());
+                boardRepository.save(board);
+                bulkPurger.enqueue(PurgeTarget.BOARD, boardId);
+                invalidationBus.boardChanged(boardId);
         }
 
         @Transactional
@@ -214,8 +310,12 @@ public class BoardService {
                 }
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new RuntimeException("User not found"));
-                board.getMembers().add(user);
+                if (board.getMembers().add(user))
+                        dashboardService.memberAdded(boardId, userId);
                 boardRepository.save(board);
+                invalidationBus.boardChanged(boardId);
+                activityService.record(boardId, null, currentUser.getId(), ActivityType.MEMBER_ADDED,
+                                "{\"userId\":" + userId + "}");
         }
 
         @Transactional
@@ -232,61 +332,11 @@ public class BoardService {
                 }
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new RuntimeException("User not found"));
+                dashboardService.memberRemoved(boardId, userId);
                 board.getMembers().remove(user);
                 boardRepository.save(board);
-        }
-
-        private FullBoardResponse convertToFullBoardResponse(Board board) {
-                List<ColumnResponse> columnResponses = board.getColumns() != null
-                                ? board.getColumns().stream()
-                                                .map(column -> new ColumnResponse(
-                                                                column.getId(),
-                                                                column.getName(),
-                                                                column.getPosition(),
-                                                                column.getCards() != null
-                                                                                ? column.getCards().stream()
-                                                                                                .map(card -> new CardResponse(
-                                                                                                                card.getId(),
-                                                                                                                card.getName(),
-                                                                                                                card.getTitle(),
-                                                                                                                card.getDescription(),
-                                                                                                                card.getPosition(),
-                                                                                                                card.getIsActive(),
-                                                                                                                card.getCreatedAt()))
-                                                                                                .collect(Collectors
-                                                                                                                .toList())
-                                                                                : new ArrayList<CardResponse>()))
-                                                .collect(Collectors.toList())
-                                : new ArrayList<ColumnResponse>();
-
-                List<UserResponse> memberResponses = board.getMembers().stream()
-                                .map(member -> new UserResponse(
-                                                member.getId(),
-                                                member.getName(),
-                                                member.getEmail(),
-                                                member.getUsername(),
-                                                member.getRole(),
-                                                member.getAvatarUrl()))
-                                .collect(Collectors.toList());
-
-                UserResponse ownerResponse = new UserResponse(
-                                board.getOwner().getId(),
-                                board.getOwner().getName(),
-                                board.getOwner().getEmail(),
-                                board.getOwner().getUsername(),
-                                board.getOwner().getRole(),
-                                board.getOwner().getAvatarUrl());
-
-                return new FullBoardResponse(
-                                board.getId(),
-                                board.getName(),
-                                board.getDescription(),
-                                board.getIsPublic(),
-                                board.getOwner().getId(),
-                                ownerResponse,
-                                memberResponses,
-                                columnResponses,
-                                board.getCreatedAt(),
-                                board.getUpdatedAt());
+                invalidationBus.boardChanged(boardId);
+                activityService.record(boardId, null, currentUser.getId(), ActivityType.MEMBER_REMOVED,
+                                "{\"userId\":" + userId + "}");
         }
 }
@@ -0,0 +1,168 @@
+package com.wisecamp.api.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wisecamp.api.config.persistence.ReplicaRoutingDataSource;
+import com.wisecamp.api.config.web.WireFormat;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Serialized {@code GET /api/boards/{id}} payloads, one per wire format,
+ * optionally with a pre-gzipped copy. Caffeine's W-TinyLFU policy decides
+ * admission and eviction within a byte budget, so a burst of one-off reads
+ * cannot push the hot boards out.
+ * <p>
+ * Every board has a version taken from one global counter. Mutations bump
+ * it through {@link InvalidationBus} after their transaction commits, on
+ * this node and on every other; a reader takes the version before
+ * reading the database and stores its payload under that version, so a
+ * payload built from data older than the latest commit is never served.
+ * Loads read from the primary, since a lagging replica could otherwise
+ * store old data under the new version.
+ * Access checks stay with the caller because entries are shared by every
+ * member of the board.
+ * <p>
+ * Versions are tracked for at most {@code max-versions} boards. Past that,
+ * or on any full flush, the floor is raised above every tracked version
+ * and the table is emptied, so deleted and purged boards do not
+ * accumulate.
+ */
+@Component
+public class BoardSnapshotCache implements InvalidationListener {
+
+    public interface Loader {
+        /** Writes the payload, or returns false if the board does not exist. */
+        boolean write(OutputStream out) throws IOException;
+    }
+
+    public record Snapshot(long version, byte[] body, byte[] gzip) {
+        int weight() {
+            return 64 + body.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    private record Key(Long boardId, WireFormat format) {
+    }
+
+    private record Load(Key key, long version) {
+    }
+
+    private final Cache<Key, Snapshot> cache;
+    private final SingleFlight<Load, Snapshot> loads;
+    private final ConcurrentHashMap<Long, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    // Version floor for every board, raised by flushAll()
+    private volatile long floor;
+    private final boolean enabled;
+    private final int gzipMinBytes;
+    private final int maxVersions;
+
+    public BoardSnapshotCache(MeterRegistry registry,
+            @Value("${wisecamp.board-cache.enabled:true}") boolean enabled,
+            @Value("${wisecamp.board-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${wisecamp.board-cache.gzip-min-bytes:1024}") int gzipMinBytes,
+            @Value("${wisecamp.board-cache.max-versions:100000}") int maxVersions) {
+        this.enabled = enabled;
+        this.gzipMinBytes = gzipMinBytes;
+        this.maxVersions = maxVersions;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<Key, Snapshot>weigher((key, snapshot) -> snapshot.weight())
+                .recordStats()
+                .build();
+        this.loads = new SingleFlight<>("board-snapshots", registry);
+        CaffeineCacheMetrics.monitor(registry, cache, "board-snapshots");
+        Gauge.builder("wisecamp.board.cache.bytes", cache,
+                c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .description("Bytes held by cached board payloads")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached payload for the board's current version, loading
+     * and caching it on a miss. Concurrent misses for the same version share
+     * one load. Returns null if the loader reports the board missing.
+     */
+    public Snapshot getOrLoad(Long boardId, WireFormat format, Loader loader) throws IOException {
+        Key key = new Key(boardId, format);
+        long version = version(boardId);
+        Snapshot snapshot = cache.getIfPresent(key);
+        if (snapshot != null && snapshot.version() == version)
+            return snapshot;
+
+        return loads.load(new Load(key, version), () -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+            if (!ReplicaRoutingDataSource.onPrimary(() -> loader.write(out)))
+                return null;
+            byte[] body = out.toByteArray();
+            Snapshot loaded = new Snapshot(version, body, body.length >= gzipMinBytes ? gzip(body) : null);
+            // Keep a newer entry that a concurrent reader may have stored meanwhile
+            cache.asMap().merge(key, loaded, (old, fresh) -> old.version() >= fresh.version() ? old : fresh);
+            return loaded;
+        });
+    }
+
+    /** Changes whenever the board's cached payload would; a key for other per-board derived data. */
+    public long version(Long boardId) {
+        return Math.max(versions.getOrDefault(boardId, 0L), floor);
+    }
+
+    @Override
+    public void boardChanged(long boardId) {
+        versions.put(boardId, clock.incrementAndGet());
+        if (versions.size() > maxVersions) {
+            flushAll();
+            return;
+        }
+        for (WireFormat format : WireFormat.values())
+            cache.invalidate(new Key(boardId, format));
+    }
+
+    // Names and emails are embedded in every board the user belongs to
+    @Override
+    public void userChanged(long userId) {
+        flushAll();
+    }
+
+    @Override
+    public void flushAll() {
+        long raised = clock.incrementAndGet();
+        floor = raised;
+        // Every version below the new floor is implied by it; later bumps are kept
+        versions.values().removeIf(version -> version < raised);
+        cache.invalidateAll();
+    }
+
+    int trackedVersions() {
+        return versions.size();
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,259 @@
+package com.wisecamp.api.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wisecamp.api.model.PurgeJob;
+import com.wisecamp.api.model.PurgeStatus;
+import com.wisecamp.api.model.PurgeTarget;
+import com.wisecamp.api.repository.PurgeJobRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Removes deleted boards and projects in the background.
+ * <p>
+ * Deleting only sets {@code deleted_at}, which hides the row from every
+ * entity query, and queues a {@link PurgeJob}. This thread then deletes
+ * what hangs off each board table by table, bottom up, at most
+ * {@code batch-size} rows per statement and one transaction per batch, so
+ * no request waits on it and no transaction holds many locks. Between
+ * batches it sleeps long enough to stay under {@code duty-percent} of wall
+ * time. Every step is a delete by board id, so a job interrupted by a
+ * restart or an error simply runs again from the top.
+ */
+@Component
+public class BulkPurger implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkPurger.class);
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    // Bounded deletes, children first; each takes (boardId, batch size), board_members its boardId twice
+    private record Step(String table, String sql) {
+    }
+
+    private static final List<Step> BOARD_STEPS = List.of(
+            new Step("comments", "delete from comments where id in (select x.id from comments x "
+                    + "join cards c on c.id = x.card_id join columns col on col.id = c.column_id "
+                    + "where col.board_id = ? fetch first ? rows only)"),
+            new Step("card_attachments", "delete from card_attachments where id in (select x.id "
+                    + "from card_attachments x join cards c on c.id = x.card_id "
+                    + "join columns col on col.id = c.column_id where col.board_id = ? fetch first ? rows only)"),
+            new Step("checklist_items", "delete from checklist_items where id in (select x.id from checklist_items x "
+                    + "join cards c on c.id = x.card_id join columns col on col.id = c.column_id "
+                    + "where col.board_id = ? fetch first ? rows only)"),
+            new Step("cards", "delete from cards where id in (select c.id from cards c "
+                    + "join columns col on col.id = c.column_id where col.board_id = ? fetch first ? rows only)"),
+            new Step("columns", "delete from columns where id in (select id from columns where board_id = ? "
+                    + "fetch first ? rows only)"),
+            new Step("card_transitions", "delete from card_transitions where id in (select id from card_transitions "
+                    + "where board_id = ? fetch first ? rows only)"),
+            new Step("board_daily_flow", "delete from board_daily_flow where id in (select id from board_daily_flow "
+                    + "where board_id = ? fetch first ? rows only)"),
+            new Step("activities", "delete from activities where id in (select id from activities "
+                    + "where board_id = ? fetch first ? rows only)"),
+            new Step("archived_cards", "delete from archived_cards where card_id in (select card_id "
+                    + "from archived_cards where board_id = ? fetch first ? rows only)"),
+            new Step("board_members", "delete from board_members where board_id = ? and user_id in ("
+                    + "select user_id from board_members where board_id = ? fetch first ? rows only)"));
+
+    private final PurgeJobRepository jobRepository;
+    private final DueDateReminderScheduler reminderScheduler;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int dutyPercent;
+    private final long pollMillis;
+    private final Counter rowsDeleted;
+    private final Semaphore wakeups = new Semaphore(0);
+
+    private volatile boolean running;
+    // Set by stop(); checked between batches so a shutdown does not wait for a whole job
+    private volatile boolean stopping;
+    private Thread thread;
+
+    public BulkPurger(PurgeJobRepository jobRepository, DueDateReminderScheduler reminderScheduler,
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MeterRegistry registry,
+            @Value("${wisecamp.purge.enabled:true}") boolean enabled,
+            @Value("${wisecamp.purge.batch-size:1000}") int batchSize,
+            @Value("${wisecamp.purge.duty-percent:25}") int dutyPercent,
+            @Value("${wisecamp.purge.poll-ms:10000}") long pollMillis) {
+        this.jobRepository = jobRepository;
+        this.reminderScheduler = reminderScheduler;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.dutyPercent = Math.max(1, Math.min(dutyPercent, 100));
+        this.pollMillis = pollMillis;
+        this.rowsDeleted = Counter.builder("wisecamp.purge.rows").register(registry);
+    }
+
+    /**
+     * Call in the transaction that marks the board or project deleted; the
+     * job starts once it commits.
+     */
+    public PurgeJob enqueue(PurgeTarget target, Long targetId) {
+        String boards = target == PurgeTarget.BOARD ? "col.board_id = ?"
+                : "col.board_id in (select id from boards where project_id = ?)";
+        for (Long cardId : jdbcTemplate.queryForList("select c.id from cards c join columns col "
+                + "on col.id = c.column_id where " + boards + " and c.due_date is not null", Long.class, targetId))
+            reminderScheduler.cardDeleted(cardId);
+
+        PurgeJob job = new PurgeJob();
+        job.setTarget(target);
+        job.setTargetId(targetId);
+        job.setStatus(PurgeStatus.PENDING);
+        job.setRowsDeleted(0L);
+        job.setAttempts(0);
+        job.setCreatedAt(LocalDateTime.now());
+        PurgeJob saved = jobRepository.save(job);
+        AfterCommit.run(wakeups::release);
+        return saved;
+    }
+
+    public List<PurgeJob> recentJobs(int limit) {
+        return jobRepository.findByOrderByIdDesc(Limit.of(limit));
+    }
+
+    private void run() {
+        while (running) {
+            boolean worked = false;
+            try {
+                worked = purgeNext();
+            } catch (RuntimeException e) {
+                log.warn("Purge loop failed; retrying in {} ms", pollMillis, e);
+            }
+            if (!worked) {
+                try {
+                    wakeups.tryAcquire(pollMillis, TimeUnit.MILLISECONDS);
+                    wakeups.drainPermits();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Purges the oldest pending job; the purge thread calls this, and tests call it directly. */
+    boolean purgeNext() {
+        PurgeJob job = jobRepository.findFirstByStatusOrderByIdAsc(PurgeStatus.PENDING).orElse(null);
+        if (job == null)
+            return false;
+        long started = System.nanoTime();
+        try {
+            purge(job);
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                    "update purge_jobs set status = ?, phase = null, finished_at = ? where id = ?",
+                    PurgeStatus.DONE.name(), LocalDateTime.now(), job.getId()));
+            log.info("Purged {} {} in {} ms", job.getTarget(), job.getTargetId(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        } catch (RuntimeException e) {
+            int attempts = job.getAttempts() + 1;
+            PurgeStatus status = attempts >= MAX_ATTEMPTS ? PurgeStatus.FAILED : PurgeStatus.PENDING;
+            String error = String.valueOf(e.getMessage());
+            jdbcTemplate.update("update purge_jobs set status = ?, attempts = ?, last_error = ? where id = ?",
+                    status.name(), attempts, error.substring(0, Math.min(error.length(), 1000)), job.getId());
+            log.warn("Purging {} {} failed (attempt {})", job.getTarget(), job.getTargetId(), attempts, e);
+            // Back off before the next job rather than hammering a failing database
+            return false;
+        }
+        return true;
+    }
+
+    private void purge(PurgeJob job) throws InterruptedException {
+        List<Long> boardIds = job.getTarget() == PurgeTarget.BOARD ? List.of(job.getTargetId())
+                : jdbcTemplate.queryForList("select id from boards where project_id = ? order by id", Long.class,
+                        job.getTargetId());
+        for (Long boardId : boardIds) {
+            for (Step step : BOARD_STEPS) {
+                Object[] args = step.table().equals("board_members")
+                        ? new Object[] { boardId, boardId, batchSize }
+                        : new Object[] { boardId, batchSize };
+                int rows;
+                do {
+                    rows = batch(job, "board " + boardId + ": " + step.table(), step.sql(), args);
+                } while (rows == batchSize && !stopping);
+            }
+            batch(job, "board " + boardId, "delete from boards where id = ?", boardId);
+        }
+        if (job.getTarget() == PurgeTarget.PROJECT) {
+            batch(job, "project members", "delete from project_members where project_id = ?", job.getTargetId());
+            batch(job, "project", "delete from projects where id = ?", job.getTargetId());
+        }
+        if (stopping)
+            throw new InterruptedException("Stopped while purging");
+    }
+
+    // One statement and the job's progress in one transaction, then sleep to hold the duty cycle
+    private int batch(PurgeJob job, String phase, String sql, Object... args) throws InterruptedException {
+        long started = System.nanoTime();
+        Integer deleted = transactionTemplate.execute(status -> {
+            int rows = jdbcTemplate.update(sql, args);
+            jdbcTemplate.update("update purge_jobs set phase = ?, rows_deleted = rows_deleted + ? where id = ?",
+                    phase, rows, job.getId());
+            return rows;
+        });
+        int rows = deleted != null ? deleted : 0;
+        rowsDeleted.increment(rows);
+        long elapsed = System.nanoTime() - started;
+        pause(elapsed * (100 - dutyPercent) / dutyPercent);
+        return rows;
+    }
+
+    private void pause(long nanos) throws InterruptedException {
+        if (nanos > 0 && !stopping)
+            TimeUnit.NANOSECONDS.sleep(nanos);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled)
+            return;
+        running = true;
+        stopping = false;
+        thread = new Thread(this::run, "bulk-purger");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        stopping = true;
+        Thread current = thread;
+        if (current == null)
+            return;
+        wakeups.release();
+        try {
+            current.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
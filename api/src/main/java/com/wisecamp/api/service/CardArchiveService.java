@@ -0,0 +1,355 @@
+package com.wisecamp.api.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wisecamp.api.config.security.AuthenticatedUser;
+import com.wisecamp.api.dto.ArchiveDtos.ArchivePage;
+import com.wisecamp.api.dto.ArchiveDtos.ArchivedAttachment;
+import com.wisecamp.api.dto.ArchiveDtos.ArchivedCard;
+import com.wisecamp.api.dto.ArchiveDtos.ArchivedCardSummary;
+import com.wisecamp.api.dto.ArchiveDtos.ArchivedChecklistItem;
+import com.wisecamp.api.dto.ArchiveDtos.ArchivedComment;
+import com.wisecamp.api.model.ActivityType;
+import com.wisecamp.api.model.ArchivedCardEntry;
+import com.wisecamp.api.model.Card;
+import com.wisecamp.api.repository.ArchivedCardRepository;
+import com.wisecamp.api.repository.CardRepository;
+import com.wisecamp.api.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Moves cards out of the hot tables into {@link CardArchiveStore} and back.
+ * <p>
+ * Archiving writes each card with its comments, checklist items and
+ * attachment records to the segment files, adds a row to
+ * {@code archived_cards} for browsing and search, and deletes the rows, so
+ * board loads only ever see live cards. The segment append is on disk
+ * before the deletes commit; a failed transaction only leaves unreferenced
+ * records behind. A nightly sweep archives cards that have been inactive
+ * for {@code inactive-days}, and with {@code idle-days} set also cards
+ * nobody has touched for that long. Restoring puts the card back under its
+ * original id.
+ */
+@Service
+public class CardArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(CardArchiveService.class);
+
+    private static final String LIVE_BOARD = "(b.is_template is null or b.is_template = false) "
+            + "and b.deleted_at is null";
+    private static final String CANDIDATES_SQL = "select c.id from cards c join columns col on col.id = c.column_id "
+            + "join boards b on b.id = col.board_id where c.id > ? and " + LIVE_BOARD
+            + " and ((c.is_active = false and c.updated_at < ?) or c.updated_at < ?) order by c.id "
+            + "fetch first ? rows only";
+    private static final String CARDS_SQL = "select c.id, col.board_id, c.column_id, col.name, c.name, c.title, "
+            + "c.description, c.position, c.is_active, c.due_date, c.created_at, c.updated_at "
+            + "from cards c join columns col on col.id = c.column_id where c.id in (%s) order by c.id";
+    private static final LocalDateTime NEVER = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final CardArchiveStore store;
+    private final ArchivedCardRepository archivedCardRepository;
+    private final CardRepository cardRepository;
+    private final UserRepository userRepository;
+    private final BoardService boardService;
+    private final InvalidationBus invalidationBus;
+    private final ActivityService activityService;
+    private final DueDateReminderScheduler reminderScheduler;
+    private final DashboardService dashboardService;
+    private final FlowAnalyticsService flowAnalyticsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int inactiveDays;
+    private final int idleDays;
+    private final Counter archived;
+    private final Counter restored;
+
+    public CardArchiveService(CardArchiveStore store, ArchivedCardRepository archivedCardRepository,
+            CardRepository cardRepository, UserRepository userRepository, BoardService boardService,
+            InvalidationBus invalidationBus, ActivityService activityService,
+            DueDateReminderScheduler reminderScheduler, DashboardService dashboardService,
+            FlowAnalyticsService flowAnalyticsService, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper, MeterRegistry registry,
+            @Value("${wisecamp.archive.batch-size:500}") int batchSize,
+            @Value("${wisecamp.archive.inactive-days:30}") int inactiveDays,
+            @Value("${wisecamp.archive.idle-days:0}") int idleDays) {
+        this.store = store;
+        this.archivedCardRepository = archivedCardRepository;
+        this.cardRepository = cardRepository;
+        this.userRepository = userRepository;
+        this.boardService = boardService;
+        this.invalidationBus = invalidationBus;
+        this.activityService = activityService;
+        this.reminderScheduler = reminderScheduler;
+        this.dashboardService = dashboardService;
+        this.flowAnalyticsService = flowAnalyticsService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.inactiveDays = inactiveDays;
+        this.idleDays = idleDays;
+        this.archived = Counter.builder("wisecamp.archive.cards").tag("action", "archived").register(registry);
+        this.restored = Counter.builder("wisecamp.archive.cards").tag("action", "restored").register(registry);
+    }
+
+    private Long currentUserId() {
+        if (SecurityContextHolder.getContext().getAuthentication().getPrincipal() instanceof AuthenticatedUser user)
+            return user.getId();
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")).getId();
+    }
+
+    @Transactional
+    public void archiveCard(Long cardId) {
+        List<Long> boardIds = jdbcTemplate.queryForList("select col.board_id from cards c "
+                + "join columns col on col.id = c.column_id where c.id = ?", Long.class, cardId);
+        if (boardIds.isEmpty())
+            throw new RuntimeException("Card not found");
+        boardService.checkBoardAccess(boardIds.get(0));
+        archive(List.of(cardId), currentUserId());
+    }
+
+    @Scheduled(cron = "${wisecamp.archive.cron:0 0 4 * * *}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp inactiveBefore = Timestamp.valueOf(now.minusDays(inactiveDays));
+        Timestamp idleBefore = Timestamp.valueOf(idleDays > 0 ? now.minusDays(idleDays) : NEVER);
+        long afterId = 0;
+        int cards = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(CANDIDATES_SQL, Long.class, afterId, inactiveBefore,
+                    idleBefore, batchSize);
+            if (ids.isEmpty())
+                break;
+            transactionTemplate.executeWithoutResult(status -> archive(ids, null));
+            cards += ids.size();
+            afterId = ids.get(ids.size() - 1);
+        }
+        if (cards > 0)
+            log.info("Archived {} cards", cards);
+    }
+
+    public ArchivePage getArchivedCards(Long boardId, String query, Long after, int limit) {
+        boardService.checkBoardAccess(boardId);
+        long before = after != null ? after : Long.MAX_VALUE;
+        List<ArchivedCardEntry> entries = query == null || query.isBlank()
+                ? archivedCardRepository.findByBoardIdAndCardIdLessThanOrderByCardIdDesc(boardId, before,
+                        Limit.of(limit))
+                : archivedCardRepository.findByBoardIdAndCardIdLessThanAndTitleContainingIgnoreCaseOrderByCardIdDesc(
+                        boardId, before, query.trim(), Limit.of(limit));
+        List<ArchivedCardSummary> cards = entries.stream()
+                .map(entry -> new ArchivedCardSummary(entry.getCardId(), entry.getColumnId(), entry.getTitle(),
+                        entry.getArchivedAt()))
+                .toList();
+        Long nextAfter = cards.size() == limit ? cards.get(cards.size() - 1).cardId() : null;
+        return new ArchivePage(cards, nextAfter);
+    }
+
+    public ArchivedCard getArchivedCard(Long boardId, Long cardId) {
+        boardService.checkBoardAccess(boardId);
+        return read(entry(boardId, cardId));
+    }
+
+    @Transactional
+    public Card restoreCard(Long boardId, Long cardId) {
+        boardService.checkBoardAccess(boardId);
+        Long userId = currentUserId();
+        ArchivedCardEntry entry = entry(boardId, cardId);
+        ArchivedCard card = read(entry);
+
+        // Back into its column if it still exists, else the board's first one
+        List<Long> columns = jdbcTemplate.queryForList("select id from columns where board_id = ? "
+                + "order by case when id = ? then 0 else 1 end, position, id fetch first 1 rows only", Long.class,
+                boardId, card.columnId());
+        if (columns.isEmpty())
+            throw new RuntimeException("Column not found");
+        // Cards archived before positions were required go to the end of the column
+        int position = card.position() != null ? card.position()
+                : cardRepository.findMaxPositionByColumnId(columns.get(0)) + 1;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("insert into cards (id, name, title, description, position, is_active, due_date, "
+                + "column_id, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", card.id(), card.name(),
+                card.title(), card.description(), position, true,
+                card.dueDate() != null ? Date.valueOf(card.dueDate()) : null, columns.get(0),
+                timestamp(card.createdAt()), now);
+
+        // Comments by users deleted since the card was archived cannot come back
+        Set<Long> authors = new LinkedHashSet<>();
+        card.comments().forEach(comment -> authors.add(comment.userId()));
+        Set<Long> users = authors.isEmpty() ? Set.of()
+                : Set.copyOf(jdbcTemplate.queryForList("select id from users where id in ("
+                        + placeholders(authors.size()) + ")", Long.class, authors.toArray()));
+        jdbcTemplate.batchUpdate("insert into comments (id, comment, card_id, user_id, created_at, updated_at) "
+                + "values (?, ?, ?, ?, ?, ?)",
+                card.comments().stream().filter(comment -> users.contains(comment.userId())).toList(), batchSize,
+                (ps, comment) -> {
+                    ps.setLong(1, comment.id());
+                    ps.setString(2, comment.comment());
+                    ps.setLong(3, card.id());
+                    ps.setLong(4, comment.userId());
+                    ps.setTimestamp(5, timestamp(comment.createdAt()));
+                    ps.setTimestamp(6, timestamp(comment.updatedAt()));
+                });
+        jdbcTemplate.batchUpdate("insert into checklist_items (id, name, is_checked, position, card_id, created_at, "
+                + "updated_at) values (?, ?, ?, ?, ?, ?, ?)", card.checklistItems(), batchSize, (ps, item) -> {
+                    ps.setLong(1, item.id());
+                    ps.setString(2, item.name());
+                    ps.setObject(3, item.isChecked());
+                    ps.setObject(4, item.position());
+                    ps.setLong(5, card.id());
+                    ps.setTimestamp(6, timestamp(item.createdAt()));
+                    ps.setTimestamp(7, timestamp(item.updatedAt()));
+                });
+        jdbcTemplate.batchUpdate("insert into card_attachments (id, filename, location, card_id, created_at, "
+                + "updated_at) values (?, ?, ?, ?, ?, ?)", card.attachments(), batchSize, (ps, attachment) -> {
+                    ps.setLong(1, attachment.id());
+                    ps.setString(2, attachment.filename());
+                    ps.setString(3, attachment.location());
+                    ps.setLong(4, card.id());
+                    ps.setTimestamp(5, timestamp(attachment.createdAt()));
+                    ps.setTimestamp(6, timestamp(attachment.updatedAt()));
+                });
+        archivedCardRepository.delete(entry);
+
+        Card saved = cardRepository.findById(card.id()).orElseThrow(() -> new RuntimeException("Card not found"));
+        dashboardService.cardAdded(saved);
+        flowAnalyticsService.cardCreated(saved, userId);
+        reminderScheduler.cardSaved(saved, saved.getDueDate() != null);
+        invalidationBus.boardChanged(boardId);
+        activityService.record(boardId, card.id(), userId, ActivityType.CARD_RESTORED, null);
+        restored.increment();
+        return saved;
+    }
+
+    // Runs in the caller's transaction; userId is null for the sweep
+    private void archive(List<Long> cardIds, Long userId) {
+        String in = placeholders(cardIds.size());
+        Object[] ids = cardIds.toArray();
+        Map<Long, List<ArchivedComment>> comments = new HashMap<>();
+        jdbcTemplate.query("select card_id, id, comment, user_id, created_at, updated_at from comments "
+                + "where card_id in (" + in + ") order by id", (ResultSet rs) -> {
+                    comments.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(new ArchivedComment(
+                            rs.getLong(2), rs.getString(3), rs.getObject(4, Long.class), dateTime(rs, 5),
+                            dateTime(rs, 6)));
+                }, ids);
+        Map<Long, List<ArchivedChecklistItem>> items = new HashMap<>();
+        jdbcTemplate.query("select card_id, id, name, is_checked, position, created_at, updated_at "
+                + "from checklist_items where card_id in (" + in + ") order by id", (ResultSet rs) -> {
+                    items.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(new ArchivedChecklistItem(
+                            rs.getLong(2), rs.getString(3), rs.getObject(4, Boolean.class),
+                            rs.getObject(5, Integer.class), dateTime(rs, 6), dateTime(rs, 7)));
+                }, ids);
+        Map<Long, List<ArchivedAttachment>> attachments = new HashMap<>();
+        jdbcTemplate.query("select card_id, id, filename, location, created_at, updated_at from card_attachments "
+                + "where card_id in (" + in + ") order by id", (ResultSet rs) -> {
+                    attachments.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(new ArchivedAttachment(
+                            rs.getLong(2), rs.getString(3), rs.getString(4), dateTime(rs, 5), dateTime(rs, 6)));
+                }, ids);
+        List<ArchivedCard> cards = jdbcTemplate.query(CARDS_SQL.formatted(in), (rs, row) -> {
+            long id = rs.getLong(1);
+            Date dueDate = rs.getDate(10);
+            return new ArchivedCard(id, rs.getLong(2), rs.getLong(3), rs.getString(4), rs.getString(5),
+                    rs.getString(6), rs.getString(7), rs.getObject(8, Integer.class), rs.getObject(9, Boolean.class),
+                    dueDate != null ? dueDate.toLocalDate() : null, dateTime(rs, 11), dateTime(rs, 12),
+                    comments.getOrDefault(id, List.of()), items.getOrDefault(id, List.of()),
+                    attachments.getOrDefault(id, List.of()));
+        }, ids);
+        if (cards.isEmpty())
+            return;
+
+        List<byte[]> records = new ArrayList<>(cards.size());
+        List<CardArchiveStore.Location> locations;
+        try {
+            for (ArchivedCard card : cards)
+                records.add(objectMapper.writeValueAsBytes(card));
+            locations = store.append(records);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Writing the card archive failed", e);
+        }
+
+        List<Long> archivedIds = cards.stream().map(ArchivedCard::id).toList();
+        dashboardService.cardsArchived(archivedIds);
+        flowAnalyticsService.cardsArchived(archivedIds, userId);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> catalog = new ArrayList<>(cards.size());
+        for (int i = 0; i < cards.size(); i++) {
+            ArchivedCard card = cards.get(i);
+            catalog.add(new Object[] { card.id(), card.boardId(), card.columnId(), card.title(), now,
+                    locations.get(i).segment(), locations.get(i).seq() });
+        }
+        jdbcTemplate.batchUpdate("insert into archived_cards (card_id, board_id, column_id, title, archived_at, "
+                + "segment_no, record_seq) values (?, ?, ?, ?, ?, ?, ?)", catalog);
+        for (String table : List.of("comments", "checklist_items", "card_attachments"))
+            jdbcTemplate.update("delete from " + table + " where card_id in (" + in + ")", ids);
+        jdbcTemplate.update("delete from cards where id in (" + in + ")", ids);
+
+        Set<Long> boards = new LinkedHashSet<>();
+        for (ArchivedCard card : cards) {
+            reminderScheduler.cardDeleted(card.id());
+            activityService.record(card.boardId(), card.id(), userId, ActivityType.CARD_ARCHIVED, null);
+            boards.add(card.boardId());
+        }
+        boards.forEach(invalidationBus::boardChanged);
+        archived.increment(cards.size());
+    }
+
+    private ArchivedCardEntry entry(Long boardId, Long cardId) {
+        return archivedCardRepository.findById(cardId)
+                .filter(entry -> entry.getBoardId().equals(boardId))
+                .orElseThrow(() -> new RuntimeException("Archived card not found"));
+    }
+
+    private ArchivedCard read(ArchivedCardEntry entry) {
+        try {
+            byte[] record = store.read(new CardArchiveStore.Location(entry.getSegmentNo(), entry.getRecordSeq()));
+            return objectMapper.readValue(record, ArchivedCard.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading archived card " + entry.getCardId() + " failed", e);
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static LocalDateTime dateTime(ResultSet rs, int column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime() : null;
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+}
@@ -0,0 +1,278 @@
+package com.wisecamp.api.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Append-only archive of opaque records in numbered segment files on local
+ * disk.
+ * <p>
+ * Records are deflated in blocks of up to {@code block-records}; each block
+ * is {@code [compressed length][raw length][record count][crc32]} followed
+ * by the compressed bytes, which hold {@code [length][bytes]} per record.
+ * Next to every {@code .seg} file sits a sparse {@code .idx} with one
+ * {@code [first sequence][offset]} entry per block, so finding a record is
+ * a binary search over the index and one block inflate. Both files are read
+ * through memory maps. A block is forced to disk before its index entry is
+ * written, and on startup anything past the last indexed block is cut off,
+ * so a record is readable exactly when its append returned.
+ */
+@Component
+public class CardArchiveStore implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CardArchiveStore.class);
+
+    private static final int HEADER_BYTES = 16;
+    private static final int INDEX_ENTRY_BYTES = 16;
+
+    /** Where a record lives: segment number and its sequence within the segment. */
+    public record Location(int segment, long seq) {
+    }
+
+    // One mapping of a segment's data and index; the active segment is remapped as it grows
+    private record Mapping(MappedByteBuffer data, MappedByteBuffer index, int entries) {
+    }
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int blockRecords;
+    private final Map<Integer, Mapping> mappings = new ConcurrentHashMap<>();
+
+    private volatile int activeSegment;
+    private FileChannel activeData;
+    private FileChannel activeIndex;
+    private long activeSize;
+    private long nextSeq;
+    private volatile int activeEntries;
+
+    public CardArchiveStore(@Value("${wisecamp.archive.dir:data/archive}") Path directory,
+            @Value("${wisecamp.archive.segment-bytes:67108864}") long segmentBytes,
+            @Value("${wisecamp.archive.block-records:64}") int blockRecords) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.blockRecords = blockRecords;
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            activeSegment = files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".seg"))
+                    .mapToInt(name -> Integer.parseInt(name.substring(0, name.length() - 4)))
+                    .max().orElse(1);
+        }
+        openActive();
+    }
+
+    /** Appends the records as one or more blocks and returns their locations once they are on disk. */
+    public synchronized List<Location> append(List<byte[]> records) throws IOException {
+        if (activeSize >= segmentBytes)
+            roll();
+        List<Location> locations = new ArrayList<>(records.size());
+        ByteBuffer entries = ByteBuffer.allocate(
+                (records.size() + blockRecords - 1) / blockRecords * INDEX_ENTRY_BYTES);
+        long offset = activeSize;
+        long seq = nextSeq;
+        for (int from = 0; from < records.size(); from += blockRecords) {
+            List<byte[]> block = records.subList(from, Math.min(from + blockRecords, records.size()));
+            ByteBuffer encoded = encode(block);
+            entries.putLong(seq).putLong(offset);
+            while (encoded.hasRemaining())
+                offset += activeData.write(encoded, offset);
+            for (int i = 0; i < block.size(); i++)
+                locations.add(new Location(activeSegment, seq++));
+        }
+        activeData.force(false);
+        entries.flip();
+        long indexOffset = (long) activeEntries * INDEX_ENTRY_BYTES;
+        while (entries.hasRemaining())
+            indexOffset += activeIndex.write(entries, indexOffset);
+        activeIndex.force(false);
+        activeSize = offset;
+        nextSeq = seq;
+        activeEntries = (int) (indexOffset / INDEX_ENTRY_BYTES);
+        return locations;
+    }
+
+    public byte[] read(Location location) throws IOException {
+        Mapping mapping = mapping(location.segment());
+        int block = findBlock(mapping, location.seq());
+        if (block < 0 && location.segment() == activeSegment && mapping.entries() < activeEntries) {
+            mappings.remove(location.segment());
+            mapping = mapping(location.segment());
+            block = findBlock(mapping, location.seq());
+        }
+        if (block < 0)
+            throw new IllegalStateException("Archived record " + location + " not found");
+
+        long firstSeq = mapping.index().getLong(block * INDEX_ENTRY_BYTES);
+        int offset = (int) mapping.index().getLong(block * INDEX_ENTRY_BYTES + 8);
+        ByteBuffer data = mapping.data().duplicate();
+        int compressedLength = data.getInt(offset);
+        int rawLength = data.getInt(offset + 4);
+        int count = data.getInt(offset + 8);
+        int checksum = data.getInt(offset + 12);
+        if (location.seq() - firstSeq >= count)
+            throw new IllegalStateException("Archived record " + location + " not found");
+        ByteBuffer compressed = data.slice(offset + HEADER_BYTES, compressedLength);
+        CRC32 crc = new CRC32();
+        crc.update(compressed.duplicate());
+        if ((int) crc.getValue() != checksum)
+            throw new IOException("Corrupt archive block at " + offset + " in segment " + location.segment());
+
+        ByteBuffer raw = ByteBuffer.allocate(rawLength);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            while (raw.hasRemaining() && !inflater.finished())
+                inflater.inflate(raw);
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block at " + offset + " in segment " + location.segment(), e);
+        } finally {
+            inflater.end();
+        }
+        raw.flip();
+        for (long skip = location.seq() - firstSeq; skip > 0; skip--)
+            raw.position(raw.position() + 4 + raw.getInt(raw.position()));
+        byte[] record = new byte[raw.getInt()];
+        raw.get(record);
+        return record;
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        activeData.close();
+        activeIndex.close();
+    }
+
+    private static ByteBuffer encode(List<byte[]> block) {
+        int rawLength = 0;
+        for (byte[] record : block)
+            rawLength += 4 + record.length;
+        ByteBuffer raw = ByteBuffer.allocate(rawLength);
+        for (byte[] record : block)
+            raw.putInt(record.length).put(record);
+        raw.flip();
+
+        Deflater deflater = new Deflater();
+        ByteBuffer compressed = ByteBuffer.allocate(HEADER_BYTES + rawLength + rawLength / 1000 + 64);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            compressed.position(HEADER_BYTES);
+            while (!deflater.finished()) {
+                if (!compressed.hasRemaining()) {
+                    ByteBuffer larger = ByteBuffer.allocate(compressed.capacity() * 2);
+                    compressed.flip();
+                    compressed = larger.put(compressed);
+                }
+                deflater.deflate(compressed);
+            }
+        } finally {
+            deflater.end();
+        }
+        int compressedLength = compressed.position() - HEADER_BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(compressed.array(), HEADER_BYTES, compressedLength);
+        compressed.putInt(0, compressedLength).putInt(4, rawLength).putInt(8, block.size())
+                .putInt(12, (int) crc.getValue());
+        return compressed.flip();
+    }
+
+    // Index of the block holding seq, or -1
+    private static int findBlock(Mapping mapping, long seq) {
+        int low = 0;
+        int high = mapping.entries() - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (mapping.index().getLong(mid * INDEX_ENTRY_BYTES) <= seq) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (found == mapping.entries() - 1 && found >= 0) {
+            int offset = (int) mapping.index().getLong(found * INDEX_ENTRY_BYTES + 8);
+            if (seq - mapping.index().getLong(found * INDEX_ENTRY_BYTES) >= mapping.data().getInt(offset + 8))
+                return -1;
+        }
+        return found;
+    }
+
+    private Mapping mapping(int segment) {
+        return mappings.computeIfAbsent(segment, number -> {
+            try (FileChannel data = FileChannel.open(dataPath(number), StandardOpenOption.READ);
+                    FileChannel index = FileChannel.open(indexPath(number), StandardOpenOption.READ)) {
+                // Only what is indexed is complete; the data may already be longer
+                int entries = (int) (index.size() / INDEX_ENTRY_BYTES);
+                return new Mapping(data.map(FileChannel.MapMode.READ_ONLY, 0, data.size()),
+                        index.map(FileChannel.MapMode.READ_ONLY, 0, (long) entries * INDEX_ENTRY_BYTES), entries);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void roll() throws IOException {
+        activeData.close();
+        activeIndex.close();
+        mappings.remove(activeSegment);
+        activeSegment++;
+        openActive();
+    }
+
+    private void openActive() throws IOException {
+        activeData = FileChannel.open(dataPath(activeSegment), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        activeIndex = FileChannel.open(indexPath(activeSegment), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int entries = (int) (activeIndex.size() / INDEX_ENTRY_BYTES);
+        activeIndex.truncate((long) entries * INDEX_ENTRY_BYTES);
+        activeSize = 0;
+        nextSeq = 0;
+        if (entries > 0) {
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+            activeIndex.read(entry, (long) (entries - 1) * INDEX_ENTRY_BYTES);
+            long firstSeq = entry.getLong(0);
+            long offset = entry.getLong(8);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            activeData.read(header, offset);
+            activeSize = offset + HEADER_BYTES + header.getInt(0);
+            nextSeq = firstSeq + header.getInt(8);
+        }
+        if (activeData.size() > activeSize) {
+            log.warn("Dropping {} unindexed bytes at the end of archive segment {}", activeData.size() - activeSize,
+                    activeSegment);
+            activeData.truncate(activeSize);
+        }
+        activeEntries = entries;
+    }
+
+    private Path dataPath(int segment) {
+        return directory.resolve("%08d.seg".formatted(segment));
+    }
+
+    private Path indexPath(int segment) {
+        return directory.resolve("%08d.idx".formatted(segment));
+    }
+}
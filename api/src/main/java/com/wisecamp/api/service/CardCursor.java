@@ -0,0 +1,27 @@
+package com.wisecamp.api.service;
+
+/**
+ * Where a page of a column's cards stopped, written {@code <position>:<cardId>}.
+ * The next page starts after that card in (position, id) order, so cards
+ * added or moved meanwhile never shift the pages that follow.
+ */
+record CardCursor(int position, long cardId) {
+
+    static final CardCursor START = new CardCursor(Integer.MIN_VALUE, Long.MIN_VALUE);
+
+    static CardCursor parse(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return START;
+        int colon = cursor.indexOf(':');
+        try {
+            return new CardCursor(Integer.parseInt(cursor, 0, colon, 10),
+                    Long.parseLong(cursor, colon + 1, cursor.length(), 10));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+    }
+
+    String encode() {
+        return position + ":" + cardId;
+    }
+}
@@ -5,14 +5,20 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import com.wisecamp.api.dto.CardDetailResponse;
+import com.wisecamp.api.dto.CardResponse;
+import com.wisecamp.api.model.ActivityType;
 import com.wisecamp.api.model.Card;
-import com.wisecamp.api.model.Board;
 import com.wisecamp.api.model.Column;
 import com.wisecamp.api.model.User;
+import com.wisecamp.api.repository.BoardRepository;
+import com.wisecamp.api.repository.CardAttachmentRepository;
 import com.wisecamp.api.repository.CardRepository;
 import com.wisecamp.api.repository.ColumnRepository;
+import com.wisecamp.api.repository.CommentRepository;
 import com.wisecamp.api.repository.UserRepository;
 
+import java.time.LocalDate;
 import java.util.Optional;
 
 @Service
@@ -20,12 +26,52 @@ public class CardService {
     private final CardRepository cardRepository;
     private final ColumnRepository columnRepository;
     private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
+    private final CardAttachmentRepository cardAttachmentRepository;
+    private final InvalidationBus invalidationBus;
+    private final ActivityService activityService;
+    private final DueDateReminderScheduler reminderScheduler;
+    private final DashboardService dashboardService;
+    private final FlowAnalyticsService flowAnalyticsService;
+    private final MarkdownRenderCache markdownRenderCache;
+    private final BoardRepository boardRepository;
 
     public CardService(CardRepository cardRepository, ColumnRepository columnRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository, CommentRepository commentRepository,
+            CardAttachmentRepository cardAttachmentRepository, InvalidationBus invalidationBus,
+            ActivityService activityService, DueDateReminderScheduler reminderScheduler,
+            DashboardService dashboardService, FlowAnalyticsService flowAnalyticsService,
+            MarkdownRenderCache markdownRenderCache, BoardRepository boardRepository) {
         this.cardRepository = cardRepository;
         this.columnRepository = columnRepository;
         this.userRepository = userRepository;
+        this.commentRepository = commentRepository;
+        this.cardAttachmentRepository = cardAttachmentRepository;
+        this.invalidationBus = invalidationBus;
+        this.activityService = activityService;
+        this.reminderScheduler = reminderScheduler;
+        this.dashboardService = dashboardService;
+        this.flowAnalyticsService = flowAnalyticsService;
+        this.markdownRenderCache = markdownRenderCache;
+        this.boardRepository = boardRepository;
+    }
+
+    // Counts come from the database so a response never initializes the lazy collections
+    public CardResponse toCardResponse(Card c) {
+        return new CardResponse(c.getId(), c.getTitle(), c.getName(), c.getDescription(), c.getPosition(),
+                c.getIsActive(), c.getDueDate(), (int) commentRepository.countByCard_Id(c.getId()),
+                (int) cardAttachmentRepository.countByCard_Id(c.getId()));
+    }
+
+    // The only read that returns descriptions; board reads leave them out
+    @Transactional(readOnly = true)
+    public CardDetailResponse getCard(Long cardId) {
+        Card c = cardRepository.findById(cardId).orElseThrow(() -> new RuntimeException("Card not found"));
+        checkBoardAccess(c);
+        return new CardDetailResponse(c.getId(), c.getColumn().getId(), c.getTitle(), c.getName(),
+                c.getDescription(), markdownRenderCache.render(c.getDescription()), c.getPosition(),
+                c.getIsActive(), c.getDueDate(), (int) commentRepository.countByCard_Id(c.getId()),
+                (int) cardAttachmentRepository.countByCard_Id(c.getId()), c.getCreatedAt(), c.getUpdatedAt());
     }
 
     private User getCurrentUser() {
@@ -33,81 +79,106 @@ public class CardService {
         return userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
     }
 
-    private void checkBoardAccess(Card card) {
-        User currentUser = getCurrentUser();
-        Board board = card.getColumn().getBoard();
-        if (board.getMembers().stream().noneMatch(member -> member.getId().equals(currentUser.getId()))) {
-            throw new AccessDeniedException("Access denied to this board");
-        }
+    private User checkBoardAccess(Card card) {
+        return checkBoardAccess(card.getColumn());
     }
 
-    private void checkBoardAccess(Long columnId) {
+    // By board id: the board itself would fail to load through the column once soft-deleted
+    private User checkBoardAccess(Column column) {
         User currentUser = getCurrentUser();
-        Column column = columnRepository.findById(columnId)
-                .orElseThrow(() -> new RuntimeException("Column not found"));
-        Board board = column.getBoard();
-        if (board.getMembers().stream().noneMatch(member -> member.getId().equals(currentUser.getId()))) {
+        Long boardId = column.getBoard().getId();
+        if (!boardRepository.existsByIdAndMembers_Id(boardId, currentUser.getId())) {
+            if (!boardRepository.existsById(boardId)) {
+                throw new RuntimeException("Board not found");
+            }
             throw new AccessDeniedException("Access denied to this board");
         }
+        return currentUser;
     }
 
     @Transactional
-    public Card createCard(Long columnId, String title, String name, String description) {
-        checkBoardAccess(columnId);
+    public Card createCard(Long columnId, String title, String name, String description, LocalDate dueDate) {
         Column col = columnRepository.findById(columnId).orElseThrow(() -> new RuntimeException("Column not found"));
+        User currentUser = checkBoardAccess(col);
 
         Card card = new Card();
         card.setTitle(title);
         card.setName(name != null ? name : title);
         card.setDescription(description);
+        card.setDueDate(dueDate);
         card.setIsActive(true);
         card.setColumn(col);
 
-        int maxPos = 0;
-        if (col.getCards() != null && !col.getCards().isEmpty()) {
-            for (Card c : col.getCards()) {
-                if (c.getPosition() != null && c.getPosition() > maxPos)
-                    maxPos = c.getPosition();
-            }
-        }
-        card.setPosition(maxPos + 1);
+        card.setPosition(cardRepository.findMaxPositionByColumnId(columnId) + 1);
 
-        return cardRepository.save(card);
+        invalidationBus.boardChanged(col.getBoard().getId());
+        Card saved = cardRepository.save(card);
+        activityService.record(col.getBoard().getId(), saved.getId(), currentUser.getId(), ActivityType.CARD_CREATED,
+                null);
+        reminderScheduler.cardSaved(saved, dueDate != null);
+        dashboardService.cardAdded(saved);
+        flowAnalyticsService.cardCreated(saved, currentUser.getId());
+        return saved;
     }
 
     @Transactional
-    public Card updateCard(Long cardId, String title, String name, String description) {
+    public Card updateCard(Long cardId, String title, String name, String description, LocalDate dueDate) {
         Card card = cardRepository.findById(cardId).orElseThrow(() -> new RuntimeException("Card not found"));
-        checkBoardAccess(card);
+        User currentUser = checkBoardAccess(card);
         if (title != null)
             card.setTitle(title);
         if (name != null)
             card.setName(name);
         if (description != null)
             card.setDescription(description);
-        return cardRepository.save(card);
+        LocalDate previousDueDate = card.getDueDate();
+        boolean dueDateChanged = dueDate != null && !dueDate.equals(previousDueDate);
+        if (dueDateChanged)
+            card.setDueDate(dueDate);
+        invalidationBus.boardChanged(card.getColumn().getBoard().getId());
+        activityService.record(card.getColumn().getBoard().getId(), cardId, currentUser.getId(),
+                ActivityType.CARD_UPDATED, null);
+        Card saved = cardRepository.save(card);
+        reminderScheduler.cardSaved(saved, dueDateChanged);
+        if (dueDateChanged)
+            dashboardService.cardDueDateChanged(saved, previousDueDate);
+        return saved;
     }
 
     @Transactional
     public void deleteCard(Long cardId) {
         Card card = cardRepository.findById(cardId).orElseThrow(() -> new RuntimeException("Card not found"));
-        checkBoardAccess(card);
+        User currentUser = checkBoardAccess(card);
+        invalidationBus.boardChanged(card.getColumn().getBoard().getId());
+        activityService.record(card.getColumn().getBoard().getId(), cardId, currentUser.getId(),
+                ActivityType.CARD_DELETED, null);
+        reminderScheduler.cardDeleted(cardId);
+        dashboardService.cardRemoved(card);
+        flowAnalyticsService.cardDeleted(card, currentUser.getId());
         cardRepository.delete(card);
     }
 
     @Transactional
     public Card moveCard(Long cardId, Long toColumnId, Integer position) {
         Card card = cardRepository.findById(cardId).orElseThrow(() -> new RuntimeException("Card not found"));
-        checkBoardAccess(card);
+        User currentUser = checkBoardAccess(card);
 
         Column toCol = columnRepository.findById(toColumnId)
                 .orElseThrow(() -> new RuntimeException("Column not found"));
 
-        checkBoardAccess(toColumnId);
+        checkBoardAccess(toCol);
 
+        invalidationBus.boardChanged(card.getColumn().getBoard().getId());
+        invalidationBus.boardChanged(toCol.getBoard().getId());
+        activityService.record(toCol.getBoard().getId(), cardId, currentUser.getId(), ActivityType.CARD_MOVED,
+                "{\"fromColumnId\":" + card.getColumn().getId() + ",\"toColumnId\":" + toColumnId + "}");
+        dashboardService.cardMoved(card, toCol);
+        flowAnalyticsService.cardMoved(card, toCol, currentUser.getId());
         card.setColumn(toCol);
         card.setPosition(position != null ? position : 0);
 
-        return cardRepository.save(card);
+        Card saved = cardRepository.save(card);
+        reminderScheduler.cardSaved(saved, false);
+        return saved;
     }
 }
@@ -0,0 +1,320 @@
+package com.wisecamp.api.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wisecamp.api.dto.DashboardDtos.DashboardResponse;
+import com.wisecamp.api.model.Card;
+import com.wisecamp.api.model.Column;
+import com.wisecamp.api.model.DashboardCounter;
+import com.wisecamp.api.model.DashboardMetric;
+import com.wisecamp.api.repository.DashboardCounterRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Per-user dashboard numbers kept in {@code dashboard_counters}, so reading
+ * a dashboard is one indexed lookup however many boards the user is on.
+ * <p>
+ * Write paths call in with what changed and each change becomes one upsert
+ * that fans the delta out to the board's members through
+ * {@code board_members}. Call before removing rows the delta is computed
+ * from (cards, columns, memberships) and after adding them; pending entity
+ * changes are flushed first so the SQL sees them. {@link #reconcile()}
+ * rebuilds every user's counters nightly to correct any drift.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    private static final String ACTIVE = "(c.is_active is null or c.is_active = true)";
+    private static final String COUNTED_BOARD = "(b.is_template is null or b.is_template = false) "
+            + "and b.deleted_at is null";
+    private static final String MEMBERS = " from board_members m join boards b on b.id = m.board_id";
+    private static final String MEMBER_DELTA = "select m.user_id as user_id, cast(? as varchar(32)) as metric, "
+            + "cast(? as varchar(255)) as bucket, cast(? as bigint) as total" + MEMBERS + " where "
+            + COUNTED_BOARD + " and m.board_id = ?";
+    private static final String USER_DELTA = "select cast(? as bigint) as user_id, cast(? as varchar(32)) as metric, "
+            + "cast('' as varchar(255)) as bucket, cast(? as bigint) as total";
+    private static final String BOARD_FILTER = "m.board_id = ?";
+    private static final String MEMBER_FILTER = "m.board_id = ? and m.user_id = ?";
+    private static final String COLUMN_FILTER = "m.board_id = ? and col.id = ?";
+    private static final String USER_RANGE_FILTER = "m.user_id between ? and ?";
+
+    private final DashboardCounterRepository counterRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ZoneId zone;
+    private final int reconcileBatchSize;
+    private final boolean postgres;
+
+    public DashboardService(DashboardCounterRepository counterRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, EntityManager entityManager,
+            @Value("${wisecamp.dashboard.zone:UTC}") String zone,
+            @Value("${wisecamp.dashboard.reconcile-batch-size:500}") int reconcileBatchSize) {
+        this.counterRepository = counterRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.zone = ZoneId.of(zone);
+        this.reconcileBatchSize = reconcileBatchSize;
+        this.postgres = "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+    }
+
+    @Transactional(readOnly = true)
+    public DashboardResponse getDashboard(Long userId) {
+        LocalDate today = LocalDate.now(zone);
+        LocalDate weekEnd = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        long boards = 0, projects = 0, dueThisWeek = 0, overdue = 0;
+        Map<String, Long> cardsByColumn = new TreeMap<>();
+        for (DashboardCounter counter : counterRepository.findByUserId(userId)) {
+            long total = counter.getTotal();
+            if (total == 0)
+                continue;
+            switch (counter.getMetric()) {
+                case BOARDS -> boards += total;
+                case PROJECTS -> projects += total;
+                case CARDS_BY_COLUMN -> cardsByColumn.merge(counter.getBucket(), total, Long::sum);
+                case CARDS_DUE -> {
+                    LocalDate due = LocalDate.parse(counter.getBucket());
+                    if (due.isBefore(today))
+                        overdue += total;
+                    else if (!due.isAfter(weekEnd))
+                        dueThisWeek += total;
+                }
+            }
+        }
+        return new DashboardResponse(boards, projects, dueThisWeek, overdue, cardsByColumn);
+    }
+
+    public void cardAdded(Card card) {
+        if (counted(card))
+            cardDelta(card.getColumn(), card.getDueDate(), 1);
+    }
+
+    public void cardRemoved(Card card) {
+        if (counted(card))
+            cardDelta(card.getColumn(), card.getDueDate(), -1);
+    }
+
+    public void cardDueDateChanged(Card card, LocalDate previous) {
+        if (!counted(card))
+            return;
+        Long boardId = card.getColumn().getBoard().getId();
+        if (previous != null)
+            boardDelta(boardId, DashboardMetric.CARDS_DUE, previous.toString(), -1);
+        if (card.getDueDate() != null)
+            boardDelta(boardId, DashboardMetric.CARDS_DUE, card.getDueDate().toString(), 1);
+    }
+
+    /** Before the card's column is changed to {@code to}. */
+    public void cardMoved(Card card, Column to) {
+        if (!counted(card))
+            return;
+        Column from = card.getColumn();
+        if (from.getBoard().getId().equals(to.getBoard().getId())) {
+            if (!bucket(from).equals(bucket(to))) {
+                boardDelta(to.getBoard().getId(), DashboardMetric.CARDS_BY_COLUMN, bucket(from), -1);
+                boardDelta(to.getBoard().getId(), DashboardMetric.CARDS_BY_COLUMN, bucket(to), 1);
+            }
+        } else {
+            cardDelta(from, card.getDueDate(), -1);
+            cardDelta(to, card.getDueDate(), 1);
+        }
+    }
+
+    public void columnRenamed(Long boardId, Long columnId, String previousName, String name) {
+        if (String.valueOf(previousName).equals(String.valueOf(name)))
+            return;
+        Long cards = jdbcTemplate.queryForObject("select count(*) from cards c where c.column_id = ? and " + ACTIVE,
+                Long.class, columnId);
+        if (cards == null || cards == 0)
+            return;
+        boardDelta(boardId, DashboardMetric.CARDS_BY_COLUMN, previousName == null ? "" : previousName, -cards);
+        boardDelta(boardId, DashboardMetric.CARDS_BY_COLUMN, name == null ? "" : name, cards);
+    }
+
+    /** Before the cards are moved to the archive. */
+    public void cardsArchived(List<Long> cardIds) {
+        cardTotals("c.id in (" + placeholders(cardIds.size()) + ")", -1, cardIds.toArray());
+    }
+
+    /** Before the column and its cards are deleted. */
+    public void columnRemoved(Long boardId, Long columnId) {
+        cardTotals(COLUMN_FILTER, -1, boardId, columnId);
+    }
+
+    /** After the board and its members are saved. */
+    public void boardCreated(Long boardId) {
+        boardDelta(boardId, DashboardMetric.BOARDS, "", 1);
+    }
+
+    /** After a board is created with its columns and cards already in place. */
+    public void boardCopied(Long boardId) {
+        boardCreated(boardId);
+        cardTotals(BOARD_FILTER, 1, boardId);
+    }
+
+    /** Before the board is deleted. */
+    public void boardRemoved(Long boardId) {
+        boardDelta(boardId, DashboardMetric.BOARDS, "", -1);
+        cardTotals(BOARD_FILTER, -1, boardId);
+    }
+
+    /** After the user is added to the board's members. */
+    public void memberAdded(Long boardId, Long userId) {
+        memberDelta(boardId, userId, 1);
+    }
+
+    /** Before the user is removed from the board's members. */
+    public void memberRemoved(Long boardId, Long userId) {
+        memberDelta(boardId, userId, -1);
+    }
+
+    public void projectMemberAdded(Long userId) {
+        userDelta(userId, DashboardMetric.PROJECTS, 1);
+    }
+
+    public void projectMemberRemoved(Long userId) {
+        userDelta(userId, DashboardMetric.PROJECTS, -1);
+    }
+
+    // First start against an existing database: counters have never been built
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Long rows = jdbcTemplate.queryForObject("select count(*) from dashboard_counters", Long.class);
+        if (rows != null && rows == 0)
+            reconcile();
+    }
+
+    /** Rebuilds one user's counters in the caller's transaction, after a change too broad for deltas. */
+    public void reconcileUser(Long userId) {
+        entityManager.flush();
+        rebuild(userId, userId);
+    }
+
+    /** Rebuilds the counters of every user, a batch of users per transaction. */
+    @Scheduled(cron = "${wisecamp.dashboard.reconcile-cron:0 30 3 * * *}", zone = "${wisecamp.dashboard.zone:UTC}")
+    public void reconcile() {
+        long afterId = 0;
+        int users = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "select id from users where id > ? order by id fetch first ? rows only", Long.class, afterId,
+                    reconcileBatchSize);
+            if (ids.isEmpty())
+                break;
+            long first = ids.get(0);
+            long last = ids.get(ids.size() - 1);
+            transactionTemplate.executeWithoutResult(status -> rebuild(first, last));
+            users += ids.size();
+            afterId = last;
+        }
+        log.info("Reconciled dashboard counters for {} users", users);
+    }
+
+    private void rebuild(long first, long last) {
+        String insert = "insert into dashboard_counters (user_id, metric, bucket, total) "
+                + "select m.user_id, 'BOARDS', '', count(*)" + MEMBERS + " where " + COUNTED_BOARD + " and "
+                + USER_RANGE_FILTER
+                + " group by m.user_id union all "
+                + "select m.user_id, 'PROJECTS', '', count(*) from project_members m "
+                + "join projects p on p.id = m.project_id where p.deleted_at is null and " + USER_RANGE_FILTER
+                + " group by m.user_id union all " + cardTotalsSelect(USER_RANGE_FILTER);
+        jdbcTemplate.update("delete from dashboard_counters where user_id between ? and ?", first, last);
+        jdbcTemplate.update(insert, first, last, first, last, 1, first, last, 1, first, last);
+    }
+
+    private void cardDelta(Column column, LocalDate dueDate, long delta) {
+        Long boardId = column.getBoard().getId();
+        boardDelta(boardId, DashboardMetric.CARDS_BY_COLUMN, bucket(column), delta);
+        if (dueDate != null)
+            boardDelta(boardId, DashboardMetric.CARDS_DUE, dueDate.toString(), delta);
+    }
+
+    private void boardDelta(Long boardId, DashboardMetric metric, String bucket, long delta) {
+        entityManager.flush();
+        jdbcTemplate.update(upsert(MEMBER_DELTA), metric.name(), bucket, delta, boardId);
+    }
+
+    private void memberDelta(Long boardId, Long userId, long sign) {
+        entityManager.flush();
+        jdbcTemplate.update(upsert(MEMBER_DELTA + " and m.user_id = ?"), DashboardMetric.BOARDS.name(), "", sign,
+                boardId, userId);
+        cardTotals(MEMBER_FILTER, sign, boardId, userId);
+    }
+
+    private void userDelta(Long userId, DashboardMetric metric, long delta) {
+        jdbcTemplate.update(upsert(USER_DELTA), userId, metric.name(), delta);
+    }
+
+    // Every counted card on the matching boards/columns, times sign, for each matching member
+    private void cardTotals(String filter, long sign, Object... filterArgs) {
+        entityManager.flush();
+        Object[] args = new Object[2 + 2 * filterArgs.length];
+        args[0] = sign;
+        System.arraycopy(filterArgs, 0, args, 1, filterArgs.length);
+        args[1 + filterArgs.length] = sign;
+        System.arraycopy(filterArgs, 0, args, 2 + filterArgs.length, filterArgs.length);
+        jdbcTemplate.update(upsert(cardTotalsSelect(filter)), args);
+    }
+
+    private static String cardTotalsSelect(String filter) {
+        String from = MEMBERS + " join columns col on col.board_id = m.board_id "
+                + "join cards c on c.column_id = col.id where " + COUNTED_BOARD + " and " + filter + " and "
+                + ACTIVE;
+        return "select m.user_id as user_id, 'CARDS_BY_COLUMN' as metric, coalesce(col.name, '') as bucket, "
+                + "count(*) * cast(? as bigint) as total" + from
+                + " group by m.user_id, coalesce(col.name, '') union all "
+                + "select m.user_id, 'CARDS_DUE', cast(c.due_date as varchar(10)), count(*) * cast(? as bigint)"
+                + from + " and c.due_date is not null group by m.user_id, c.due_date";
+    }
+
+    // Adds each (user_id, metric, bucket, total) row of select to the stored counter, creating it if missing
+    private String upsert(String select) {
+        if (postgres) {
+            return "insert into dashboard_counters (user_id, metric, bucket, total) " + select
+                    + " on conflict (user_id, metric, bucket) "
+                    + "do update set total = dashboard_counters.total + excluded.total";
+        }
+        return "merge into dashboard_counters t using (" + select + ") s "
+                + "on t.user_id = s.user_id and t.metric = s.metric and t.bucket = s.bucket "
+                + "when matched then update set total = t.total + s.total "
+                + "when not matched then insert (user_id, metric, bucket, total) "
+                + "values (s.user_id, s.metric, s.bucket, s.total)";
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static boolean counted(Card card) {
+        return !Boolean.FALSE.equals(card.getIsActive());
+    }
+
+    private static String bucket(Column column) {
+        return column.getName() == null ? "" : column.getName();
+    }
+}
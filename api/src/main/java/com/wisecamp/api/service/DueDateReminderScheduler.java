@@ -0,0 +1,232 @@
+package com.wisecamp.api.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.wisecamp.api.dto.DueReminder;
+import com.wisecamp.api.model.Card;
+import com.wisecamp.api.repository.CardRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fires a reminder {@code wisecamp.reminders.lead-hours} before the start of
+ * each card's due date. Only cards firing within the next
+ * {@code horizon-hours} are held in memory, in a
+ * {@link HierarchicalTimerWheel} ticking once a second; the window slides
+ * forward one due date at a time through keyset pages on
+ * {@code idx_cards_due_date}, so the cards table is never scanned.
+ * <p>
+ * {@link CardService} reports changes after commit. Those inside the loaded
+ * window are rescheduled directly; later ones are picked up when the window
+ * reaches their date. Reminders whose time passed while the application was
+ * down are not replayed.
+ */
+@Component
+public class DueDateReminderScheduler implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(DueDateReminderScheduler.class);
+
+    private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private record Change(Long cardId, DueReminder reminder, boolean dueDateChanged) {
+    }
+
+    private final CardRepository cardRepository;
+    private final NotificationSink sink;
+    private final boolean enabled;
+    private final long leadSeconds;
+    private final long horizonSeconds;
+    private final int batchSize;
+    private final ZoneId zone;
+    private final Queue<Change> changes = new ConcurrentLinkedQueue<>();
+    private final Counter fired;
+    private final Counter failed;
+
+    // Owned by the scheduler thread
+    private HierarchicalTimerWheel<DueReminder> wheel;
+    private final Map<Long, HierarchicalTimerWheel.Timer<DueReminder>> timers = new HashMap<>();
+    // Every due date before this one has been loaded into the wheel
+    private LocalDate loadedThrough;
+    private final List<DueReminder> due = new ArrayList<>();
+
+    private volatile int scheduled;
+    private volatile boolean running;
+    private Thread thread;
+
+    public DueDateReminderScheduler(CardRepository cardRepository, NotificationSink sink, MeterRegistry registry,
+            @Value("${wisecamp.reminders.enabled:true}") boolean enabled,
+            @Value("${wisecamp.reminders.lead-hours:24}") long leadHours,
+            @Value("${wisecamp.reminders.horizon-hours:24}") long horizonHours,
+            @Value("${wisecamp.reminders.batch-size:1000}") int batchSize,
+            @Value("${wisecamp.reminders.zone:UTC}") String zone) {
+        this.cardRepository = cardRepository;
+        this.sink = sink;
+        this.enabled = enabled;
+        this.leadSeconds = TimeUnit.HOURS.toSeconds(leadHours);
+        this.horizonSeconds = TimeUnit.HOURS.toSeconds(horizonHours);
+        this.batchSize = batchSize;
+        this.zone = ZoneId.of(zone);
+        this.fired = Counter.builder("wisecamp.reminders.fired").register(registry);
+        this.failed = Counter.builder("wisecamp.reminders.failed")
+                .description("Reminders lost because the notification sink threw")
+                .register(registry);
+        Gauge.builder("wisecamp.reminders.scheduled", this, s -> s.scheduled).register(registry);
+    }
+
+    /** Call after saving a card; takes effect once the transaction commits. */
+    public void cardSaved(Card card, boolean dueDateChanged) {
+        if (!enabled)
+            return;
+        Long cardId = card.getId();
+        DueReminder reminder = card.getDueDate() == null || Boolean.FALSE.equals(card.getIsActive())
+                ? null
+                : new DueReminder(cardId, card.getColumn().getBoard().getId(), card.getTitle(), card.getDueDate());
+        AfterCommit.run(() -> changes.add(new Change(cardId, reminder, dueDateChanged)));
+    }
+
+    public void cardDeleted(Long cardId) {
+        if (enabled)
+            AfterCommit.run(() -> changes.add(new Change(cardId, null, false)));
+    }
+
+    private void run() {
+        reset(Instant.now().getEpochSecond());
+        while (running) {
+            tick(Instant.now().getEpochSecond());
+            LockSupport.parkNanos(TICK_NANOS);
+        }
+    }
+
+    void reset(long now) {
+        wheel = new HierarchicalTimerWheel<>(now);
+        timers.clear();
+        loadedThrough = LocalDate.ofInstant(Instant.ofEpochSecond(now), zone);
+        while (fireTime(loadedThrough) <= now)
+            loadedThrough = loadedThrough.plusDays(1);
+    }
+
+    // A failing tick is logged and the next one starts over; the thread must outlive any one bad card
+    void tick(long now) {
+        try {
+            applyChanges(now);
+            try {
+                loadWindow(now);
+            } catch (DataAccessException e) {
+                log.warn("Loading due cards for {} failed; retrying on the next tick", loadedThrough, e);
+            }
+            wheel.advance(now, reminder -> {
+                timers.remove(reminder.cardId());
+                due.add(reminder);
+            });
+            scheduled = wheel.size();
+            deliver(due);
+        } catch (RuntimeException e) {
+            log.error("Due-date reminder tick failed; continuing on the next one", e);
+        } finally {
+            due.clear();
+        }
+    }
+
+    private void applyChanges(long now) {
+        Change change;
+        while ((change = changes.poll()) != null) {
+            HierarchicalTimerWheel.Timer<DueReminder> previous = timers.remove(change.cardId());
+            if (previous != null)
+                wheel.cancel(previous);
+            DueReminder reminder = change.reminder();
+            if (reminder == null || !reminder.dueDate().isBefore(loadedThrough))
+                continue;
+            long fireAt = fireTime(reminder.dueDate());
+            // A date moved into the lead period still gets its reminder, on the next tick
+            boolean pending = previous != null || fireAt > now
+                    || (change.dueDateChanged() && fireAt + leadSeconds > now);
+            if (pending)
+                timers.put(change.cardId(), wheel.schedule(reminder, fireAt));
+        }
+    }
+
+    private void loadWindow(long now) {
+        while (fireTime(loadedThrough) < now + horizonSeconds) {
+            long afterId = 0;
+            List<DueReminder> page;
+            do {
+                page = cardRepository.findDueReminders(loadedThrough, afterId, Limit.of(batchSize));
+                for (DueReminder reminder : page) {
+                    HierarchicalTimerWheel.Timer<DueReminder> previous = timers.put(reminder.cardId(),
+                            wheel.schedule(reminder, fireTime(reminder.dueDate())));
+                    if (previous != null)
+                        wheel.cancel(previous);
+                    afterId = reminder.cardId();
+                }
+            } while (page.size() == batchSize);
+            loadedThrough = loadedThrough.plusDays(1);
+        }
+    }
+
+    private void deliver(List<DueReminder> due) {
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<DueReminder> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                sink.deliver(batch);
+                fired.increment(batch.size());
+            } catch (RuntimeException e) {
+                failed.increment(batch.size());
+                log.error("Dropped {} due-date reminders after the notification sink failed", batch.size(), e);
+            }
+        }
+    }
+
+    private long fireTime(LocalDate dueDate) {
+        return dueDate.atStartOfDay(zone).toEpochSecond() - leadSeconds;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled)
+            return;
+        running = true;
+        thread = new Thread(this::run, "due-reminders");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = thread;
+        if (current == null)
+            return;
+        LockSupport.unpark(current);
+        try {
+            current.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,128 @@
+package com.wisecamp.api.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The parts of a read a client asked for with {@code ?fields=} and
+ * {@code ?include=}. {@code fields} lists the top-level fields to keep;
+ * {@code include} lists the related collections to add, each optionally
+ * narrowed to some of its fields, as in
+ * {@code include=columns,cards(title,position)}. A relation that is not
+ * included is neither written nor queried. Ids are always written.
+ * <p>
+ * Without either parameter the selection is {@link #ALL}: every field and
+ * every relation, the same response as before.
+ */
+public final class FieldSelection {
+
+    public static final FieldSelection ALL = new FieldSelection(null, null);
+
+    // null means every field, or every relation with all of its fields
+    private final Set<String> fields;
+    private final Map<String, Set<String>> includes;
+
+    private FieldSelection(Set<String> fields, Map<String, Set<String>> includes) {
+        this.fields = fields;
+        this.includes = includes;
+    }
+
+    public static FieldSelection parse(String fields, String include) {
+        if (fields == null && include == null)
+            return ALL;
+        Set<String> rootFields = null;
+        if (fields != null) {
+            rootFields = new LinkedHashSet<>();
+            for (String item : split(fields)) {
+                if (item.indexOf('(') >= 0)
+                    throw new RuntimeException("Nested fields belong in include: " + item);
+                rootFields.add(item);
+            }
+        }
+        Map<String, Set<String>> includes = new LinkedHashMap<>();
+        if (include != null) {
+            for (String item : split(include)) {
+                int open = item.indexOf('(');
+                if (open < 0) {
+                    includes.put(item, null);
+                } else if (!item.endsWith(")")) {
+                    throw new RuntimeException("Unbalanced parentheses in include: " + item);
+                } else {
+                    includes.put(item.substring(0, open).trim(),
+                            new LinkedHashSet<>(split(item.substring(open + 1, item.length() - 1))));
+                }
+            }
+        }
+        return new FieldSelection(rootFields, includes);
+    }
+
+    /** Rejects names the resource does not have, before anything is queried or written. */
+    public FieldSelection validate(Set<String> rootFields, Map<String, Set<String>> relations) {
+        if (fields != null) {
+            for (String field : fields) {
+                if (!rootFields.contains(field))
+                    throw new RuntimeException("Unknown field: " + field);
+            }
+        }
+        if (includes != null) {
+            for (Map.Entry<String, Set<String>> include : includes.entrySet()) {
+                Set<String> known = relations.get(include.getKey());
+                if (known == null)
+                    throw new RuntimeException("Unknown include: " + include.getKey());
+                if (include.getValue() == null)
+                    continue;
+                for (String field : include.getValue()) {
+                    if (!known.contains(field))
+                        throw new RuntimeException("Unknown field: " + include.getKey() + "." + field);
+                }
+            }
+        }
+        return this;
+    }
+
+    public boolean isAll() {
+        return fields == null && includes == null;
+    }
+
+    public boolean has(String field) {
+        return fields == null || fields.contains(field) || field.equals("id");
+    }
+
+    public boolean includes(String relation) {
+        return includes == null || includes.containsKey(relation);
+    }
+
+    /** Whether a field of an included relation is wanted. */
+    public boolean has(String relation, String field) {
+        if (includes == null)
+            return true;
+        Set<String> selected = includes.get(relation);
+        return selected == null || selected.contains(field) || field.equals("id");
+    }
+
+    private static List<String> split(String list) {
+        List<String> items = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i <= list.length(); i++) {
+            char c = i < list.length() ? list.charAt(i) : ',';
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                String item = list.substring(start, i).trim();
+                if (!item.isEmpty())
+                    items.add(item);
+                start = i + 1;
+            }
+        }
+        if (depth != 0)
+            throw new RuntimeException("Unbalanced parentheses: " + list);
+        return items;
+    }
+}
@@ -0,0 +1,393 @@
+package com.wisecamp.api.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wisecamp.api.dto.AnalyticsDtos.CumulativeFlowResponse;
+import com.wisecamp.api.dto.AnalyticsDtos.CycleTimeResponse;
+import com.wisecamp.api.dto.AnalyticsDtos.DurationPercentiles;
+import com.wisecamp.api.dto.AnalyticsDtos.FlowColumn;
+import com.wisecamp.api.dto.AnalyticsDtos.FlowDay;
+import com.wisecamp.api.model.Card;
+import com.wisecamp.api.model.CardTransition;
+import com.wisecamp.api.model.Column;
+import com.wisecamp.api.repository.CardTransitionRepository;
+
+/**
+ * Card flow history and the analytics built on it.
+ * <p>
+ * Every card entering or leaving a column is recorded in
+ * {@code card_transitions}. Once a day is over, {@link #rollup()} folds its
+ * transitions into {@code board_daily_flow}, one row per board, day and
+ * column. A cumulative flow diagram then reads those rows plus the
+ * transitions of the days not yet rolled up, so its cost follows the number
+ * of days and columns rather than the number of moves. Lead and cycle times
+ * are computed from the raw history of the cards finished in the window,
+ * split across the fork/join pool by card.
+ */
+@Service
+public class FlowAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(FlowAnalyticsService.class);
+
+    public static final int MAX_DAYS = 366;
+    private static final LocalDate NOTHING_ROLLED = LocalDate.of(1970, 1, 1);
+    private static final int CARDS_PER_TASK = 2048;
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+
+    private static final String COLUMNS_SQL = "select id, name from columns where board_id = ? order by position, id";
+    private static final String DAILY_DELTAS = "select cast(t.moved_at as date) as flow_date, t.board_id as board_id, "
+            + "t.to_column_id as column_id, count(*) as entered, 0 as exited from card_transitions t "
+            + "where %1$s and t.to_column_id is not null "
+            + "group by cast(t.moved_at as date), t.board_id, t.to_column_id union all "
+            + "select cast(t.moved_at as date), t.board_id, t.from_column_id, 0, count(*) from card_transitions t "
+            + "where %1$s and t.from_column_id is not null "
+            + "group by cast(t.moved_at as date), t.board_id, t.from_column_id";
+    private static final String ROLLUP_SQL = "insert into board_daily_flow (board_id, flow_date, column_id, entered, "
+            + "exited) select board_id, flow_date, column_id, sum(entered), sum(exited) from ("
+            + DAILY_DELTAS.formatted("t.moved_at >= ? and t.moved_at < ?")
+            + ") d group by board_id, flow_date, column_id";
+    private static final String LIVE_SQL = "select flow_date, column_id, sum(entered), sum(exited) from ("
+            + DAILY_DELTAS.formatted("t.board_id = ? and t.moved_at >= ?") + ") d group by flow_date, column_id";
+    private static final String BASE_SQL = "select column_id, sum(entered) - sum(exited) from board_daily_flow "
+            + "where board_id = ? and flow_date < ? group by column_id";
+    private static final String WINDOW_SQL = "select flow_date, column_id, entered - exited from board_daily_flow "
+            + "where board_id = ? and flow_date >= ? and flow_date <= ?";
+    private static final String HISTORY_SQL = "select t.card_id, t.from_column_id, t.to_column_id, t.moved_at "
+            + "from card_transitions t where t.board_id = ? and t.card_id in (select d.card_id "
+            + "from card_transitions d where d.board_id = ? and d.to_column_id = ? and d.moved_at >= ? "
+            + "and d.moved_at < ?) order by t.card_id, t.moved_at, t.id";
+    private static final String BACKFILL_SQL = "insert into card_transitions (board_id, card_id, from_column_id, "
+            + "to_column_id, moved_at) select col.board_id, c.id, cast(null as bigint), c.column_id, "
+            + "coalesce(c.created_at, current_timestamp) from cards c join columns col on col.id = c.column_id";
+
+    private final CardTransitionRepository transitionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Days up to here are in board_daily_flow; later ones are read from card_transitions
+    private volatile LocalDate rolledThrough = NOTHING_ROLLED;
+
+    public FlowAnalyticsService(CardTransitionRepository transitionRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.transitionRepository = transitionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void cardCreated(Card card, Long userId) {
+        record(card.getColumn().getBoard().getId(), card.getId(), null, card.getColumn().getId(), userId);
+    }
+
+    /** Before the card's column is changed to {@code to}. */
+    public void cardMoved(Card card, Column to, Long userId) {
+        Column from = card.getColumn();
+        if (from.getId().equals(to.getId()))
+            return;
+        Long fromBoardId = from.getBoard().getId();
+        Long toBoardId = to.getBoard().getId();
+        if (fromBoardId.equals(toBoardId)) {
+            record(toBoardId, card.getId(), from.getId(), to.getId(), userId);
+        } else {
+            record(fromBoardId, card.getId(), from.getId(), null, userId);
+            record(toBoardId, card.getId(), null, to.getId(), userId);
+        }
+    }
+
+    public void cardDeleted(Card card, Long userId) {
+        record(card.getColumn().getBoard().getId(), card.getId(), card.getColumn().getId(), null, userId);
+    }
+
+    /** Before the column and its cards are deleted. */
+    public void columnRemoved(Long boardId, Long columnId, Long userId) {
+        jdbcTemplate.update("insert into card_transitions (board_id, card_id, from_column_id, to_column_id, "
+                + "user_id, moved_at) select ?, c.id, c.column_id, cast(null as bigint), ?, ? from cards c "
+                + "where c.column_id = ?", boardId, userId, Timestamp.valueOf(LocalDateTime.now()), columnId);
+    }
+
+    /** Before the cards are moved to the archive. */
+    public void cardsArchived(List<Long> cardIds, Long userId) {
+        Object[] args = new Object[cardIds.size() + 2];
+        args[0] = userId;
+        args[1] = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < cardIds.size(); i++)
+            args[i + 2] = cardIds.get(i);
+        jdbcTemplate.update("insert into card_transitions (board_id, card_id, from_column_id, to_column_id, "
+                + "user_id, moved_at) select col.board_id, c.id, c.column_id, cast(null as bigint), "
+                + "cast(? as bigint), ? from cards c join columns col on col.id = c.column_id where c.id in ("
+                + String.join(", ", Collections.nCopies(cardIds.size(), "?")) + ")", args);
+    }
+
+    /** After a board is created with its columns and cards already in place. */
+    public void boardCopied(Long boardId) {
+        jdbcTemplate.update(BACKFILL_SQL + " where col.board_id = ?", boardId);
+    }
+
+    private void record(Long boardId, Long cardId, Long fromColumnId, Long toColumnId, Long userId) {
+        CardTransition transition = new CardTransition();
+        transition.setBoardId(boardId);
+        transition.setCardId(cardId);
+        transition.setFromColumnId(fromColumnId);
+        transition.setToColumnId(toColumnId);
+        transition.setUserId(userId);
+        transition.setMovedAt(LocalDateTime.now());
+        transitionRepository.save(transition);
+    }
+
+    /** End-of-day card count per current column, for each day from {@code from} through {@code to}. */
+    public CumulativeFlowResponse getCumulativeFlow(Long boardId, LocalDate from, LocalDate to) {
+        LocalDate rolled = rolledThrough;
+        List<FlowColumn> columns = columns(boardId);
+        Map<Long, Integer> slots = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++)
+            slots.put(columns.get(i).id(), i);
+        int days = (int) (to.toEpochDay() - from.toEpochDay()) + 1;
+        long[] counts = new long[columns.size()];
+        long[][] changes = new long[days][columns.size()];
+
+        jdbcTemplate.query(BASE_SQL, rs -> {
+            Integer slot = slots.get(rs.getLong(1));
+            if (slot != null)
+                counts[slot] += rs.getLong(2);
+        }, boardId, min(from, rolled.plusDays(1)));
+        if (!from.isAfter(rolled)) {
+            jdbcTemplate.query(WINDOW_SQL, rs -> {
+                Integer slot = slots.get(rs.getLong(2));
+                if (slot != null)
+                    changes[dayIndex(from, rs.getObject(1, LocalDate.class))][slot] += rs.getLong(3);
+            }, boardId, from, min(to, rolled));
+        }
+        // Both halves of the union filter on board and time
+        Timestamp since = Timestamp.valueOf(rolled.plusDays(1).atStartOfDay());
+        jdbcTemplate.query(LIVE_SQL, rs -> {
+            Integer slot = slots.get(rs.getLong(2));
+            if (slot == null)
+                return;
+            LocalDate date = rs.getObject(1, LocalDate.class);
+            long change = rs.getLong(3) - rs.getLong(4);
+            if (date.isBefore(from))
+                counts[slot] += change;
+            else if (!date.isAfter(to))
+                changes[dayIndex(from, date)][slot] += change;
+        }, boardId, since, boardId, since);
+
+        List<FlowDay> flow = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            List<Long> row = new ArrayList<>(counts.length);
+            for (int slot = 0; slot < counts.length; slot++) {
+                counts[slot] += changes[day][slot];
+                row.add(counts[slot]);
+            }
+            flow.add(new FlowDay(from.plusDays(day), row));
+        }
+        return new CumulativeFlowResponse(boardId, from, to, columns, flow);
+    }
+
+    /**
+     * Lead time runs from a card's creation, cycle time from when it first
+     * left the board's first column, both to when it first entered the last
+     * column; cards are counted when that happened between {@code from} and
+     * {@code to}.
+     */
+    public CycleTimeResponse getCycleTimes(Long boardId, LocalDate from, LocalDate to) {
+        List<FlowColumn> columns = columns(boardId);
+        if (columns.isEmpty())
+            return new CycleTimeResponse(boardId, from, to, null, percentiles(new long[0]), percentiles(new long[0]));
+        FlowColumn done = columns.get(columns.size() - 1);
+        Timestamp start = Timestamp.valueOf(from.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(to.plusDays(1).atStartOfDay());
+
+        History history = new History();
+        jdbcTemplate.query(HISTORY_SQL, rs -> {
+            history.add(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getTimestamp(4).getTime());
+        }, boardId, boardId, done.id(), start, end);
+
+        int cards = history.cards();
+        long[] lead = new long[cards];
+        long[] cycle = new long[cards];
+        ForkJoinPool.commonPool().invoke(new DurationTask(history, columns.get(0).id(), done.id(), start.getTime(),
+                end.getTime(), lead, cycle, 0, cards));
+        return new CycleTimeResponse(boardId, from, to, done, percentiles(lead), percentiles(cycle));
+    }
+
+    private List<FlowColumn> columns(Long boardId) {
+        return jdbcTemplate.query(COLUMNS_SQL, (rs, row) -> new FlowColumn(rs.getLong(1), rs.getString(2)), boardId);
+    }
+
+    // Negative entries mark cards without that duration
+    private static DurationPercentiles percentiles(long[] durations) {
+        long[] sorted = Arrays.stream(durations).filter(d -> d >= 0).toArray();
+        Arrays.parallelSort(sorted);
+        return new DurationPercentiles(sorted.length, rank(sorted, 0.50), rank(sorted, 0.85), rank(sorted, 0.95));
+    }
+
+    private static double rank(long[] sorted, double percentile) {
+        if (sorted.length == 0)
+            return 0;
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / MILLIS_PER_HOUR;
+    }
+
+    /** Transitions ordered by card then time, in parallel primitive arrays; 0 stands for a null column. */
+    private static final class History {
+        private long[] cardIds = new long[1024];
+        private long[] fromColumns = new long[1024];
+        private long[] toColumns = new long[1024];
+        private long[] times = new long[1024];
+        private int size;
+        // starts[k] is the first row of the k-th card
+        private int[] starts = new int[256];
+        private int cards;
+
+        void add(long cardId, long fromColumn, long toColumn, long time) {
+            if (size == cardIds.length) {
+                cardIds = Arrays.copyOf(cardIds, size * 2);
+                fromColumns = Arrays.copyOf(fromColumns, size * 2);
+                toColumns = Arrays.copyOf(toColumns, size * 2);
+                times = Arrays.copyOf(times, size * 2);
+            }
+            if (size == 0 || cardIds[size - 1] != cardId) {
+                if (cards + 1 == starts.length)
+                    starts = Arrays.copyOf(starts, starts.length * 2);
+                starts[cards++] = size;
+            }
+            cardIds[size] = cardId;
+            fromColumns[size] = fromColumn;
+            toColumns[size] = toColumn;
+            times[size] = time;
+            size++;
+            starts[cards] = size;
+        }
+
+        int cards() {
+            return cards;
+        }
+    }
+
+    // Each task fills the lead/cycle slots of its own range of cards
+    private static final class DurationTask extends RecursiveAction {
+        private final History history;
+        private final long firstColumn;
+        private final long doneColumn;
+        private final long windowStart;
+        private final long windowEnd;
+        private final long[] lead;
+        private final long[] cycle;
+        private final int fromCard;
+        private final int toCard;
+
+        DurationTask(History history, long firstColumn, long doneColumn, long windowStart, long windowEnd,
+                long[] lead, long[] cycle, int fromCard, int toCard) {
+            this.history = history;
+            this.firstColumn = firstColumn;
+            this.doneColumn = doneColumn;
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+            this.lead = lead;
+            this.cycle = cycle;
+            this.fromCard = fromCard;
+            this.toCard = toCard;
+        }
+
+        @Override
+        protected void compute() {
+            if (toCard - fromCard > CARDS_PER_TASK) {
+                int middle = (fromCard + toCard) >>> 1;
+                invokeAll(split(fromCard, middle), split(middle, toCard));
+                return;
+            }
+            for (int card = fromCard; card < toCard; card++) {
+                long created = -1;
+                long started = -1;
+                long finished = -1;
+                for (int row = history.starts[card]; row < history.starts[card + 1]; row++) {
+                    long toColumn = history.toColumns[row];
+                    if (created < 0 && history.fromColumns[row] == 0)
+                        created = history.times[row];
+                    if (started < 0 && toColumn != 0 && toColumn != firstColumn)
+                        started = history.times[row];
+                    if (toColumn == doneColumn) {
+                        finished = history.times[row];
+                        break;
+                    }
+                }
+                boolean inWindow = finished >= windowStart && finished < windowEnd;
+                lead[card] = inWindow && created >= 0 ? finished - created : -1;
+                cycle[card] = inWindow && started >= 0 ? finished - started : -1;
+            }
+        }
+
+        private DurationTask split(int from, int to) {
+            return new DurationTask(history, firstColumn, doneColumn, windowStart, windowEnd, lead, cycle, from, to);
+        }
+    }
+
+    /** Folds every finished day not yet rolled up into board_daily_flow. */
+    @Scheduled(cron = "${wisecamp.analytics.rollup-cron:0 5 0 * * *}")
+    public void rollup() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDate last = jdbcTemplate.queryForObject("select max(flow_date) from board_daily_flow",
+                    LocalDate.class);
+            LocalDate first;
+            if (last != null) {
+                first = last.plusDays(1);
+            } else {
+                LocalDateTime oldest = jdbcTemplate.queryForObject("select min(moved_at) from card_transitions",
+                        LocalDateTime.class);
+                first = oldest != null ? oldest.toLocalDate() : yesterday.plusDays(1);
+            }
+            if (first.isAfter(yesterday))
+                return;
+            jdbcTemplate.update("delete from board_daily_flow where flow_date >= ? and flow_date <= ?", first,
+                    yesterday);
+            Timestamp start = Timestamp.valueOf(first.atStartOfDay());
+            Timestamp end = Timestamp.valueOf(yesterday.plusDays(1).atStartOfDay());
+            int rows = jdbcTemplate.update(ROLLUP_SQL, start, end, start, end);
+            log.info("Rolled up card flow for {} through {} ({} rows)", first, yesterday, rows);
+        });
+        rolledThrough = yesterday;
+    }
+
+    // Boards that predate the history start with each card entering its current column when it was created
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Long transitions = jdbcTemplate.queryForObject("select count(*) from card_transitions", Long.class);
+        if (transitions != null && transitions == 0) {
+            int cards = jdbcTemplate.update(BACKFILL_SQL);
+            if (cards > 0)
+                log.info("Backfilled creation transitions for {} cards", cards);
+        }
+        LocalDate last = jdbcTemplate.queryForObject("select max(flow_date) from board_daily_flow", LocalDate.class);
+        if (last != null)
+            rolledThrough = last;
+        rollup();
+    }
+
+    private static int dayIndex(LocalDate from, LocalDate date) {
+        return (int) (date.toEpochDay() - from.toEpochDay());
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
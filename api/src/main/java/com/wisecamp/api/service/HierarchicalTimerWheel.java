@@ -0,0 +1,143 @@
+package com.wisecamp.api.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel (Varghese &amp; Lauck): four levels of 64 slots,
+ * each level's slot spanning 64 times the one below, so one-second ticks
+ * cover about 194 days. Scheduling and cancelling are O(1) list
+ * operations; a timer moves down at most three levels before it fires.
+ * Deadlines beyond the top level are parked in its furthest slot and
+ * re-placed each time that slot comes round.
+ * <p>
+ * Not thread-safe: one thread owns the wheel and calls {@link #advance}.
+ */
+public final class HierarchicalTimerWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int LEVELS = 4;
+
+    public static final class Timer<T> {
+        private final T value;
+        private long deadline;
+        private Timer<T> prev;
+        private Timer<T> next;
+        private Timer<T> head;
+
+        private Timer(T value, long deadline) {
+            this.value = value;
+            this.deadline = deadline;
+        }
+
+        public T value() {
+            return value;
+        }
+
+        public long deadline() {
+            return deadline;
+        }
+    }
+
+    // Sentinel head per slot; an empty slot points at itself
+    private final Timer<T>[][] slots;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimerWheel(long startTick) {
+        this.currentTick = startTick;
+        this.slots = new Timer[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Timer<T> sentinel = new Timer<>(null, 0);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                slots[level][slot] = sentinel;
+            }
+        }
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Deadlines at or before the current tick fire on the next tick. */
+    public Timer<T> schedule(T value, long deadlineTick) {
+        Timer<T> timer = new Timer<>(value, Math.max(deadlineTick, currentTick + 1));
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    public void cancel(Timer<T> timer) {
+        if (timer.head == null)
+            return;
+        unlink(timer);
+        size--;
+    }
+
+    /** Advances to {@code tick}, handing every timer that comes due to {@code expired}. */
+    public void advance(long tick, Consumer<T> expired) {
+        while (currentTick < tick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                int shift = level * BITS;
+                if ((currentTick & ((1L << shift) - 1)) == 0)
+                    cascade(slots[level][(int) ((currentTick >>> shift) & (SLOTS - 1))]);
+            }
+            Timer<T> head = slots[0][(int) (currentTick & (SLOTS - 1))];
+            Timer<T> timer = head.next;
+            while (timer != head) {
+                Timer<T> next = timer.next;
+                unlink(timer);
+                if (timer.deadline <= currentTick) {
+                    size--;
+                    expired.accept(timer.value);
+                } else {
+                    place(timer);
+                }
+                timer = next;
+            }
+        }
+    }
+
+    private void cascade(Timer<T> head) {
+        // Detach the whole list first: re-placed timers may land in this same slot
+        Timer<T> timer = head.next;
+        head.next = head;
+        head.prev = head;
+        while (timer != head) {
+            Timer<T> next = timer.next;
+            timer.head = null;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.deadline - currentTick;
+        int level = delta < SLOTS ? 0 : Math.min((63 - Long.numberOfLeadingZeros(delta)) / BITS, LEVELS - 1);
+        long slotTick = level == LEVELS - 1 && delta >= 1L << (LEVELS * BITS)
+                ? currentTick - (1L << (level * BITS)) // furthest slot from the current one
+                : timer.deadline;
+        Timer<T> head = slots[level][(int) ((slotTick >>> (level * BITS)) & (SLOTS - 1))];
+        timer.head = head;
+        timer.prev = head.prev;
+        timer.next = head;
+        head.prev.next = timer;
+        head.prev = timer;
+    }
+
+    private void unlink(Timer<T> timer) {
+        timer.prev.next = timer.next;
+        timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+        timer.head = null;
+    }
+}
@@ -0,0 +1,261 @@
+package com.wisecamp.api.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps the node-local caches of every API node coherent.
+ * <p>
+ * Mutations announce what they changed. Once the transaction commits, the
+ * change is applied to this node's {@link InvalidationListener}s right away
+ * and queued for the other nodes; the queue is sent as one message at most
+ * every {@code coalesce-ms}, with duplicates collapsed, so a burst of writes
+ * to one board costs one message. A message reads
+ * {@code <node> <sequence> <entry>...}, where an entry is {@code b<id>} for
+ * a board, {@code p<id>} for a project, {@code u<id>} for a user's profile,
+ * {@code t<id>} for a user's tokens and {@code *} for everything.
+ * <p>
+ * Each node numbers its messages 1, 2, 3, ... and sends an empty one every
+ * {@code heartbeat-ms}. A receiver that sees a number skipped, or a
+ * transport that reports a dropped connection, flushes every listener,
+ * because it can no longer tell what it missed.
+ */
+@Component
+public class InvalidationBus implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    // Below PostgreSQL's 8000 byte NOTIFY limit; anything longer is sent as a full flush
+    static final int MAX_MESSAGE_LENGTH = 7900;
+
+    private static final String ALL = "*";
+
+    private record Origin(long sequence, long seenAt) {
+    }
+
+    private final InvalidationTransport transport;
+    private final ObjectProvider<InvalidationListener> listenerProvider;
+    private final long coalesceMillis;
+    private final long heartbeatMillis;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Map<String, Origin> origins = new ConcurrentHashMap<>();
+    private final Semaphore wakeups = new Semaphore(0);
+    private final Counter messagesSent;
+    private final Counter gaps;
+
+    private volatile List<InvalidationListener> listeners;
+    private volatile boolean running;
+    private Thread thread;
+
+    public InvalidationBus(InvalidationTransport transport, ObjectProvider<InvalidationListener> listenerProvider,
+            MeterRegistry registry,
+            @Value("${wisecamp.invalidation.coalesce-ms:50}") long coalesceMillis,
+            @Value("${wisecamp.invalidation.heartbeat-ms:15000}") long heartbeatMillis) {
+        this.transport = transport;
+        this.listenerProvider = listenerProvider;
+        this.coalesceMillis = coalesceMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        this.messagesSent = Counter.builder("wisecamp.invalidation.sent").register(registry);
+        this.gaps = Counter.builder("wisecamp.invalidation.gaps")
+                .description("Full flushes after messages from another node went missing")
+                .register(registry);
+    }
+
+    public void boardChanged(Long boardId) {
+        if (boardId != null)
+            publish("b" + boardId);
+    }
+
+    public void projectChanged(Long projectId) {
+        if (projectId != null)
+            publish("p" + projectId);
+    }
+
+    public void userChanged(Long userId) {
+        if (userId != null)
+            publish("u" + userId);
+    }
+
+    public void tokensRevoked(Long userId) {
+        if (userId != null)
+            publish("t" + userId);
+    }
+
+    private void publish(String entry) {
+        AfterCommit.run(() -> {
+            apply(entry);
+            pending.add(entry);
+            wakeups.release();
+        });
+    }
+
+    /** Sends whatever is queued as one message; the sender thread calls this every {@code coalesce-ms}. */
+    void flush() {
+        List<String> entries = new ArrayList<>();
+        for (Iterator<String> it = pending.iterator(); it.hasNext();) {
+            entries.add(it.next());
+            it.remove();
+        }
+        if (entries.isEmpty())
+            return;
+        send(entries.contains(ALL) ? List.of(ALL) : entries);
+    }
+
+    private void send(List<String> entries) {
+        String header = nodeId + " " + sequence.incrementAndGet();
+        StringBuilder message = new StringBuilder(header);
+        for (String entry : entries)
+            message.append(' ').append(entry);
+        try {
+            transport.send(message.length() <= MAX_MESSAGE_LENGTH ? message.toString() : header + " " + ALL);
+            messagesSent.increment();
+        } catch (RuntimeException e) {
+            // The sequence number is spent, so the other nodes see a gap and flush
+            log.warn("Could not send invalidation message", e);
+        }
+    }
+
+    private void receive(String message) {
+        try {
+            String[] parts = message.split(" ");
+            String origin = parts[0];
+            if (origin.equals(nodeId))
+                return;
+            long number = Long.parseLong(parts[1]);
+            Origin previous = origins.put(origin, new Origin(number, System.currentTimeMillis()));
+            if (previous != null && number != previous.sequence() + 1) {
+                gaps.increment();
+                log.warn("Invalidations from node {} jumped from {} to {}; flushing local caches", origin,
+                        previous.sequence(), number);
+                apply(ALL);
+                return;
+            }
+            for (int i = 2; i < parts.length; i++)
+                apply(parts[i]);
+        } catch (RuntimeException e) {
+            log.warn("Unreadable invalidation message '{}'; flushing local caches", message, e);
+            apply(ALL);
+        }
+    }
+
+    private void lost() {
+        gaps.increment();
+        origins.clear();
+        apply(ALL);
+    }
+
+    private void apply(String entry) {
+        for (InvalidationListener listener : listeners()) {
+            try {
+                if (entry.equals(ALL)) {
+                    listener.flushAll();
+                    continue;
+                }
+                long id = Long.parseLong(entry, 1, entry.length(), 10);
+                switch (entry.charAt(0)) {
+                    case 'b' -> listener.boardChanged(id);
+                    case 'p' -> listener.projectChanged(id);
+                    case 'u' -> listener.userChanged(id);
+                    case 't' -> listener.tokensRevoked(id);
+                    default -> listener.flushAll();
+                }
+            } catch (RuntimeException e) {
+                log.warn("{} failed to apply invalidation {}", listener.getClass().getSimpleName(), entry, e);
+            }
+        }
+    }
+
+    private List<InvalidationListener> listeners() {
+        List<InvalidationListener> current = listeners;
+        if (current == null) {
+            current = listenerProvider.orderedStream().toList();
+            listeners = current;
+        }
+        return current;
+    }
+
+    private void run() {
+        long lastSent = System.currentTimeMillis();
+        while (running) {
+            try {
+                wakeups.tryAcquire(heartbeatMillis, TimeUnit.MILLISECONDS);
+                // Let the rest of the burst arrive before sending
+                Thread.sleep(coalesceMillis);
+                wakeups.drainPermits();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!pending.isEmpty()) {
+                flush();
+                lastSent = System.currentTimeMillis();
+            } else if (System.currentTimeMillis() - lastSent >= heartbeatMillis) {
+                send(List.of());
+                lastSent = System.currentTimeMillis();
+            }
+            long cutoff = System.currentTimeMillis() - 4 * heartbeatMillis;
+            origins.values().removeIf(origin -> origin.seenAt() < cutoff);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        transport.start(new InvalidationTransport.Receiver() {
+            @Override
+            public void message(String message) {
+                receive(message);
+            }
+
+            @Override
+            public void lost() {
+                InvalidationBus.this.lost();
+            }
+        });
+        thread = new Thread(this::run, "invalidation-sender");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = thread;
+        if (current != null) {
+            current.interrupt();
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+        flush();
+        transport.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,27 @@
+package com.wisecamp.api.service;
+
+/**
+ * A node-local cache kept coherent by {@link InvalidationBus}. Each method
+ * is called once for changes made on this node, after their transaction
+ * commits, and once for every change another node announces.
+ */
+public interface InvalidationListener {
+
+    default void boardChanged(long boardId) {
+    }
+
+    /** The project itself or its member list changed; its boards announce their own changes. */
+    default void projectChanged(long projectId) {
+    }
+
+    /** The user's profile changed; anything embedding their name or email is stale. */
+    default void userChanged(long userId) {
+    }
+
+    /** Tokens issued to the user so far were revoked, or the user was removed. */
+    default void tokensRevoked(long userId) {
+    }
+
+    /** Changes may have been missed; drop or reload everything. */
+    void flushAll();
+}
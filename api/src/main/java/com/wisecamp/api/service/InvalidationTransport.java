@@ -0,0 +1,22 @@
+package com.wisecamp.api.service;
+
+/**
+ * Carries {@link InvalidationBus} messages between nodes. Delivery is best
+ * effort; the bus detects lost messages from sequence numbers.
+ */
+public interface InvalidationTransport {
+
+    interface Receiver {
+        void message(String message);
+
+        /** The transport may have dropped messages, for example while reconnecting. */
+        void lost();
+    }
+
+    /** Starts handing messages from every node, possibly including this one, to the receiver. */
+    void start(Receiver receiver);
+
+    void send(String message);
+
+    void stop();
+}
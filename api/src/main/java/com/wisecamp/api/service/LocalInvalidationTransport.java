@@ -0,0 +1,39 @@
+package com.wisecamp.api.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers messages synchronously to every bus started in this JVM, so
+ * tests can run several nodes side by side. On a single node it is simply
+ * a loopback.
+ */
+@Component
+@ConditionalOnProperty(name = "wisecamp.invalidation.transport", havingValue = "local")
+public class LocalInvalidationTransport implements InvalidationTransport {
+
+    private static final List<Receiver> receivers = new CopyOnWriteArrayList<>();
+
+    private Receiver receiver;
+
+    @Override
+    public void start(Receiver receiver) {
+        this.receiver = receiver;
+        receivers.add(receiver);
+    }
+
+    @Override
+    public void send(String message) {
+        for (Receiver each : receivers)
+            each.message(message);
+    }
+
+    @Override
+    public void stop() {
+        receivers.remove(receiver);
+        receiver = null;
+    }
+}
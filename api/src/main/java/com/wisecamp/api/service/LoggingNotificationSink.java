@@ -0,0 +1,24 @@
+package com.wisecamp.api.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.wisecamp.api.dto.DueReminder;
+
+// Placeholder until reminders are delivered by mail or push
+@Component
+public class LoggingNotificationSink implements NotificationSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationSink.class);
+
+    @Override
+    public void deliver(List<DueReminder> reminders) {
+        for (DueReminder reminder : reminders) {
+            log.info("Card {} on board {} is due {}: {}", reminder.cardId(), reminder.boardId(),
+                    reminder.dueDate(), reminder.title());
+        }
+    }
+}
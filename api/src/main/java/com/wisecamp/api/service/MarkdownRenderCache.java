@@ -0,0 +1,65 @@
+package com.wisecamp.api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * HTML for card descriptions, rendered from CommonMark once per distinct
+ * text. Entries are keyed by the SHA-256 of the Markdown, so an edit simply
+ * misses and nothing needs invalidating; identical descriptions on
+ * different cards share one entry. Eviction is W-TinyLFU within a byte
+ * budget, like {@link BoardSnapshotCache}.
+ * <p>
+ * Raw HTML in the source is escaped and unsafe link schemes are dropped,
+ * so the output can be inserted into the page as is.
+ */
+@Component
+public class MarkdownRenderCache {
+
+    private final Parser parser = Parser.builder().build();
+    private final HtmlRenderer renderer = HtmlRenderer.builder()
+            .escapeHtml(true)
+            .sanitizeUrls(true)
+            .build();
+    private final Cache<String, String> cache;
+
+    public MarkdownRenderCache(MeterRegistry registry,
+            @Value("${wisecamp.markdown-cache.max-bytes:16777216}") long maxBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                // Two bytes per char for the HTML, plus the key and entry overhead
+                .<String, String>weigher((hash, html) -> 128 + 2 * html.length())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "markdown-renders");
+    }
+
+    /** Returns null for a null description. */
+    public String render(String markdown) {
+        if (markdown == null)
+            return null;
+        return cache.get(hash(markdown), key -> renderer.render(parser.parse(markdown)));
+    }
+
+    private static String hash(String markdown) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(markdown.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
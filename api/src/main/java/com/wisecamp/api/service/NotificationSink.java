@@ -0,0 +1,10 @@
+package com.wisecamp.api.service;
+
+import java.util.List;
+
+import com.wisecamp.api.dto.DueReminder;
+
+/** Receives fired due-date reminders, a batch per scheduler tick. */
+public interface NotificationSink {
+    void deliver(List<DueReminder> reminders);
+}
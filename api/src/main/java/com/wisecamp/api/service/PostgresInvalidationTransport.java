@@ -0,0 +1,116 @@
+package com.wisecamp.api.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * LISTEN/NOTIFY on the primary database. Messages go out with
+ * {@code pg_notify} on a pooled connection; a dedicated connection, opened
+ * outside the pool because it is held for the life of the node, listens
+ * for them. After the listening connection drops the receiver is told that
+ * messages may have been lost, since PostgreSQL does not queue
+ * notifications for a session that is gone.
+ */
+@Component
+@ConditionalOnProperty(name = "wisecamp.invalidation.transport", havingValue = "postgres", matchIfMissing = true)
+public class PostgresInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresInvalidationTransport.class);
+
+    private static final String CHANNEL = "wisecamp_invalidation";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties properties;
+    private final int pollMillis;
+    private final long retryMillis;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public PostgresInvalidationTransport(JdbcTemplate jdbcTemplate, DataSourceProperties properties,
+            @Value("${wisecamp.invalidation.poll-ms:1000}") int pollMillis,
+            @Value("${wisecamp.invalidation.retry-ms:5000}") long retryMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.pollMillis = pollMillis;
+        this.retryMillis = retryMillis;
+    }
+
+    @Override
+    public void start(Receiver receiver) {
+        running = true;
+        thread = new Thread(() -> listen(receiver), "invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void send(String message) {
+        jdbcTemplate.query("select pg_notify(?, ?)", rs -> {
+        }, CHANNEL, message);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = thread;
+        if (current == null)
+            return;
+        current.interrupt();
+        try {
+            current.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    private void listen(Receiver receiver) {
+        boolean missed = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(properties.determineUrl(),
+                    properties.determineUsername(), properties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (missed) {
+                    log.info("Listening for invalidations again");
+                    receiver.lost();
+                    missed = false;
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(pollMillis);
+                    if (notifications == null)
+                        continue;
+                    for (PGNotification notification : notifications)
+                        receiver.message(notification.getParameter());
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running)
+                    return;
+                if (!missed)
+                    log.warn("Invalidation listener lost its connection; retrying every {} ms", retryMillis, e);
+                missed = true;
+                try {
+                    Thread.sleep(retryMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
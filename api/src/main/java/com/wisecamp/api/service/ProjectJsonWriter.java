@@ -0,0 +1,188 @@
+package com.wisecamp.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wisecamp.api.config.web.WireFormat;
+import com.wisecamp.api.service.BoardJsonWriter.Select;
+
+/**
+ * Writes a sparse {@code ProjectDetailResponse} from JDBC rows, in any
+ * {@link WireFormat}, selecting only the columns a {@link FieldSelection}
+ * asks for and skipping the
+ * member and board queries when they are not included. Field order
+ * follows the record. Full project reads keep going through
+ * {@link ProjectQueryService}.
+ * <p>
+ * Access checks are the caller's job; see {@link ProjectQueryService#checkProjectAccess}.
+ */
+@Component
+public class ProjectJsonWriter {
+
+    private static final Set<String> PROJECT_FIELDS = Set.of("id", "name", "description", "ownerId", "ownerName",
+            "createdAt", "updatedAt");
+    private static final Map<String, Set<String>> PROJECT_RELATIONS = Map.of(
+            "members", Set.of("id", "name", "email", "username", "role", "avatarUrl", "joinedAt"),
+            "boards", Set.of("id", "name", "description", "isPublic", "createdAt"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<WireFormat, JsonFactory> factories = new EnumMap<>(WireFormat.class);
+
+    public ProjectJsonWriter(DataSource dataSource, ObjectMapper objectMapper,
+            MappingJackson2SmileHttpMessageConverter smileConverter,
+            MappingJackson2CborHttpMessageConverter cborConverter) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        factories.put(WireFormat.JSON, objectMapper.getFactory());
+        factories.put(WireFormat.SMILE, smileConverter.getObjectMapper().getFactory());
+        factories.put(WireFormat.CBOR, cborConverter.getObjectMapper().getFactory());
+    }
+
+    public static FieldSelection validate(FieldSelection selection) {
+        return selection.validate(PROJECT_FIELDS, PROJECT_RELATIONS);
+    }
+
+    /** Returns false, writing nothing, if the project does not exist. */
+    @Transactional(readOnly = true)
+    public boolean writeProject(Long projectId, FieldSelection selection, WireFormat format, OutputStream out)
+            throws IOException {
+        validate(selection);
+        try (JsonGenerator gen = factories.get(format).createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            return writeProject(projectId, selection, gen);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private boolean writeProject(Long projectId, FieldSelection s, JsonGenerator gen) throws IOException {
+        Select project = new Select();
+        project.add("p.id");
+        int name = project.addIf(s.has("name"), "p.name");
+        int description = project.addIf(s.has("description"), "p.description");
+        int ownerId = project.addIf(s.has("ownerId"), "p.owner_id");
+        int ownerName = project.addIf(s.has("ownerName"), "o.name");
+        int createdAt = project.addIf(s.has("createdAt"), "p.created_at");
+        int updatedAt = project.addIf(s.has("updatedAt"), "p.updated_at");
+        String sql = project.from(ownerName > 0
+                ? "from projects p left join users o on o.id = p.owner_id where p.id = ? and p.deleted_at is null"
+                : "from projects p where p.id = ? and p.deleted_at is null");
+
+        // createdAt and updatedAt come last in the record, after the collections
+        Timestamp[] dates = jdbcTemplate.query(sql, rs -> {
+            if (!rs.next())
+                return null;
+            try {
+                gen.writeStartObject();
+                BoardJsonWriter.writeLong(gen, "id", rs, 1);
+                if (name > 0)
+                    gen.writeStringField("name", rs.getString(name));
+                if (description > 0)
+                    gen.writeStringField("description", rs.getString(description));
+                if (ownerId > 0)
+                    BoardJsonWriter.writeLong(gen, "ownerId", rs, ownerId);
+                if (ownerName > 0)
+                    gen.writeStringField("ownerName", rs.getString(ownerName));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new Timestamp[] { createdAt > 0 ? rs.getTimestamp(createdAt) : null,
+                    updatedAt > 0 ? rs.getTimestamp(updatedAt) : null };
+        }, projectId);
+        if (dates == null)
+            return false;
+
+        if (s.includes("members")) {
+            Select members = new Select();
+            BoardJsonWriter.UserColumns user = BoardJsonWriter.UserColumns.select(members, "u", s, "members");
+            int joinedAt = members.addIf(s.has("members", "joinedAt"), "u.created_at");
+            gen.writeFieldName("members");
+            gen.writeStartArray();
+            jdbcTemplate.query(members.from("from project_members m join users u on u.id = m.user_id "
+                    + "where m.project_id = ? order by u.id"), rs -> {
+                        writeMember(rs, user, joinedAt, gen);
+                    }, projectId);
+            gen.writeEndArray();
+        }
+
+        if (s.includes("boards")) {
+            Select boards = new Select();
+            boards.add("b.id");
+            int boardName = boards.addIf(s.has("boards", "name"), "b.name");
+            int boardDescription = boards.addIf(s.has("boards", "description"), "b.description");
+            int isPublic = boards.addIf(s.has("boards", "isPublic"), "b.is_public");
+            int boardCreatedAt = boards.addIf(s.has("boards", "createdAt"), "b.created_at");
+            gen.writeFieldName("boards");
+            gen.writeStartArray();
+            jdbcTemplate.query(boards.from("from boards b where b.project_id = ? and b.deleted_at is null "
+                    + "order by b.id"), rs -> {
+                        try {
+                            gen.writeStartObject();
+                            gen.writeNumberField("id", rs.getLong(1));
+                            if (boardName > 0)
+                                gen.writeStringField("name", rs.getString(boardName));
+                            if (boardDescription > 0)
+                                gen.writeStringField("description", rs.getString(boardDescription));
+                            // A primitive in the record, so null reads as false
+                            if (isPublic > 0)
+                                gen.writeBooleanField("isPublic", rs.getBoolean(isPublic));
+                            if (boardCreatedAt > 0)
+                                BoardJsonWriter.writeDateTime(gen, "createdAt", rs.getTimestamp(boardCreatedAt));
+                            gen.writeEndObject();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, projectId);
+            gen.writeEndArray();
+        }
+
+        if (createdAt > 0)
+            BoardJsonWriter.writeDateTime(gen, "createdAt", dates[0]);
+        if (updatedAt > 0)
+            BoardJsonWriter.writeDateTime(gen, "updatedAt", dates[1]);
+        gen.writeEndObject();
+        return true;
+    }
+
+    // The member record is a user plus joinedAt, so the shared user writer cannot close the object
+    private static void writeMember(ResultSet rs, BoardJsonWriter.UserColumns c, int joinedAt, JsonGenerator gen)
+            throws SQLException {
+        try {
+            gen.writeStartObject();
+            BoardJsonWriter.writeLong(gen, "id", rs, c.id());
+            if (c.name() > 0)
+                gen.writeStringField("name", rs.getString(c.name()));
+            if (c.email() > 0)
+                gen.writeStringField("email", rs.getString(c.email()));
+            if (c.username() > 0)
+                gen.writeStringField("username", rs.getString(c.username()));
+            if (c.role() > 0)
+                gen.writeStringField("role", rs.getString(c.role()));
+            if (c.avatarUrl() > 0)
+                gen.writeStringField("avatarUrl", rs.getString(c.avatarUrl()));
+            if (joinedAt > 0)
+                BoardJsonWriter.writeDateTime(gen, "joinedAt", rs.getTimestamp(joinedAt));
+            gen.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
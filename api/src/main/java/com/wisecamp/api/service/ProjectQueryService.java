@@ -0,0 +1,163 @@
+package com.wisecamp.api.service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wisecamp.api.config.persistence.ReplicaRoutingDataSource;
+import com.wisecamp.api.config.security.AuthenticatedUser;
+import com.wisecamp.api.dto.ProjectDtos.ProjectBoardResponse;
+import com.wisecamp.api.dto.ProjectDtos.ProjectDetailResponse;
+import com.wisecamp.api.dto.ProjectDtos.ProjectMemberResponse;
+import com.wisecamp.api.dto.ProjectDtos.ProjectResponse;
+import com.wisecamp.api.model.Project;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.repository.BoardRepository;
+import com.wisecamp.api.repository.ProjectRepository;
+import com.wisecamp.api.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read side of projects; see {@link BoardQueryService} for the transaction
+ * rules. The project detail is the project with owner and members in one
+ * statement plus one row per board, never the board entities themselves.
+ * <p>
+ * Concurrent detail reads share one load while nothing has changed in
+ * between. A project detail shows its boards and its members' names, so
+ * any invalidation at all starts a new generation; that is coarse, but
+ * cheaper than tracking which boards belong to which project. Shared
+ * loads read from the primary, as in {@link BoardQueryService}. The
+ * transactions are per method so the listener callbacks run without one.
+ */
+@Service
+public class ProjectQueryService implements InvalidationListener {
+
+    private record ProjectLoad(Long projectId, long generation) {
+    }
+
+    private final ProjectRepository projectRepository;
+    private final BoardRepository boardRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnly;
+    private final SingleFlight<ProjectLoad, ProjectDetailResponse> projectLoads;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProjectQueryService(ProjectRepository projectRepository, BoardRepository boardRepository,
+            UserRepository userRepository, PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.projectRepository = projectRepository;
+        this.boardRepository = boardRepository;
+        this.userRepository = userRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.projectLoads = new SingleFlight<>("project-detail", registry);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectResponse> getUserProjects() {
+        return projectRepository.findSummariesByMemberId(currentUserId()).stream()
+                .map(row -> new ProjectResponse(
+                        (Long) row[0],
+                        (String) row[1],
+                        (String) row[2],
+                        (Long) row[3],
+                        (String) row[4],
+                        ((Number) row[5]).intValue(),
+                        ((Number) row[6]).intValue(),
+                        (LocalDateTime) row[7]))
+                .collect(Collectors.toList());
+    }
+
+    public ProjectDetailResponse getProjectById(Long projectId) {
+        checkProjectAccess(projectId);
+        return projectLoads.load(new ProjectLoad(projectId, generation.get()),
+                () -> ReplicaRoutingDataSource.onPrimary(() -> readOnly.execute(status -> loadProject(projectId))));
+    }
+
+    // Membership check on its own, for reads that share or skip the full load
+    public void checkProjectAccess(Long projectId) {
+        Long userId = currentUserId();
+        if (!projectRepository.existsByIdAndMembers_Id(projectId, userId)) {
+            if (!projectRepository.existsById(projectId)) {
+                throw new RuntimeException("Project not found");
+            }
+            throw new AccessDeniedException("Access denied to this project");
+        }
+    }
+
+    private ProjectDetailResponse loadProject(Long projectId) {
+        Project project = projectRepository.findDetailedById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found"));
+
+        List<ProjectMemberResponse> memberResponses = project.getMembers().stream()
+                .sorted(Comparator.comparing(User::getId))
+                .map(member -> new ProjectMemberResponse(
+                        member.getId(),
+                        member.getName(),
+                        member.getEmail(),
+                        member.getUsername(),
+                        member.getRole(),
+                        member.getAvatarUrl(),
+                        member.getCreatedAt() // Using createdAt as joinedAt for now
+                ))
+                .collect(Collectors.toList());
+
+        List<ProjectBoardResponse> boardResponses = boardRepository.findRowsByProjectId(projectId).stream()
+                .map(row -> new ProjectBoardResponse(
+                        (Long) row[0],
+                        (String) row[1],
+                        (String) row[2],
+                        Boolean.TRUE.equals(row[3]),
+                        (LocalDateTime) row[4]))
+                .collect(Collectors.toList());
+
+        return new ProjectDetailResponse(
+                project.getId(),
+                project.getName(),
+                project.getDescription(),
+                project.getOwner().getId(),
+                project.getOwner().getName(),
+                memberResponses,
+                boardResponses,
+                project.getCreatedAt(),
+                project.getUpdatedAt());
+    }
+
+    @Override
+    public void boardChanged(long boardId) {
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void projectChanged(long projectId) {
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void userChanged(long userId) {
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void flushAll() {
+        generation.incrementAndGet();
+    }
+
+    private Long currentUserId() {
+        if (SecurityContextHolder.getContext().getAuthentication().getPrincipal() instanceof AuthenticatedUser user)
+            return user.getId();
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")).getId();
+    }
+}
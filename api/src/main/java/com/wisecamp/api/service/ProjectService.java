@@ -3,6 +3,7 @@ package com.wisecamp.api.service;
 import com.wisecamp.api.dto.ProjectDtos.*;
 import com.wisecamp.api.model.Project;
 import com.wisecamp.api.model.Board;
+import com.wisecamp.api.model.PurgeTarget;
 import com.wisecamp.api.model.User;
 import com.wisecamp.api.repository.ProjectRepository;
 import com.wisecamp.api.repository.BoardRepository;
@@ -17,19 +18,25 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 public class ProjectService {
         private final ProjectRepository projectRepository;
         private final UserRepository userRepository;
         private final BoardRepository boardRepository;
+        private final InvalidationBus invalidationBus;
+        private final DashboardService dashboardService;
+        private final BulkPurger bulkPurger;
 
         public ProjectService(ProjectRepository projectRepository, UserRepository userRepository,
-                        BoardRepository boardRepository) {
+                        BoardRepository boardRepository, InvalidationBus invalidationBus,
+                        DashboardService dashboardService, BulkPurger bulkPurger) {
                 this.projectRepository = projectRepository;
                 this.userRepository = userRepository;
                 this.boardRepository = boardRepository;
+                this.invalidationBus = invalidationBus;
+                this.dashboardService = dashboardService;
+                this.bulkPurger = bulkPurger;
         }
 
         private User getCurrentUser() {
@@ -38,6 +45,7 @@ public class ProjectService {
                                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         }
 
+        @Transactional
         public ProjectResponse createProject(CreateProjectRequest request) {
                 User currentUser = getCurrentUser();
                 Project project = new Project();
@@ -49,6 +57,7 @@ public class ProjectService {
                 project.setUpdatedAt(LocalDateTime.now());
 
                 Project savedProject = projectRepository.save(project);
+                dashboardService.projectMemberAdded(currentUser.getId());
                 return new ProjectResponse(
                                 savedProject.getId(),
                                 savedProject.getName(),
@@ -60,66 +69,7 @@ public class ProjectService {
                                 savedProject.getCreatedAt());
         }
 
-        public List<ProjectResponse> getUserProjects() {
-                User currentUser = getCurrentUser();
-                return projectRepository.findByMembers_Id(currentUser.getId()).stream()
-                                .map(p -> new ProjectResponse(
-                                                p.getId(),
-                                                p.getName(),
-                                                p.getDescription(),
-                                                p.getOwner().getId(),
-                                                p.getOwner().getName(),
-                                                p.getMembers().size(),
-                                                p.getBoards() != null ? p.getBoards().size() : 0,
-                                                p.getCreatedAt()))
-                                .collect(Collectors.toList());
-        }
-
-        public ProjectDetailResponse getProjectById(Long projectId) {
-                User currentUser = getCurrentUser();
-                Project project = projectRepository.findById(projectId)
-                                .orElseThrow(() -> new RuntimeException("Project not found"));
-
-                // Check if user has access to this project
-                if (project.getMembers().stream().noneMatch(member -> member.getId().equals(currentUser.getId()))) {
-                        throw new AccessDeniedException("Access denied to this project");
-                }
-
-                List<ProjectMemberResponse> memberResponses = project.getMembers().stream()
-                                .map(member -> new ProjectMemberResponse(
-                                                member.getId(),
-                                                member.getName(),
-                                                member.getEmail(),
-                                                member.getUsername(),
-                                                member.getRole(),
-                                                member.getAvatarUrl(),
-                                                member.getCreatedAt() // Using createdAt as joinedAt for now
-                                ))
-                                .collect(Collectors.toList());
-
-                List<ProjectBoardResponse> boardResponses = project.getBoards() != null
-                                ? project.getBoards().stream()
-                                                .map(board -> new ProjectBoardResponse(
-                                                                board.getId(),
-                                                                board.getName(),
-                                                                board.getDescription(),
-                                                                board.isPublic(),
-                                                                board.getCreatedAt()))
-                                                .collect(Collectors.toList())
-                                : List.of();
-
-                return new ProjectDetailResponse(
-                                project.getId(),
-                                project.getName(),
-                                project.getDescription(),
-                                project.getOwner().getId(),
-                                project.getOwner().getName(),
-                                memberResponses,
-                                boardResponses,
-                                project.getCreatedAt(),
-                                project.getUpdatedAt());
-        }
-
+        @Transactional
         public ProjectResponse updateProject(Long projectId, UpdateProjectRequest request) {
                 User currentUser = getCurrentUser();
                 Project project = projectRepository.findById(projectId)
@@ -134,6 +84,7 @@ public class ProjectService {
                 project.setDescription(request.description());
 
                 Project savedProject = projectRepository.save(project);
+                invalidationBus.projectChanged(projectId);
 
                 return new ProjectResponse(
                                 savedProject.getId(),
@@ -146,6 +97,7 @@ public class ProjectService {
                                 savedProject.getCreatedAt());
         }
 
+        @Transactional
         public void deleteProject(Long projectId) {
                 User currentUser = getCurrentUser();
                 Project project = projectRepository.findById(projectId)
@@ -156,7 +108,18 @@ public class ProjectService {
                         throw new AccessDeniedException("Only project owner can delete the project");
                 }
 
-                projectRepository.delete(project);
+                for (User member : project.getMembers())
+                        dashboardService.projectMemberRemoved(member.getId());
+                // Hidden from here on; BulkPurger removes the rows
+                LocalDateTime now = LocalDateTime.now();
+                for (Board board : boardRepository.findByProjectId(projectId)) {
+                        dashboardService.boardRemoved(board.getId());
+                        board.setDeletedAt(now);
+                        invalidationBus.boardChanged(board.getId());
+                }
+                project.setDeletedAt(now);
+                bulkPurger.enqueue(PurgeTarget.PROJECT, projectId);
+                invalidationBus.projectChanged(projectId);
         }
 
         @Transactional
@@ -175,15 +138,19 @@ public class ProjectService {
                                                 "User not found with email: " + request.email()));
                 if (project.getMembers().stream().noneMatch(member -> member.getId().equals(newMember.getId()))) {
                         project.getMembers().add(newMember);
+                        dashboardService.projectMemberAdded(newMember.getId());
                         // Also add the new member to all boards within this project
                         List<Board> boards = boardRepository.findByProjectId(projectId);
                         for (Board board : boards) {
-                                board.getMembers().add(newMember);
+                                if (board.getMembers().add(newMember))
+                                        dashboardService.memberAdded(board.getId(), newMember.getId());
                                 // No need to call save on each board, @Transactional will handle it
                                 // if the relationship is correctly configured. But being explicit is safer.
                                 boardRepository.save(board);
+                                invalidationBus.boardChanged(board.getId());
                         }
                         projectRepository.save(project);
+                        invalidationBus.projectChanged(projectId);
                 }
         }
 
@@ -207,13 +174,17 @@ public class ProjectService {
                                 .orElseThrow(() -> new RuntimeException("User not found"));
 
                 if (project.getMembers().remove(memberToRemove)) {
+                        dashboardService.projectMemberRemoved(userId);
                         // Also remove the member from all boards within this project
                         List<Board> boards = boardRepository.findByProjectId(projectId);
                         for (Board board : boards) {
+                                dashboardService.memberRemoved(board.getId(), userId);
                                 board.getMembers().remove(memberToRemove);
                                 boardRepository.save(board);
+                                invalidationBus.boardChanged(board.getId());
                         }
                         projectRepository.save(project);
+                        invalidationBus.projectChanged(projectId);
                 }
         }
 }
\ No newline at end of file
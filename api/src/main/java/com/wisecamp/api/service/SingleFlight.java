@@ -0,0 +1,65 @@
+package com.wisecamp.api.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs at most one load per key at a time: a caller that finds the key
+ * already loading waits for that load and gets its result or its
+ * exception. Nothing is kept once the load finishes, so keys should carry
+ * a version that changes with the data, or a caller arriving after a
+ * commit could be handed a load that started before it.
+ */
+public class SingleFlight<K, V> {
+
+    public interface Loader<V, E extends Exception> {
+        V load() throws E;
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter loads;
+    private final Counter collapsed;
+
+    public SingleFlight(String name, MeterRegistry registry) {
+        this.loads = Counter.builder("wisecamp.single-flight.loads")
+                .tag("name", name)
+                .register(registry);
+        this.collapsed = Counter.builder("wisecamp.single-flight.collapsed")
+                .description("Loads skipped because an identical one was already running")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <E extends Exception> V load(K key, Loader<V, E> loader) throws E {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            collapsed.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                // The loader only throws E or unchecked exceptions
+                if (e.getCause() instanceof Error error)
+                    throw error;
+                throw (E) e.getCause();
+            }
+        }
+
+        loads.increment();
+        try {
+            V value = loader.load();
+            mine.complete(value);
+            return value;
+        } catch (Throwable e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.wisecamp.api.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.wisecamp.api.config.security.AuthenticatedUser;
+import com.wisecamp.api.config.security.TokenEpochRegistry;
+import com.wisecamp.api.dto.AuthDtos.UserResponse;
+import com.wisecamp.api.model.Role;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.repository.UserRepository;
+
+/**
+ * Administrative changes to accounts. Each runs in one transaction with
+ * the token revocation it implies, so other nodes only hear of it once
+ * both have committed.
+ * <p>
+ * Removing a user drops their board and project memberships and their
+ * comments, as the ON DELETE rules of the PostgreSQL schema would, but
+ * does it explicitly so any schema behaves the same. Boards and projects
+ * they own pass to the administrator removing them, who is made a member,
+ * so nothing is left without an owner.
+ */
+@Service
+@Transactional
+public class UserService {
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final DashboardService dashboardService;
+    private final InvalidationBus invalidationBus;
+
+    public UserService(UserRepository userRepository, JdbcTemplate jdbcTemplate,
+            TokenEpochRegistry tokenEpochRegistry, DashboardService dashboardService,
+            InvalidationBus invalidationBus) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tokenEpochRegistry = tokenEpochRegistry;
+        this.dashboardService = dashboardService;
+        this.invalidationBus = invalidationBus;
+    }
+
+    // The role travels in the JWT, so tokens carrying the old one are revoked
+    public UserResponse updateRole(Long userId, Role role) {
+        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        user.setRole(role);
+        user.setTokenEpoch(tokenEpochRegistry.revoke(userId));
+        invalidationBus.userChanged(userId);
+        return new UserResponse(
+                user.getId(), user.getName(), user.getEmail(), user.getUsername(), user.getRole(),
+                user.getAvatarUrl());
+    }
+
+    public void removeUser(Long userId) {
+        Long adminId = currentUserId();
+        if (adminId.equals(userId))
+            throw new RuntimeException("Cannot remove yourself");
+        if (!userRepository.existsById(userId))
+            throw new RuntimeException("User not found");
+
+        jdbcTemplate.update("insert into board_members (board_id, user_id) "
+                + "select b.id, ? from boards b where b.user_id = ? and not exists "
+                + "(select 1 from board_members m where m.board_id = b.id and m.user_id = ?)",
+                adminId, userId, adminId);
+        jdbcTemplate.update("update boards set user_id = ? where user_id = ?", adminId, userId);
+        jdbcTemplate.update("insert into project_members (project_id, user_id) "
+                + "select p.id, ? from projects p where p.owner_id = ? and not exists "
+                + "(select 1 from project_members m where m.project_id = p.id and m.user_id = ?)",
+                adminId, userId, adminId);
+        jdbcTemplate.update("update projects set owner_id = ? where owner_id = ?", adminId, userId);
+        dashboardService.reconcileUser(adminId);
+
+        jdbcTemplate.update("delete from board_members where user_id = ?", userId);
+        jdbcTemplate.update("delete from project_members where user_id = ?", userId);
+        jdbcTemplate.update("delete from comments where user_id = ?", userId);
+        jdbcTemplate.update("delete from dashboard_counters where user_id = ?", userId);
+        jdbcTemplate.update("delete from users where id = ?", userId);
+
+        tokenEpochRegistry.remove(userId);
+        // Names are embedded in every board and project, so this also covers the changed owners
+        invalidationBus.userChanged(userId);
+    }
+
+    private Long currentUserId() {
+        if (SecurityContextHolder.getContext().getAuthentication().getPrincipal() instanceof AuthenticatedUser user)
+            return user.getId();
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")).getId();
+    }
+}
@@ -1,75 +0,0 @@
--- V1__Initial_Schema.sql
-
-CREATE TABLE users (
-    id BIGSERIAL PRIMARY KEY,
-    name VARCHAR(255) NOT NULL,
-    avatar_url VARCHAR(255),
-    email VARCHAR(255) NOT NULL UNIQUE,
-    password VARCHAR(255) NOT NULL,
-    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
-
-CREATE TABLE boards (
-    id BIGSERIAL PRIMARY KEY,
-    name VARCHAR(255) NOT NULL,
-    is_public BOOLEAN DEFAULT FALSE,
-    user_id BIGINT REFERENCES users(id) ON DELETE SET NULL, -- Board Owner
-    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
-
-CREATE TABLE board_members (
-    user_id BIGINT REFERENCES users(id) ON DELETE CASCADE,
-    board_id BIGINT REFERENCES boards(id) ON DELETE CASCADE,
-    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    PRIMARY KEY (user_id, board_id)
-);
-
-CREATE TABLE columns (
-    id BIGSERIAL PRIMARY KEY,
-    name VARCHAR(255) NOT NULL,
-    position BIGINT,
-    board_id BIGINT NOT NULL REFERENCES boards(id) ON DELETE CASCADE,
-    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
-
-CREATE TABLE cards (
-    id BIGSERIAL PRIMARY KEY,
-    name VARCHAR(255) NOT NULL,
-    description TEXT,
-    is_active BOOLEAN DEFAULT TRUE,
-    due_date DATE,
-    column_id BIGINT NOT NULL REFERENCES columns(id) ON DELETE CASCADE,
-    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
-
-CREATE TABLE comments (
-    id BIGSERIAL PRIMARY KEY,
-    comment TEXT NOT NULL,
-    card_id BIGINT NOT NULL REFERENCES cards(id) ON DELETE CASCADE,
-    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
-
-CREATE TABLE card_attachments (
-    id BIGSERIAL PRIMARY KEY,
-    filename VARCHAR(255) NOT NULL,
-    location VARCHAR(255) NOT NULL,
-    card_id BIGINT NOT NULL REFERENCES cards(id) ON DELETE CASCADE,
-    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
-
-CREATE TABLE checklist_items (
-    id BIGSERIAL PRIMARY KEY,
-    name VARCHAR(255) NOT NULL,
-    is_checked BOOLEAN DEFAULT FALSE,
-    position INTEGER,
-    card_id BIGINT NOT NULL REFERENCES cards(id) ON DELETE CASCADE,
-    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
\ No newline at end of file
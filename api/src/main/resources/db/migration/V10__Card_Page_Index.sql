@@ -0,0 +1,9 @@
+-- V10__Card_Page_Index.sql
+-- Column card pages and paged board reads seek (column_id, position, id)
+-- and read the short card fields from the index itself. Descriptions stay
+-- in the table. Same key as idx_cards_column, which it replaces.
+
+CREATE INDEX IF NOT EXISTS idx_cards_column_page ON cards (column_id, position, id)
+    INCLUDE (name, title, is_active, created_at);
+
+DROP INDEX IF EXISTS idx_cards_column;
@@ -0,0 +1,5 @@
+-- V11__Token_Epoch.sql
+-- V1 creates users.token_epoch, but databases baselined at V1 were built
+-- by ddl-auto before the column existed. NULL reads as epoch 0.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_epoch INTEGER;
@@ -0,0 +1,16 @@
+-- V12__Card_Position_Not_Null.sql
+-- Card pages seek on (position, id). A NULL position sorts after every
+-- other card on PostgreSQL and cannot be written into a cursor, so such
+-- cards were never reached. Number them after their column's last card,
+-- oldest first, and keep the column filled from now on.
+
+UPDATE cards c SET position = numbered.position
+FROM (
+    SELECT id,
+           COALESCE(MAX(position) OVER (PARTITION BY column_id), 0)
+               + ROW_NUMBER() OVER (PARTITION BY column_id, position IS NULL ORDER BY id) AS position
+    FROM cards
+) numbered
+WHERE numbered.id = c.id AND c.position IS NULL;
+
+ALTER TABLE cards ALTER COLUMN position SET NOT NULL;
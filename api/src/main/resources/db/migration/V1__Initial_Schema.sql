@@ -0,0 +1,97 @@
+-- V1__Initial_Schema.sql
+
+CREATE TABLE users (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255),
+    username VARCHAR(255),
+    avatar_url VARCHAR(255),
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255),
+    token_epoch INTEGER,
+    created_at TIMESTAMP WITHOUT TIME ZONE,
+    updated_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+CREATE TABLE projects (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    owner_id BIGINT REFERENCES users(id) ON DELETE SET NULL, -- Project Owner
+    created_at TIMESTAMP WITHOUT TIME ZONE,
+    updated_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+CREATE TABLE project_members (
+    project_id BIGINT NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    PRIMARY KEY (project_id, user_id)
+);
+
+CREATE TABLE boards (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    is_public BOOLEAN DEFAULT FALSE,
+    user_id BIGINT REFERENCES users(id) ON DELETE SET NULL, -- Board Owner
+    project_id BIGINT REFERENCES projects(id) ON DELETE CASCADE,
+    created_at TIMESTAMP WITHOUT TIME ZONE,
+    updated_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+-- Key order matches the JPA join table: (board_id, user_id)
+CREATE TABLE board_members (
+    board_id BIGINT NOT NULL REFERENCES boards(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    PRIMARY KEY (board_id, user_id)
+);
+
+CREATE TABLE columns (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255),
+    position BIGINT,
+    board_id BIGINT NOT NULL REFERENCES boards(id) ON DELETE CASCADE,
+    created_at TIMESTAMP WITHOUT TIME ZONE,
+    updated_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+CREATE TABLE cards (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255),
+    title VARCHAR(255),
+    description TEXT,
+    position INTEGER,
+    is_active BOOLEAN DEFAULT TRUE,
+    due_date DATE,
+    column_id BIGINT NOT NULL REFERENCES columns(id) ON DELETE CASCADE,
+    created_at TIMESTAMP WITHOUT TIME ZONE,
+    updated_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+CREATE TABLE comments (
+    id BIGSERIAL PRIMARY KEY,
+    comment TEXT,
+    card_id BIGINT NOT NULL REFERENCES cards(id) ON DELETE CASCADE,
+    user_id BIGINT REFERENCES users(id) ON DELETE CASCADE,
+    created_at TIMESTAMP WITHOUT TIME ZONE,
+    updated_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+CREATE TABLE card_attachments (
+    id BIGSERIAL PRIMARY KEY,
+    filename VARCHAR(255),
+    location VARCHAR(255),
+    card_id BIGINT NOT NULL REFERENCES cards(id) ON DELETE CASCADE,
+    created_at TIMESTAMP WITHOUT TIME ZONE,
+    updated_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+CREATE TABLE checklist_items (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255),
+    is_checked BOOLEAN DEFAULT FALSE,
+    position INTEGER,
+    card_id BIGINT NOT NULL REFERENCES cards(id) ON DELETE CASCADE,
+    created_at TIMESTAMP WITHOUT TIME ZONE,
+    updated_at TIMESTAMP WITHOUT TIME ZONE
+);
@@ -0,0 +1,42 @@
+-- V2__Activities.sql
+-- Board activity log, hash-partitioned by board so per-board feeds and
+-- inserts touch one partition. Databases first built by ddl-auto keep
+-- the unpartitioned table they were created with, so every statement
+-- here is safe to run against them.
+
+CREATE SEQUENCE IF NOT EXISTS activities_id_seq;
+
+CREATE TABLE IF NOT EXISTS activities (
+    id BIGINT NOT NULL DEFAULT nextval('activities_id_seq'),
+    board_id BIGINT NOT NULL,
+    card_id BIGINT,
+    user_id BIGINT,
+    type VARCHAR(32) NOT NULL,
+    details VARCHAR(255),
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    PRIMARY KEY (board_id, id)
+) PARTITION BY HASH (board_id);
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'activities'::regclass) THEN
+        FOR i IN 0..7 LOOP
+            EXECUTE format('CREATE TABLE IF NOT EXISTS activities_p%s PARTITION OF activities'
+                    || ' FOR VALUES WITH (MODULUS 8, REMAINDER %s)', i, i);
+        END LOOP;
+    END IF;
+END $$;
+
+-- The (board_id, id) primary key serves the board feed; the user feed spans partitions
+CREATE INDEX IF NOT EXISTS idx_activities_user_id ON activities (user_id, id);
+
+-- Outbox mode: rows committed with the business transaction, relayed by ActivityWriter
+CREATE TABLE IF NOT EXISTS activity_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    board_id BIGINT NOT NULL,
+    card_id BIGINT,
+    user_id BIGINT,
+    type VARCHAR(32) NOT NULL,
+    details VARCHAR(255),
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
@@ -0,0 +1,4 @@
+-- V3__Card_Due_Date_Index.sql
+-- Reminder windows read one due date at a time in id order.
+
+CREATE INDEX IF NOT EXISTS idx_cards_due_date ON cards (due_date, id);
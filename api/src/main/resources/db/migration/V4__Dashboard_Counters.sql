@@ -0,0 +1,12 @@
+-- V4__Dashboard_Counters.sql
+-- Per-user dashboard rollups, adjusted by deltas on every card, column and
+-- membership write and rebuilt nightly by DashboardService.reconcile().
+
+CREATE TABLE IF NOT EXISTS dashboard_counters (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    metric VARCHAR(32) NOT NULL,
+    bucket VARCHAR(255) NOT NULL,
+    total BIGINT NOT NULL,
+    CONSTRAINT uk_dashboard_counters_key UNIQUE (user_id, metric, bucket)
+);
@@ -0,0 +1,25 @@
+-- V5__Card_Flow.sql
+-- Card column history (see FlowAnalyticsService) and its daily rollup.
+
+CREATE TABLE IF NOT EXISTS card_transitions (
+    id BIGSERIAL PRIMARY KEY,
+    board_id BIGINT NOT NULL,
+    card_id BIGINT NOT NULL,
+    from_column_id BIGINT,
+    to_column_id BIGINT,
+    user_id BIGINT,
+    moved_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_card_transitions_board ON card_transitions (board_id, moved_at);
+CREATE INDEX IF NOT EXISTS idx_card_transitions_moved_at ON card_transitions (moved_at);
+
+CREATE TABLE IF NOT EXISTS board_daily_flow (
+    id BIGSERIAL PRIMARY KEY,
+    board_id BIGINT NOT NULL,
+    flow_date DATE NOT NULL,
+    column_id BIGINT NOT NULL,
+    entered BIGINT NOT NULL,
+    exited BIGINT NOT NULL,
+    CONSTRAINT uk_board_daily_flow_key UNIQUE (board_id, flow_date, column_id)
+);
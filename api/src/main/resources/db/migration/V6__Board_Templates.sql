@@ -0,0 +1,4 @@
+-- V6__Board_Templates.sql
+-- Templates are boards kept out of board lists and dashboard counts.
+
+ALTER TABLE boards ADD COLUMN IF NOT EXISTS is_template BOOLEAN;
@@ -0,0 +1,15 @@
+-- V7__Card_Archive.sql
+-- Catalog of cards moved to the archive segment files (wisecamp.archive.dir).
+-- card_id keeps the card's original id so a restore can reuse it.
+
+CREATE TABLE IF NOT EXISTS archived_cards (
+    card_id BIGINT PRIMARY KEY,
+    board_id BIGINT NOT NULL,
+    column_id BIGINT,
+    title VARCHAR(255),
+    archived_at TIMESTAMP NOT NULL,
+    segment_no INTEGER NOT NULL,
+    record_seq BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_archived_cards_board ON archived_cards (board_id, card_id);
@@ -0,0 +1,20 @@
+-- V8__Soft_Delete_And_Purge_Jobs.sql
+-- Deleted boards and projects are hidden by deleted_at and removed later by BulkPurger.
+
+ALTER TABLE boards ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP;
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP;
+
+CREATE TABLE IF NOT EXISTS purge_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    target VARCHAR(16) NOT NULL,
+    target_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    phase VARCHAR(255),
+    rows_deleted BIGINT NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_purge_jobs_status ON purge_jobs (status, id);
@@ -0,0 +1,28 @@
+-- V9__Hot_Path_Indexes.sql
+-- Every foreign key the read and access-check paths join or filter on.
+-- IF NOT EXISTS because databases first built by ddl-auto are baselined at
+-- V1 and may already have some of these.
+
+-- Board read and column writes: a board's columns in display order
+CREATE INDEX IF NOT EXISTS idx_columns_board ON columns (board_id, position, id);
+
+-- Board read, card positions and column deletes: a column's cards in display order
+CREATE INDEX IF NOT EXISTS idx_cards_column ON cards (column_id, position, id);
+
+-- Card details, archive and purge
+CREATE INDEX IF NOT EXISTS idx_comments_card ON comments (card_id, id);
+CREATE INDEX IF NOT EXISTS idx_card_attachments_card ON card_attachments (card_id, id);
+CREATE INDEX IF NOT EXISTS idx_checklist_items_card ON checklist_items (card_id, position, id);
+
+-- The join table keys lead with board_id / project_id; member lists, access
+-- checks and dashboards also look members up by user
+CREATE INDEX IF NOT EXISTS idx_board_members_user ON board_members (user_id, board_id);
+CREATE INDEX IF NOT EXISTS idx_project_members_user ON project_members (user_id, project_id);
+
+-- Project detail and project delete, owner checks
+CREATE INDEX IF NOT EXISTS idx_boards_project ON boards (project_id);
+CREATE INDEX IF NOT EXISTS idx_boards_owner ON boards (user_id);
+CREATE INDEX IF NOT EXISTS idx_projects_owner ON projects (owner_id);
+
+-- Cycle time follows single cards within a board
+CREATE INDEX IF NOT EXISTS idx_card_transitions_card ON card_transitions (board_id, card_id, moved_at);
@@ -0,0 +1,42 @@
+package com.wisecamp.api.config.persistence;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import com.wisecamp.api.config.metrics.RequestMetrics;
+import com.wisecamp.api.config.persistence.StatementCounter.RequestStatements;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps the statements of the last request the query budget interceptor
+ * closed, for tests that assert on them. Import it into the test class.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class RecordedStatements {
+
+    public static class Recorder extends RequestMetrics {
+        private volatile RequestStatements last;
+
+        Recorder(MeterRegistry registry) {
+            super(registry);
+        }
+
+        @Override
+        public void record(RequestStatements statements) {
+            last = statements;
+            super.record(statements);
+        }
+
+        public RequestStatements last() {
+            return last;
+        }
+    }
+
+    @Bean
+    @Primary
+    Recorder recordingRequestMetrics(MeterRegistry registry) {
+        return new Recorder(registry);
+    }
+}
@@ -0,0 +1,131 @@
+package com.wisecamp.api.config.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wisecamp.api.config.web.WireFormat;
+import com.wisecamp.api.service.BoardSnapshotCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica; each
+ * holds one row naming itself, so every read shows where it was routed.
+ * Nothing copies writes across, so the replica behaves as one that is
+ * always behind.
+ */
+class ReplicaRoutingDataSourceTests {
+
+    private volatile boolean replicaDown;
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void routesReadOnlyWorkToTheReplicaUnlessTheUserJustWroteOrTheReplicaIsDown() throws Exception {
+        DataSource primary = database("primary");
+        DataSource replica = new DelegatingDataSource(database("replica")) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (replicaDown)
+                    throw new SQLException("replica unreachable");
+                return super.getConnection();
+            }
+        };
+        try (ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replica), 60_000,
+                10_000, null, 0)) {
+            DataSource dataSource = ReplicaRoutingConfig.routingProxy(router);
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            TransactionTemplate readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            readOnly.setReadOnly(true);
+            String query = "select name from origin";
+
+            signIn("alice");
+            assertThat(readOnly.<String>execute(status -> jdbc.queryForObject(query, String.class))).isEqualTo("replica");
+            assertThat(readWrite.<String>execute(status -> jdbc.queryForObject(query, String.class))).isEqualTo("primary");
+            assertThat(readOnly.<String>execute(status -> jdbc.queryForObject(query, String.class))).isEqualTo("primary");
+
+            signIn("bob");
+            assertThat(readOnly.<String>execute(status -> jdbc.queryForObject(query, String.class))).isEqualTo("replica");
+
+            replicaDown = true;
+            assertThat(readOnly.<String>execute(status -> jdbc.queryForObject(query, String.class))).isEqualTo("primary");
+            router.checkReplicas();
+            replicaDown = false;
+            assertThat(readOnly.<String>execute(status -> jdbc.queryForObject(query, String.class))).isEqualTo("primary");
+            router.checkReplicas();
+            assertThat(readOnly.<String>execute(status -> jdbc.queryForObject(query, String.class))).isEqualTo("replica");
+        }
+    }
+
+    @Test
+    void sharedBoardSnapshotsNeverHoldAReplicaReadFromBeforeTheWrite() throws Exception {
+        DataSource primary = database("cache-primary");
+        DataSource replica = database("cache-replica");
+        try (ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replica), 60_000,
+                10_000, null, 0)) {
+            DataSource dataSource = ReplicaRoutingConfig.routingProxy(router);
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            TransactionTemplate readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            readOnly.setReadOnly(true);
+            BoardSnapshotCache cache = new BoardSnapshotCache(new SimpleMeterRegistry(), true, 1 << 20, 1024, 100);
+            BoardSnapshotCache.Loader loader = out -> {
+                out.write(readOnly.<String>execute(status -> jdbc.queryForObject("select name from origin",
+                        String.class)).getBytes(StandardCharsets.UTF_8));
+                return true;
+            };
+
+            signIn("alice");
+            readWrite.executeWithoutResult(status -> jdbc.update("update origin set name = 'renamed'"));
+            cache.boardChanged(1);
+
+            signIn("bob");
+            assertThat(new String(cache.getOrLoad(1L, WireFormat.JSON, loader).body(), StandardCharsets.UTF_8))
+                    .isEqualTo("renamed");
+
+            signIn("alice");
+            assertThat(new String(cache.getOrLoad(1L, WireFormat.JSON, loader).body(), StandardCharsets.UTF_8))
+                    .isEqualTo("renamed");
+
+            // Outside a shared load bob still reads the replica
+            signIn("bob");
+            assertThat(readOnly.<String>execute(status -> jdbc.queryForObject("select name from origin",
+                    String.class))).isEqualTo("cache-replica");
+        }
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists origin (name varchar(16))");
+        jdbc.update("delete from origin");
+        jdbc.update("insert into origin (name) values (?)", name);
+        return dataSource;
+    }
+
+    private static void signIn(String user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}
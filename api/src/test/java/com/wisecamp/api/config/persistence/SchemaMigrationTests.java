@@ -0,0 +1,158 @@
+package com.wisecamp.api.config.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Applies db/migration to an empty database and starts the application on
+ * it with {@code ddl-auto=validate}, as production does, so an entity that
+ * no longer matches the migrations fails here.
+ * <p>
+ * Runs on H2 in PostgreSQL mode. H2 has neither table partitioning nor
+ * covering index columns, so those clauses of V2 and V10 are taken out;
+ * everything else runs as written. The partitioning itself is checked on
+ * PostgreSQL when {@code -Dwisecamp.test.postgres-url} names a database
+ * (with {@code wisecamp.test.postgres-user} and
+ * {@code wisecamp.test.postgres-password}); the migrations go into a
+ * schema of their own, dropped afterwards.
+ */
+@SpringBootTest(properties = { "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:migrated;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate" })
+@ActiveProfiles("dev")
+class SchemaMigrationTests {
+
+    private static final Map<Pattern, String> POSTGRES_ONLY = Map.of(
+            Pattern.compile("\\s*PARTITION BY HASH \\(board_id\\)"), "",
+            Pattern.compile("(?s)DO \\$\\$.*?END \\$\\$;"), "",
+            Pattern.compile("\\s*INCLUDE \\([^)]*\\)"), "");
+
+    private static Path h2Scripts;
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void migrations(DynamicPropertyRegistry registry) {
+        registry.add("spring.flyway.locations", () -> "filesystem:" + h2Scripts());
+    }
+
+    @Test
+    void appliesEveryMigrationAndTheEntitiesValidateAgainstTheResult() throws Exception {
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("12");
+        assertThat(flyway.info().pending()).isEmpty();
+
+        // V2 keys activities by board first, as partitioning by board requires
+        Map<Short, String> key = new TreeMap<>();
+        try (Connection connection = dataSource.getConnection();
+                ResultSet columns = connection.getMetaData().getPrimaryKeys(null, null, "ACTIVITIES")) {
+            while (columns.next())
+                key.put(columns.getShort("KEY_SEQ"), columns.getString("COLUMN_NAME").toLowerCase());
+        }
+        assertThat(key.values()).containsExactly("board_id", "id");
+    }
+
+    @Test
+    void cardsWithoutAPositionAreNumberedAfterTheirColumnAndPositionsAreRequiredFromThen() {
+        DataSource database = new DriverManagerDataSource("jdbc:h2:mem:backfill;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "sa", "");
+        Flyway.configure().dataSource(database).locations("filesystem:" + h2Scripts()).target("11").load()
+                .migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.update("insert into users (email, password) values ('backfill@wisecamp.test', 'x')");
+        jdbc.update("insert into boards (name, user_id) select 'Board', id from users");
+        jdbc.update("insert into columns (name, position, board_id) select 'Todo', 0, id from boards");
+        jdbc.update("insert into columns (name, position, board_id) select 'Done', 1, id from boards");
+        long todo = jdbc.queryForObject("select id from columns where name = 'Todo'", Long.class);
+        long done = jdbc.queryForObject("select id from columns where name = 'Done'", Long.class);
+        card(jdbc, todo, "first", 0);
+        card(jdbc, todo, "unplaced", null);
+        card(jdbc, todo, "second", 4);
+        card(jdbc, todo, "also unplaced", null);
+        card(jdbc, done, "only unplaced", null);
+        card(jdbc, done, "then unplaced", null);
+
+        Flyway.configure().dataSource(database).locations("filesystem:" + h2Scripts()).load().migrate();
+
+        assertThat(jdbc.queryForList("select title, position from cards order by id"))
+                .extracting(row -> row.get("TITLE") + "=" + row.get("POSITION"))
+                .containsExactly("first=0", "unplaced=5", "second=4", "also unplaced=6", "only unplaced=1",
+                        "then unplaced=2");
+        assertThatThrownBy(() -> card(jdbc, todo, "late", null))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "wisecamp.test.postgres-url", matches = ".+")
+    void activitiesAreHashPartitionedByBoardOnPostgres() {
+        DataSource database = new DriverManagerDataSource(System.getProperty("wisecamp.test.postgres-url"),
+                System.getProperty("wisecamp.test.postgres-user", "postgres"),
+                System.getProperty("wisecamp.test.postgres-password", ""));
+        String schema = "migration_test_" + System.currentTimeMillis();
+        Flyway postgres = Flyway.configure().dataSource(database).schemas(schema).cleanDisabled(false).load();
+        try {
+            postgres.migrate();
+            JdbcTemplate jdbc = new JdbcTemplate(database);
+            String activities = schema + ".activities";
+            assertThat(jdbc.queryForObject("select partstrat::text from pg_partitioned_table "
+                    + "where partrelid = ?::regclass", String.class, activities)).isEqualTo("h");
+            assertThat(jdbc.queryForObject("select count(*) from pg_inherits where inhparent = ?::regclass",
+                    Integer.class, activities)).isEqualTo(8);
+        } finally {
+            // Drops the schema, which Flyway created
+            postgres.clean();
+        }
+    }
+
+    private static void card(JdbcTemplate jdbc, long columnId, String title, Integer position) {
+        jdbc.update("insert into cards (title, position, column_id) values (?, ?, ?)", title, position, columnId);
+    }
+
+    // db/migration copied with the PostgreSQL-only clauses removed
+    private static synchronized Path h2Scripts() {
+        if (h2Scripts != null)
+            return h2Scripts;
+        try {
+            Path dir = Files.createTempDirectory("migrations");
+            for (Resource script : new PathMatchingResourcePatternResolver()
+                    .getResources("classpath:db/migration/*.sql")) {
+                String sql = script.getContentAsString(StandardCharsets.UTF_8);
+                for (Map.Entry<Pattern, String> clause : POSTGRES_ONLY.entrySet())
+                    sql = clause.getKey().matcher(sql).replaceAll(clause.getValue());
+                Files.writeString(dir.resolve(script.getFilename()), sql);
+            }
+            return h2Scripts = dir;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
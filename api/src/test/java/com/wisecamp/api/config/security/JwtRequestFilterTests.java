@@ -0,0 +1,149 @@
+package com.wisecamp.api.config.security;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.jayway.jsonpath.JsonPath;
+import com.wisecamp.api.model.Role;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.repository.UserRepository;
+
+/**
+ * Drives real bearer tokens through the filter: a token is accepted only
+ * while its epoch matches the registry, so changing the password or role,
+ * or removing the user, shuts out every token issued before.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class JwtRequestFilterTests {
+
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private TokenEpochRegistry registry;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void passwordChangeRevokesOlderTokensAndReturnsAWorkingOne() throws Exception {
+        int n = SEQ.incrementAndGet();
+        String registered = mvc.perform(json(post("/api/auth/register"), "{\"name\":\"Filter\",\"username\":\"filter"
+                + n + "\",\"email\":\"filter" + n + "@wisecamp.test\",\"password\":\"first-password\"}"))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        String oldToken = JsonPath.read(registered, "$.token");
+        // Registered after the last refresh: accepted at epoch 0 above the highest id seen
+        me(oldToken).andExpect(status().isOk());
+
+        String changed = mvc.perform(json(put("/api/users/me/password"),
+                "{\"currentPassword\":\"first-password\",\"newPassword\":\"second-password\"}")
+                .header("Authorization", "Bearer " + oldToken))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        String newToken = JsonPath.read(changed, "$.token");
+
+        me(oldToken).andExpect(status().isForbidden());
+        me(newToken).andExpect(status().isOk());
+        registry.refresh();
+        me(oldToken).andExpect(status().isForbidden());
+        me(newToken).andExpect(status().isOk());
+    }
+
+    @Test
+    void roleChangeRevokesTokensCarryingTheOldRole() throws Exception {
+        User admin = newUser(Role.SYSTEM_ADMINISTRATOR);
+        User member = newUser(Role.TEAM_MEMBER);
+        registry.refresh();
+        String token = jwtUtil.generateToken(member);
+        me(token).andExpect(status().isOk());
+
+        mvc.perform(json(put("/api/users/{id}/role", member.getId()), "{\"role\":\"PROJECT_MANAGER\"}")
+                .header("Authorization", "Bearer " + jwtUtil.generateToken(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.role").value("PROJECT_MANAGER"));
+
+        me(token).andExpect(status().isForbidden());
+        me(jwtUtil.generateToken(userRepository.findById(member.getId()).orElseThrow()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void removedUsersAreRejected() throws Exception {
+        User admin = newUser(Role.SYSTEM_ADMINISTRATOR);
+        User leaving = newUser(Role.TEAM_MEMBER);
+        registry.refresh();
+        String token = jwtUtil.generateToken(leaving);
+
+        mvc.perform(delete("/api/users/{id}", leaving.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateToken(admin)))
+                .andExpect(status().isNoContent());
+
+        me(token).andExpect(status().isForbidden());
+        // After a refresh the id is simply missing below the highest id seen
+        registry.refresh();
+        me(token).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void onlyAdministratorsChangeRolesOrRemoveUsers() throws Exception {
+        User member = newUser(Role.TEAM_MEMBER);
+        registry.refresh();
+        String token = jwtUtil.generateToken(member);
+
+        mvc.perform(json(put("/api/users/{id}/role", member.getId()), "{\"role\":\"SYSTEM_ADMINISTRATOR\"}")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mvc.perform(delete("/api/users/{id}", member.getId()).header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        me(token).andExpect(status().isOk());
+    }
+
+    @Test
+    void staleEpochIsRejected() throws Exception {
+        User user = newUser(Role.TEAM_MEMBER);
+        registry.refresh();
+        String stale = jwtUtil.generateToken(user);
+        registry.revoke(user.getId());
+
+        me(stale).andExpect(status().isForbidden());
+        me(jwtUtil.generateToken(userRepository.findById(user.getId()).orElseThrow())).andExpect(status().isOk());
+    }
+
+    private ResultActions me(String token) throws Exception {
+        return mvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token));
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private User newUser(Role role) {
+        int n = SEQ.incrementAndGet();
+        User user = new User();
+        user.setName("Filter User " + n);
+        user.setUsername("filteruser" + n);
+        user.setEmail("filteruser" + n + "@wisecamp.test");
+        user.setPassword("not-used");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,63 @@
+package com.wisecamp.api.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Buckets refill at one token a second, far slower than the test runs, so
+ * every request sees the bucket exactly as the previous one left it.
+ */
+class RateLimitFilterTests {
+
+    private final RateLimitFilter filter = new RateLimitFilter(new SimpleMeterRegistry(), true, 6, 1, 2, 1,
+            List.of("GET /api/boards/{boardId}=5"), 1000);
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void chargesEachUserTheRouteCostAndRejectsWithRetryAfter() throws Exception {
+        signIn("alice");
+        assertThat(call("GET", "/api/boards/7").getStatus()).isEqualTo(200);
+        assertThat(call("GET", "/api/users/me").getStatus()).isEqualTo(200);
+        MockHttpServletResponse rejected = call("GET", "/api/boards/7");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("5");
+
+        signIn("bob");
+        assertThat(call("GET", "/api/boards/7").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void limitsAuthEndpointsByClientAddress() throws Exception {
+        assertThat(call("POST", "/api/auth/login").getStatus()).isEqualTo(200);
+        assertThat(call("POST", "/api/auth/login").getStatus()).isEqualTo(200);
+        assertThat(call("POST", "/api/auth/login").getStatus()).isEqualTo(429);
+        assertThat(call("GET", "/actuator/health").getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse call(String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void signIn(String user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}
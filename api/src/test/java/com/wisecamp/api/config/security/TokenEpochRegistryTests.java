@@ -0,0 +1,108 @@
+package com.wisecamp.api.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.wisecamp.api.model.Role;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.repository.UserRepository;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("dev")
+class TokenEpochRegistryTests {
+
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    @Autowired
+    private TokenEpochRegistry registry;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void acceptsOnlyTheCurrentEpochOfAKnownUser() {
+        User user = newUser();
+        registry.refresh();
+        assertThat(registry.isCurrent(user.getId(), 0)).isTrue();
+        assertThat(registry.isCurrent(user.getId(), 1)).isFalse();
+
+        registry.revoke(user.getId());
+        assertThat(registry.isCurrent(user.getId(), 0)).as("stale epoch").isFalse();
+        assertThat(registry.isCurrent(user.getId(), 1)).isTrue();
+
+        // The bump survives a refresh that has caught up with it
+        registry.refresh();
+        assertThat(registry.isCurrent(user.getId(), 0)).isFalse();
+        assertThat(registry.isCurrent(user.getId(), 1)).isTrue();
+    }
+
+    @Test
+    void rejectsIdsBelowTheHighestSeenThatAreNotInTheTable() {
+        User removed = newUser();
+        User kept = newUser();
+        registry.refresh();
+        userRepository.delete(removed);
+        registry.refresh();
+
+        assertThat(registry.isCurrent(kept.getId(), 0)).isTrue();
+        assertThat(registry.isCurrent(removed.getId(), 0)).as("unknown id").isFalse();
+    }
+
+    @Test
+    void acceptsUsersRegisteredAfterTheLastRefreshAtEpochZero() {
+        registry.refresh();
+        User late = newUser();
+
+        assertThat(registry.isCurrent(late.getId(), 0)).as("new user above maxId").isTrue();
+        assertThat(registry.isCurrent(late.getId(), 1)).isFalse();
+
+        registry.revoke(late.getId());
+        assertThat(registry.isCurrent(late.getId(), 0)).isFalse();
+        assertThat(registry.isCurrent(late.getId(), 1)).isTrue();
+    }
+
+    @Test
+    void removedUsersStopValidatingBeforeTheNextRefresh() {
+        User user = newUser();
+        registry.refresh();
+        userRepository.delete(user);
+        registry.remove(user.getId());
+
+        assertThat(registry.isCurrent(user.getId(), 0)).isFalse();
+        registry.refresh();
+        assertThat(registry.isCurrent(user.getId(), 0)).isFalse();
+    }
+
+    @Test
+    void usersRemovedBeforeAnySnapshotSawThemStayRemovedAfterARefresh() {
+        registry.refresh();
+        User user = newUser();
+        userRepository.delete(user);
+        registry.remove(user.getId());
+
+        registry.refresh();
+        assertThat(registry.isCurrent(user.getId(), 0)).as("id above maxId").isFalse();
+
+        // Once a later user lifts maxId past it the snapshot alone rejects the id
+        newUser();
+        registry.refresh();
+        registry.refresh();
+        assertThat(registry.isCurrent(user.getId(), 0)).isFalse();
+    }
+
+    private User newUser() {
+        int n = SEQ.incrementAndGet();
+        User user = new User();
+        user.setName("Epoch " + n);
+        user.setUsername("epoch" + n);
+        user.setEmail("epoch" + n + "@wisecamp.test");
+        user.setPassword("not-used");
+        user.setRole(Role.TEAM_MEMBER);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,26 @@
+package com.wisecamp.api.config.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ContentCodingTests {
+
+    @Test
+    void honoursQualityValues() {
+        assertThat(ContentCoding.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(ContentCoding.acceptsGzip("br;q=1.0, gzip;q=0.8")).isTrue();
+        assertThat(ContentCoding.acceptsGzip("x-gzip")).isTrue();
+        assertThat(ContentCoding.acceptsGzip("*")).isTrue();
+
+        assertThat(ContentCoding.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ContentCoding.acceptsGzip("gzip; q=0.000, identity")).isFalse();
+        assertThat(ContentCoding.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(ContentCoding.acceptsGzip("*;q=0")).isFalse();
+        assertThat(ContentCoding.acceptsGzip("deflate, identity")).isFalse();
+        assertThat(ContentCoding.acceptsGzip("gzipped")).isFalse();
+        assertThat(ContentCoding.acceptsGzip("gzip;q=abc")).isFalse();
+        assertThat(ContentCoding.acceptsGzip("")).isFalse();
+        assertThat(ContentCoding.acceptsGzip(null)).isFalse();
+    }
+}
@@ -0,0 +1,62 @@
+package com.wisecamp.api.controller;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.jayway.jsonpath.JsonPath;
+import com.wisecamp.api.model.Role;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.repository.UserRepository;
+
+/**
+ * Builds fixtures through the API as a saved user, for controller tests
+ * running with {@code @AutoConfigureMockMvc}. Import it into the test class.
+ */
+@TestComponent
+class ApiFixture {
+
+    private final MockMvc mvc;
+    private final UserRepository userRepository;
+
+    ApiFixture(MockMvc mvc, UserRepository userRepository) {
+        this.mvc = mvc;
+        this.userRepository = userRepository;
+    }
+
+    /** A team member signing in as {@code <name>@wisecamp.test}. */
+    User newUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setUsername(name);
+        user.setEmail(name + "@wisecamp.test");
+        user.setPassword("not-used");
+        user.setRole(Role.TEAM_MEMBER);
+        return userRepository.save(user);
+    }
+
+    String call(MockHttpServletRequestBuilder request, User as) throws Exception {
+        return call(request, as, null);
+    }
+
+    /** Expects a 2xx and returns the response body. */
+    String call(MockHttpServletRequestBuilder request, User as, String body) throws Exception {
+        if (body != null)
+            request.contentType(MediaType.APPLICATION_JSON).content(body);
+        return mvc.perform(request.with(user(as.getEmail())))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    static long id(String json) {
+        return id(json, "$.id");
+    }
+
+    static long id(String json, String path) {
+        return ((Number) JsonPath.read(json, path)).longValue();
+    }
+}
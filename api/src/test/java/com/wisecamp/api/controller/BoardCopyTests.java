@@ -0,0 +1,65 @@
+package com.wisecamp.api.controller;
+
+import static com.wisecamp.api.controller.ApiFixture.id;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.jayway.jsonpath.JsonPath;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.service.DashboardService;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@Import(ApiFixture.class)
+class BoardCopyTests {
+
+    @Autowired
+    private ApiFixture api;
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Test
+    void templateRoundTripKeepsStructure() throws Exception {
+        User owner = api.newUser("copy-owner");
+
+        long boardId = id(api.call(post("/api/boards"), owner, "{\"name\":\"Sprint\",\"isPublic\":false}"));
+        long todo = id(api.call(post("/api/boards/{id}/columns", boardId), owner,
+                "{\"name\":\"Todo\",\"position\":0}"));
+        long done = id(api.call(post("/api/boards/{id}/columns", boardId), owner,
+                "{\"name\":\"Done\",\"position\":1}"));
+        api.call(post("/api/cards"), owner, "{\"columnId\":" + todo + ",\"title\":\"one\"}");
+        api.call(post("/api/cards"), owner, "{\"columnId\":" + todo + ",\"title\":\"two\"}");
+        api.call(post("/api/cards"), owner, "{\"columnId\":" + done + ",\"title\":\"three\"}");
+
+        long templateId = id(api.call(post("/api/boards/{id}/template", boardId), owner,
+                "{\"name\":\"Sprint template\"}"));
+        List<Object> templates = JsonPath.read(api.call(get("/api/boards/templates"), owner), "$[*].id");
+        assertThat(templates).containsExactly((int) templateId);
+        List<Object> boards = JsonPath.read(api.call(get("/api/boards"), owner), "$[*].id");
+        assertThat(boards).containsExactly((int) boardId);
+
+        String copy = api.call(post("/api/boards/{id}/clone", templateId), owner, "{\"name\":\"Sprint 2\"}");
+        assertThat((Integer) JsonPath.read(copy, "$.cardCount")).isEqualTo(3);
+        String board = api.call(get("/api/boards/{id}", id(copy)), owner);
+        List<String> columns = JsonPath.read(board, "$.columns[*].name");
+        List<String> todoCards = JsonPath.read(board, "$.columns[0].cards[*].title");
+        List<String> doneCards = JsonPath.read(board, "$.columns[1].cards[*].title");
+        assertThat(columns).containsExactly("Todo", "Done");
+        assertThat(todoCards).containsExactly("one", "two");
+        assertThat(doneCards).containsExactly("three");
+
+        assertThat(dashboardService.getDashboard(owner.getId()).boards()).isEqualTo(2);
+        assertThat(dashboardService.getDashboard(owner.getId()).cardsByColumn().get("Todo")).isEqualTo(4);
+    }
+}
@@ -0,0 +1,93 @@
+package com.wisecamp.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.wisecamp.api.config.persistence.RecordedStatements;
+import com.wisecamp.api.model.Board;
+import com.wisecamp.api.model.Card;
+import com.wisecamp.api.model.Column;
+import com.wisecamp.api.model.Role;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.repository.BoardRepository;
+import com.wisecamp.api.repository.UserRepository;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@Import(RecordedStatements.class)
+class BoardSnapshotCacheTests {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private RecordedStatements.Recorder statements;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Test
+    void servesCachedPayloadUntilACardChanges() throws Exception {
+        User owner = new User();
+        owner.setName("Cache Owner");
+        owner.setUsername("cacheowner");
+        owner.setEmail("cache-owner@wisecamp.test");
+        owner.setPassword("not-used");
+        owner.setRole(Role.TEAM_MEMBER);
+        owner = userRepository.save(owner);
+
+        Board board = new Board();
+        board.setName("Cached");
+        board.setIsPublic(false);
+        board.setOwner(owner);
+        board.setMembers(new HashSet<>());
+        board.getMembers().add(owner);
+        Column column = new Column();
+        column.setName("Todo");
+        column.setPosition(0L);
+        column.setBoard(board);
+        column.setCards(new ArrayList<>());
+        Card card = new Card();
+        card.setTitle("before");
+        card.setPosition(1);
+        card.setColumn(column);
+        column.getCards().add(card);
+        board.setColumns(new ArrayList<>());
+        board.getColumns().add(column);
+        board = boardRepository.save(board);
+        Long cardId = board.getColumns().get(0).getCards().get(0).getId();
+
+        String first = read(board.getId(), owner);
+        int missStatements = statements.last().count();
+        assertThat(read(board.getId(), owner)).isEqualTo(first);
+        assertThat(statements.last().count()).isLessThan(missStatements);
+
+        mvc.perform(put("/api/cards/{id}", cardId).with(user(owner.getEmail()))
+                .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"after\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(read(board.getId(), owner)).contains("\"title\":\"after\"").doesNotContain("before");
+    }
+
+    private String read(Long boardId, User as) throws Exception {
+        return mvc.perform(get("/api/boards/{id}", boardId).with(user(as.getEmail())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
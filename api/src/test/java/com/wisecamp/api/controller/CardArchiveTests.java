@@ -0,0 +1,105 @@
+package com.wisecamp.api.controller;
+
+import static com.wisecamp.api.controller.ApiFixture.id;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.jayway.jsonpath.JsonPath;
+import com.wisecamp.api.model.User;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@Import(ApiFixture.class)
+class CardArchiveTests {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ApiFixture api;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void archivedCardsLeaveTheBoardAndComeBackWhereTheyWere() throws Exception {
+        User owner = api.newUser("archive-owner");
+        long boardId = id(api.call(post("/api/boards"), owner, "{\"name\":\"Archive\",\"isPublic\":false}"));
+        long todo = id(api.call(post("/api/boards/{id}/columns", boardId), owner,
+                "{\"name\":\"Todo\",\"position\":0}"));
+        api.call(post("/api/cards"), owner, "{\"columnId\":" + todo + ",\"title\":\"one\"}");
+        long two = id(api.call(post("/api/cards"), owner, "{\"columnId\":" + todo + ",\"title\":\"two\"}"));
+        api.call(post("/api/cards"), owner, "{\"columnId\":" + todo + ",\"title\":\"three\"}");
+        jdbcTemplate.update("insert into comments (comment, card_id, user_id) values (?, ?, ?)", "kept", two,
+                owner.getId());
+        // Cached, so the archive has to invalidate it
+        assertThat(titles(api.call(get("/api/boards/{id}", boardId), owner))).containsExactly("one", "two", "three");
+
+        api.call(post("/api/cards/{id}/archive", two), owner);
+
+        assertThat(titles(api.call(get("/api/boards/{id}", boardId), owner))).containsExactly("one", "three");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from comments where card_id = ?", Integer.class,
+                two)).isZero();
+        List<Object> archived = JsonPath.read(api.call(get("/api/boards/{id}/archive", boardId), owner),
+                "$.cards[*].cardId");
+        assertThat(archived).containsExactly((int) two);
+        String card = api.call(get("/api/boards/{id}/archive/{cardId}", boardId, two), owner);
+        assertThat((String) JsonPath.read(card, "$.title")).isEqualTo("two");
+        List<String> comments = JsonPath.read(card, "$.comments[*].comment");
+        assertThat(comments).containsExactly("kept");
+
+        String restored = api.call(post("/api/boards/{id}/archive/{cardId}/restore", boardId, two), owner);
+
+        assertThat(id(restored)).isEqualTo(two);
+        assertThat(titles(api.call(get("/api/boards/{id}", boardId), owner))).containsExactly("one", "two", "three");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from comments where card_id = ?", Integer.class,
+                two)).isEqualTo(1);
+        List<Object> left = JsonPath.read(api.call(get("/api/boards/{id}/archive", boardId), owner),
+                "$.cards[*].cardId");
+        assertThat(left).isEmpty();
+    }
+
+    @Test
+    void onlyBoardMembersCanArchiveBrowseOrRestore() throws Exception {
+        User owner = api.newUser("archive-member");
+        User outsider = api.newUser("archive-outsider");
+        long boardId = id(api.call(post("/api/boards"), owner, "{\"name\":\"Private\",\"isPublic\":false}"));
+        long todo = id(api.call(post("/api/boards/{id}/columns", boardId), owner,
+                "{\"name\":\"Todo\",\"position\":0}"));
+        long kept = id(api.call(post("/api/cards"), owner, "{\"columnId\":" + todo + ",\"title\":\"kept\"}"));
+        long archived = id(api.call(post("/api/cards"), owner, "{\"columnId\":" + todo + ",\"title\":\"gone\"}"));
+        api.call(post("/api/cards/{id}/archive", archived), owner);
+
+        forbidden(post("/api/cards/{id}/archive", kept), outsider);
+        forbidden(get("/api/boards/{id}/archive", boardId), outsider);
+        forbidden(get("/api/boards/{id}/archive/{cardId}", boardId, archived), outsider);
+        forbidden(post("/api/boards/{id}/archive/{cardId}/restore", boardId, archived), outsider);
+
+        assertThat(titles(api.call(get("/api/boards/{id}", boardId), owner))).containsExactly("kept");
+        List<Object> stillArchived = JsonPath.read(api.call(get("/api/boards/{id}/archive", boardId), owner),
+                "$.cards[*].cardId");
+        assertThat(stillArchived).containsExactly((int) archived);
+    }
+
+    private void forbidden(MockHttpServletRequestBuilder request, User as) throws Exception {
+        mvc.perform(request.with(user(as.getEmail()))).andExpect(status().isForbidden());
+    }
+
+    private static List<String> titles(String board) {
+        return JsonPath.read(board, "$.columns[0].cards[*].title");
+    }
+}
@@ -0,0 +1,58 @@
+package com.wisecamp.api.controller;
+
+import static com.wisecamp.api.controller.ApiFixture.id;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.jayway.jsonpath.JsonPath;
+import com.wisecamp.api.model.User;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@Import(ApiFixture.class)
+class ColumnCardPageTests {
+
+    @Autowired
+    private ApiFixture api;
+
+    @Test
+    void boardReadStopsEachColumnAtTheLimitAndTheColumnEndpointContinues() throws Exception {
+        User owner = api.newUser("pager");
+
+        long projectId = id(api.call(post("/api/projects"), owner, "{\"name\":\"Pages\",\"description\":\"p\"}"));
+        long boardId = id(api.call(post("/api/boards"), owner,
+                "{\"name\":\"Pages\",\"isPublic\":false,\"projectId\":" + projectId + "}"));
+        long columnId = id(api.call(post("/api/boards/{id}/columns", boardId), owner, "{\"name\":\"Todo\"}"));
+        for (int i = 1; i <= 5; i++)
+            api.call(post("/api/cards"), owner,
+                    "{\"columnId\":" + columnId + ",\"title\":\"Card " + i + "\",\"name\":\"c" + i + "\"}");
+
+        String board = api.call(get("/api/boards/{id}", boardId).param("cardsPerColumn", "2"), owner);
+        List<String> firstTitles = JsonPath.read(board, "$.columns[0].cards[*].title");
+        assertThat(firstTitles).containsExactly("Card 1", "Card 2");
+        String cursor = JsonPath.read(board, "$.columns[0].nextCursor");
+        assertThat(cursor).isNotNull();
+
+        String page = api.call(get("/api/columns/{id}/cards", columnId).param("after", cursor).param("limit", "2"),
+                owner);
+        List<String> secondTitles = JsonPath.read(page, "$.cards[*].title");
+        assertThat(secondTitles).containsExactly("Card 3", "Card 4");
+
+        String last = api.call(get("/api/columns/{id}/cards", columnId)
+                .param("after", (String) JsonPath.read(page, "$.nextCursor")).param("limit", "2"), owner);
+        List<String> lastTitles = JsonPath.read(last, "$.cards[*].title");
+        assertThat(lastTitles).containsExactly("Card 5");
+        assertThat((Object) JsonPath.read(last, "$.nextCursor")).isNull();
+    }
+}
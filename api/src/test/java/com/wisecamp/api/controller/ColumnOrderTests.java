@@ -0,0 +1,49 @@
+package com.wisecamp.api.controller;
+
+import static com.wisecamp.api.controller.ApiFixture.id;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.jayway.jsonpath.JsonPath;
+import com.wisecamp.api.model.User;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@Import(ApiFixture.class)
+class ColumnOrderTests {
+
+    @Autowired
+    private ApiFixture api;
+
+    @Test
+    void reordersAllColumnsAndRejectsPartialOrders() throws Exception {
+        User owner = api.newUser("order-owner");
+
+        long boardId = id(api.call(post("/api/boards"), owner, "{\"name\":\"Order\",\"isPublic\":false}"));
+        long todo = id(api.call(post("/api/boards/{id}/columns", boardId), owner, "{\"name\":\"Todo\"}"));
+        long doing = id(api.call(post("/api/boards/{id}/columns", boardId), owner, "{\"name\":\"Doing\"}"));
+        long done = id(api.call(post("/api/boards/{id}/columns", boardId), owner, "{\"name\":\"Done\"}"));
+
+        api.call(put("/api/boards/{id}/columns/order", boardId), owner,
+                "{\"columnIds\":[" + done + "," + todo + "," + doing + "]}");
+        List<String> names = JsonPath.read(api.call(get("/api/boards/{id}", boardId), owner), "$.columns[*].name");
+        assertThat(names).containsExactly("Done", "Todo", "Doing");
+
+        assertThatThrownBy(() -> api.call(put("/api/boards/{id}/columns/order", boardId), owner,
+                "{\"columnIds\":[" + todo + "]}"))
+                .hasRootCauseMessage("Column order must list every column of the board once");
+    }
+}
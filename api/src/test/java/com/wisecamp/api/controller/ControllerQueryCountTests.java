@@ -0,0 +1,360 @@
+package com.wisecamp.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.jayway.jsonpath.JsonPath;
+import com.wisecamp.api.config.persistence.QueryBudget;
+import com.wisecamp.api.config.persistence.RecordedStatements;
+import com.wisecamp.api.config.persistence.StatementCounter.RequestStatements;
+import com.wisecamp.api.model.Board;
+import com.wisecamp.api.model.Card;
+import com.wisecamp.api.model.Column;
+import com.wisecamp.api.model.Project;
+import com.wisecamp.api.model.Role;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.repository.BoardRepository;
+import com.wisecamp.api.repository.ProjectRepository;
+import com.wisecamp.api.repository.UserRepository;
+
+/**
+ * Walks every endpoint that declares a {@code @QueryBudget} and asserts it
+ * runs exactly that many statements, so a budget is both a ceiling and a
+ * record of the current count. The hot endpoints are also run against a
+ * small and a large seeded board: any per-row lazy load shows up as a
+ * difference.
+ */
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "wisecamp.query-budget.mode=log" })
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@Import(RecordedStatements.class)
+class ControllerQueryCountTests {
+
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private RecordedStatements.Recorder recorded;
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Test
+    void everyBudgetedEndpointRunsExactlyItsBudget() throws Exception {
+        Map<String, RequestStatements> measured = new TreeMap<>();
+        // Analytics is for project managers
+        User owner = newUser(Role.PROJECT_MANAGER);
+        User other = newUser();
+        User admin = newUser(Role.SYSTEM_ADMINISTRATOR);
+
+        int n = SEQ.incrementAndGet();
+        exact(measured, json(post("/api/auth/register"), "{\"name\":\"Budget\",\"username\":\"budget" + n
+                + "\",\"email\":\"budget" + n + "@wisecamp.test\",\"password\":\"secret-password\""
+                + ",\"role\":\"TEAM_MEMBER\"}"), null);
+        exact(measured, json(post("/api/auth/login"), "{\"email\":\"budget" + n
+                + "@wisecamp.test\",\"password\":\"secret-password\"}"), null);
+
+        exact(measured, get("/api/users"), owner);
+        exact(measured, get("/api/users/me"), owner);
+        exact(measured, json(put("/api/users/me"), "{\"name\":\"Renamed\"}"), owner);
+
+        long projectId = id(exact(measured, json(post("/api/projects"), "{\"name\":\"Budget\",\"description\":\"d\"}"),
+                owner));
+        exact(measured, get("/api/projects"), owner);
+        exact(measured, get("/api/projects/{id}", projectId), owner);
+        exact(measured, json(put("/api/projects/{id}", projectId), "{\"name\":\"Budget 2\",\"description\":\"d\"}"),
+                owner);
+
+        long boardId = id(exact(measured, json(post("/api/boards"),
+                "{\"name\":\"Budget\",\"isPublic\":false,\"projectId\":" + projectId + "}"), owner));
+        // Project membership and deletion also touch each of the project's boards; measured with one
+        exact(measured, json(post("/api/projects/{id}/members", projectId),
+                "{\"email\":\"" + other.getEmail() + "\"}"), owner);
+        exact(measured, delete("/api/projects/{id}/members/{userId}", projectId, other.getId()), owner);
+        exact(measured, get("/api/boards"), owner);
+        exact(measured, get("/api/boards/templates"), owner);
+        exact(measured, json(post("/api/boards/{id}/columns", boardId), "{\"name\":\"Todo\"}"), owner);
+        call(json(post("/api/boards/{id}/columns", boardId), "{\"name\":\"Done\"}"), owner);
+        List<Integer> columns = JsonPath.read(exact(measured, get("/api/boards/{id}", boardId), owner),
+                "$.columns[*].id");
+        long todo = columns.get(0);
+        long done = columns.get(1);
+        exact(measured, json(put("/api/boards/{id}", boardId), "{\"name\":\"Budget 2\",\"isPublic\":false}"),
+                owner);
+        exact(measured, json(put("/api/boards/{id}/columns/order", boardId),
+                "{\"columnIds\":[" + done + "," + todo + "]}"), owner);
+        exact(measured, json(put("/api/boards/{id}/columns/{columnId}", boardId, todo), "{\"name\":\"Doing\"}"),
+                owner);
+        exact(measured, json(post("/api/boards/{id}/members", boardId), "{\"userId\":" + other.getId() + "}"),
+                owner);
+        exact(measured, delete("/api/boards/{id}/members/{userId}", boardId, other.getId()), owner);
+
+        long cardId = id(exact(measured, json(post("/api/cards"), "{\"columnId\":" + todo + ",\"title\":\"Card\"}"),
+                owner));
+        long archivedId = id(call(json(post("/api/cards"), "{\"columnId\":" + todo + ",\"title\":\"Old\"}"),
+                owner));
+        exact(measured, get("/api/cards/{id}", cardId), owner);
+        exact(measured, json(put("/api/cards/{id}", cardId), "{\"title\":\"Card 2\"}"), owner);
+        exact(measured, json(patch("/api/cards/{id}/move", cardId), moveBody(done)), owner);
+        exact(measured, get("/api/columns/{id}/cards", done), owner);
+
+        exact(measured, get("/api/boards/{id}/activities", boardId), owner);
+        exact(measured, get("/api/users/me/activities"), owner);
+        exact(measured, get("/api/boards/{id}/analytics/cumulative-flow", boardId), owner);
+        exact(measured, get("/api/boards/{id}/analytics/cycle-time", boardId), owner);
+        exact(measured, get("/api/dashboard"), owner);
+
+        exact(measured, post("/api/cards/{id}/archive", archivedId), owner);
+        exact(measured, get("/api/boards/{id}/archive", boardId), owner);
+        exact(measured, get("/api/boards/{id}/archive/{cardId}", boardId, archivedId), owner);
+        exact(measured, post("/api/boards/{id}/archive/{cardId}/restore", boardId, archivedId), owner);
+
+        exact(measured, post("/api/boards/{id}/template", boardId), owner);
+        exact(measured, post("/api/boards/{id}/clone", boardId), owner);
+        exact(measured, delete("/api/cards/{id}", cardId), owner);
+        exact(measured, delete("/api/boards/{id}/columns/{columnId}", boardId, todo), owner);
+        exact(measured, delete("/api/boards/{id}", boardId), owner);
+        call(json(post("/api/boards"), "{\"name\":\"Kept\",\"isPublic\":false,\"projectId\":" + projectId + "}"),
+                owner);
+        exact(measured, delete("/api/projects/{id}", projectId), owner);
+
+        exact(measured, get("/api/purge-jobs"), admin);
+
+        User registered = userRepository.findByEmail("budget" + n + "@wisecamp.test").orElseThrow();
+        exact(measured, json(put("/api/users/me/password"),
+                "{\"currentPassword\":\"secret-password\",\"newPassword\":\"another-password\"}"), registered);
+        User leaving = newUser();
+        exact(measured, json(put("/api/users/{id}/role", leaving.getId()), "{\"role\":\"PROJECT_MANAGER\"}"), admin);
+        exact(measured, delete("/api/users/{id}", leaving.getId()), admin);
+
+        assertThat(measured.keySet()).as("endpoints with a @QueryBudget").isEqualTo(budgetedEndpoints());
+        SoftAssertions softly = new SoftAssertions();
+        for (RequestStatements statements : measured.values())
+            softly.assertThat(statements.count()).as(statements.tag()).isEqualTo(statements.budget());
+        softly.assertAll();
+    }
+
+    @Test
+    void boardListDoesNotGrowWithBoards() throws Exception {
+        User few = newUser();
+        User many = newUser();
+        newBoard(few, 2, 2);
+        for (int i = 0; i < 10; i++)
+            newBoard(many, 4, 10);
+
+        assertThat(statements(get("/api/boards"), many))
+                .isEqualTo(statements(get("/api/boards"), few));
+    }
+
+    @Test
+    void boardReadDoesNotGrowWithColumnsOrCards() throws Exception {
+        User owner = newUser();
+        Board small = newBoard(owner, 2, 2);
+        Board large = newBoard(owner, 8, 40);
+
+        assertThat(statements(get("/api/boards/{id}", large.getId()), owner))
+                .isEqualTo(statements(get("/api/boards/{id}", small.getId()), owner));
+    }
+
+    @Test
+    void boardUpdateDoesNotGrowWithColumnsOrCards() throws Exception {
+        User owner = newUser();
+        Board small = newBoard(owner, 2, 2);
+        Board large = newBoard(owner, 8, 40);
+        String body = "{\"name\":\"renamed\",\"description\":\"d\",\"isPublic\":false}";
+
+        assertThat(statements(json(put("/api/boards/{id}", large.getId()), body), owner))
+                .isEqualTo(statements(json(put("/api/boards/{id}", small.getId()), body), owner));
+    }
+
+    @Test
+    void cardWritesDoNotGrowWithColumnSize() throws Exception {
+        User owner = newUser();
+        Board small = newBoard(owner, 2, 2);
+        Board large = newBoard(owner, 8, 40);
+        Column smallColumn = small.getColumns().get(0);
+        Column largeColumn = large.getColumns().get(0);
+
+        assertThat(statements(json(post("/api/cards"), cardBody(largeColumn)), owner))
+                .isEqualTo(statements(json(post("/api/cards"), cardBody(smallColumn)), owner));
+
+        Long smallCard = smallColumn.getCards().get(0).getId();
+        Long largeCard = largeColumn.getCards().get(0).getId();
+        String update = "{\"title\":\"updated\"}";
+        assertThat(statements(json(put("/api/cards/{id}", largeCard), update), owner))
+                .isEqualTo(statements(json(put("/api/cards/{id}", smallCard), update), owner));
+
+        assertThat(statements(json(patch("/api/cards/{id}/move", largeCard),
+                moveBody(large.getColumns().get(1))), owner))
+                .isEqualTo(statements(json(patch("/api/cards/{id}/move", smallCard),
+                        moveBody(small.getColumns().get(1))), owner));
+    }
+
+    @Test
+    void projectReadsDoNotGrowWithProjects() throws Exception {
+        User few = newUser();
+        User many = newUser();
+        Project single = newProject(newUser(), few);
+        Project first = null;
+        for (int i = 0; i < 6; i++) {
+            Project project = newProject(newUser(), many);
+            if (first == null)
+                first = project;
+        }
+
+        assertThat(statements(get("/api/projects"), many))
+                .isEqualTo(statements(get("/api/projects"), few));
+        assertThat(statements(get("/api/projects/{id}", first.getId()), many))
+                .isEqualTo(statements(get("/api/projects/{id}", single.getId()), few));
+    }
+
+    // Records the first call of each endpoint
+    private String exact(Map<String, RequestStatements> measured, MockHttpServletRequestBuilder request, User as)
+            throws Exception {
+        String body = call(request, as);
+        measured.putIfAbsent(recorded.last().tag(), recorded.last());
+        return body;
+    }
+
+    private String call(MockHttpServletRequestBuilder request, User as) throws Exception {
+        if (as != null)
+            request.with(user(as.getEmail()).roles(as.getRole().name()));
+        return mvc.perform(request).andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private Set<String> budgetedEndpoints() {
+        Set<String> endpoints = new TreeSet<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> handler : handlerMapping.getHandlerMethods().entrySet()) {
+            if (!handler.getValue().hasMethodAnnotation(QueryBudget.class))
+                continue;
+            for (RequestMethod method : handler.getKey().getMethodsCondition().getMethods())
+                for (String pattern : handler.getKey().getPatternValues())
+                    endpoints.add(method + " " + pattern);
+        }
+        return endpoints;
+    }
+
+    private static long id(String json) {
+        return ((Number) JsonPath.read(json, "$.id")).longValue();
+    }
+
+    private int statements(MockHttpServletRequestBuilder request, User as) throws Exception {
+        mvc.perform(request.with(user(as.getEmail()))).andExpect(status().is2xxSuccessful());
+        RequestStatements last = recorded.last();
+        assertThat(last.overBudget())
+                .as("%s executed %d statements, budget is %d", last.tag(), last.count(), last.budget())
+                .isFalse();
+        return last.count();
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private static String cardBody(Column column) {
+        return "{\"columnId\":" + column.getId() + ",\"title\":\"new card\"}";
+    }
+
+    private static String moveBody(Column column) {
+        return moveBody(column.getId());
+    }
+
+    private static String moveBody(long columnId) {
+        return "{\"columnId\":" + columnId + ",\"position\":1}";
+    }
+
+    private User newUser() {
+        return newUser(Role.TEAM_MEMBER);
+    }
+
+    private User newUser(Role role) {
+        int n = SEQ.incrementAndGet();
+        User user = new User();
+        user.setName("Query Count " + n);
+        user.setUsername("qc" + n);
+        user.setEmail("qc" + n + "@wisecamp.test");
+        user.setPassword("not-used");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Board newBoard(User owner, int columns, int cardsPerColumn) {
+        Board board = new Board();
+        board.setName("Board " + SEQ.incrementAndGet());
+        board.setDescription("seeded");
+        board.setIsPublic(false);
+        board.setOwner(owner);
+        board.setMembers(new HashSet<>());
+        board.getMembers().add(owner);
+        board.setColumns(new ArrayList<>());
+        for (int c = 0; c < columns; c++) {
+            Column column = new Column();
+            column.setName("Column " + c);
+            column.setPosition((long) c);
+            column.setBoard(board);
+            column.setCards(new ArrayList<>());
+            for (int k = 0; k < cardsPerColumn; k++) {
+                Card card = new Card();
+                card.setTitle("Card " + k);
+                card.setName("Card " + k);
+                card.setDescription("description " + k);
+                card.setPosition(k + 1);
+                card.setIsActive(true);
+                card.setColumn(column);
+                column.getCards().add(card);
+            }
+            board.getColumns().add(column);
+        }
+        return boardRepository.save(board);
+    }
+
+    private Project newProject(User owner, User member) {
+        Project project = new Project();
+        project.setName("Project " + SEQ.incrementAndGet());
+        project.setDescription("seeded");
+        project.setOwner(owner);
+        project.setMembers(new HashSet<>());
+        project.getMembers().add(owner);
+        project.getMembers().add(member);
+        return projectRepository.save(project);
+    }
+}
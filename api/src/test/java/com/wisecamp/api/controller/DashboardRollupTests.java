@@ -0,0 +1,73 @@
+package com.wisecamp.api.controller;
+
+import static com.wisecamp.api.controller.ApiFixture.id;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.wisecamp.api.dto.DashboardDtos.DashboardResponse;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.service.DashboardService;
+
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "wisecamp.dashboard.zone=UTC" })
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@Import(ApiFixture.class)
+class DashboardRollupTests {
+
+    @Autowired
+    private ApiFixture api;
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Test
+    void deltasMatchAFullReconcile() throws Exception {
+        User owner = api.newUser("rollup-owner");
+        User member = api.newUser("rollup-member");
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        long boardId = id(api.call(post("/api/boards"), owner, "{\"name\":\"Rollups\",\"isPublic\":false}"));
+        long todo = id(api.call(post("/api/boards/{id}/columns", boardId), owner,
+                "{\"name\":\"Todo\",\"position\":0}"));
+        long done = id(api.call(post("/api/boards/{id}/columns", boardId), owner,
+                "{\"name\":\"Done\",\"position\":1}"));
+
+        card(owner, todo, "overdue", today.minusDays(1));
+        long dueToday = id(card(owner, todo, "today", today));
+        long undated = id(card(owner, todo, "undated", null));
+        api.call(patch("/api/cards/{id}/move", dueToday), owner, "{\"columnId\":" + done + ",\"position\":1}");
+        api.call(delete("/api/cards/{id}", undated), owner);
+        api.call(post("/api/boards/{id}/members", boardId), owner, "{\"userId\":" + member.getId() + "}");
+        api.call(put("/api/boards/{id}/columns/{columnId}", boardId, todo), owner, "{\"name\":\"Backlog\"}");
+
+        DashboardResponse expected = new DashboardResponse(1, 0, 1, 1, Map.of("Backlog", 1L, "Done", 1L));
+        assertThat(dashboardService.getDashboard(owner.getId())).isEqualTo(expected);
+        assertThat(dashboardService.getDashboard(member.getId())).isEqualTo(expected);
+
+        dashboardService.reconcile();
+        assertThat(dashboardService.getDashboard(owner.getId())).isEqualTo(expected);
+        assertThat(dashboardService.getDashboard(member.getId())).isEqualTo(expected);
+
+        api.call(delete("/api/boards/{id}/members/{userId}", boardId, member.getId()), owner);
+        assertThat(dashboardService.getDashboard(member.getId()))
+                .isEqualTo(new DashboardResponse(0, 0, 0, 0, Map.of()));
+    }
+
+    private String card(User as, long columnId, String title, LocalDate dueDate) throws Exception {
+        return api.call(post("/api/cards"), as, "{\"columnId\":" + columnId + ",\"title\":\"" + title + "\""
+                + (dueDate != null ? ",\"dueDate\":\"" + dueDate + "\"" : "") + "}");
+    }
+}
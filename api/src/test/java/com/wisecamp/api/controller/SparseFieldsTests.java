@@ -0,0 +1,58 @@
+package com.wisecamp.api.controller;
+
+import static com.wisecamp.api.controller.ApiFixture.id;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.jayway.jsonpath.JsonPath;
+import com.wisecamp.api.model.User;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@Import(ApiFixture.class)
+class SparseFieldsTests {
+
+    @Autowired
+    private ApiFixture api;
+
+    @Test
+    void returnsOnlyTheRequestedFieldsAndRelations() throws Exception {
+        User owner = api.newUser("sparse-owner");
+
+        long projectId = id(api.call(post("/api/projects"), owner, "{\"name\":\"Sparse\",\"description\":\"p\"}"));
+        long boardId = id(api.call(post("/api/boards"), owner,
+                "{\"name\":\"Sparse\",\"description\":\"long text\",\"isPublic\":false,\"projectId\":" + projectId
+                        + "}"));
+        long columnId = id(api.call(post("/api/boards/{id}/columns", boardId), owner, "{\"name\":\"Todo\"}"));
+        api.call(post("/api/cards"), owner,
+                "{\"columnId\":" + columnId + ",\"title\":\"Card\",\"name\":\"card\",\"description\":\"details\"}");
+
+        Map<String, Object> board = JsonPath.read(api.call(get("/api/boards/{id}", boardId)
+                .param("include", "columns,cards(title,position)"), owner), "$");
+        assertThat(board).doesNotContainKeys("members", "user").containsKeys("name", "description", "columns");
+        Map<String, Object> card = JsonPath.read(board, "$.columns[0].cards[0]");
+        assertThat(card).containsOnlyKeys("id", "title", "position");
+
+        Map<String, Object> names = JsonPath.read(api.call(get("/api/boards/{id}", boardId)
+                .param("fields", "name"), owner), "$");
+        assertThat(names).containsOnlyKeys("id", "name");
+
+        Map<String, Object> project = JsonPath.read(api.call(get("/api/projects/{id}", projectId)
+                .param("fields", "name").param("include", "boards(name)"), owner), "$");
+        assertThat(project).containsOnlyKeys("id", "name", "boards");
+        List<Map<String, Object>> boards = JsonPath.read(project, "$.boards");
+        assertThat(boards).singleElement().isEqualTo(Map.of("id", (int) boardId, "name", "Sparse"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.wisecamp.api.controller;
+
+import static com.wisecamp.api.controller.ApiFixture.id;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.repository.UserRepository;
+import com.wisecamp.api.service.DashboardService;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@Import(ApiFixture.class)
+class UserRemovalTests {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ApiFixture api;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Test
+    void removingAnOwnerAndMemberHandsTheirBoardsToTheAdministrator() throws Exception {
+        User admin = api.newUser("removal-admin");
+        User leaving = api.newUser("removal-leaving");
+        User other = api.newUser("removal-other");
+
+        long projectId = id(api.call(post("/api/projects"), leaving, "{\"name\":\"Leaving's project\"}"));
+        long ownedId = id(api.call(post("/api/boards"), leaving,
+                "{\"name\":\"Owned\",\"isPublic\":false,\"projectId\":" + projectId + "}"));
+        long columnId = id(api.call(post("/api/boards/{id}/columns", ownedId), leaving,
+                "{\"name\":\"Todo\",\"position\":0}"));
+        api.call(post("/api/cards"), leaving, "{\"columnId\":" + columnId + ",\"title\":\"kept\"}");
+        long joinedId = id(api.call(post("/api/boards"), other, "{\"name\":\"Joined\",\"isPublic\":false}"));
+        api.call(post("/api/boards/{id}/members", joinedId), other, "{\"userId\":" + leaving.getId() + "}");
+
+        mvc.perform(delete("/api/users/{id}", leaving.getId())
+                .with(user(admin.getEmail()).roles("SYSTEM_ADMINISTRATOR")))
+                .andExpect(status().isNoContent());
+
+        assertThat(userRepository.existsById(leaving.getId())).isFalse();
+        String owned = api.call(get("/api/boards/{id}", ownedId), admin);
+        assertThat(id(owned, "$.userId")).isEqualTo(admin.getId());
+        List<String> cards = JsonPath.read(owned, "$.columns[0].cards[*].title");
+        assertThat(cards).containsExactly("kept");
+        String joined = api.call(get("/api/boards/{id}", joinedId), other);
+        List<Object> members = JsonPath.read(joined, "$.members[*].id");
+        assertThat(members).containsExactly(other.getId().intValue());
+        assertThat(id(api.call(get("/api/projects/{id}", projectId), admin), "$.ownerId"))
+                .isEqualTo(admin.getId());
+        assertThat(dashboardService.getDashboard(admin.getId()).boards()).isEqualTo(1);
+        assertThat(dashboardService.getDashboard(admin.getId()).projects()).isEqualTo(1);
+    }
+
+    @Test
+    void administratorsCannotRemoveThemselves() throws Exception {
+        User admin = api.newUser("removal-self");
+
+        assertThatThrownBy(() -> mvc.perform(delete("/api/users/{id}", admin.getId())
+                .with(user(admin.getEmail()).roles("SYSTEM_ADMINISTRATOR"))))
+                .hasRootCauseMessage("Cannot remove yourself");
+        assertThat(userRepository.existsById(admin.getId())).isTrue();
+    }
+}
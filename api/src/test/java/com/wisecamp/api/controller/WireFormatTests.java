@@ -0,0 +1,123 @@
+package com.wisecamp.api.controller;
+
+import static com.wisecamp.api.controller.ApiFixture.id;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.wisecamp.api.config.web.WireFormat;
+import com.wisecamp.api.model.User;
+
+/**
+ * Every board, project and column read, cached or streamed, answers in the
+ * format {@code Accept} asks for, with the same content as its JSON.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@Import(ApiFixture.class)
+class WireFormatTests {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Map<WireFormat, ObjectMapper> READERS = Map.of(
+            WireFormat.JSON, JSON,
+            WireFormat.SMILE, new ObjectMapper(new SmileFactory()),
+            WireFormat.CBOR, new ObjectMapper(new CBORFactory()));
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ApiFixture api;
+
+    @Test
+    void everyReadAnswersInTheNegotiatedFormat() throws Exception {
+        User owner = api.newUser("format-owner");
+        long projectId = id(api.call(post("/api/projects"), owner, "{\"name\":\"Formats\"}"));
+        long boardId = id(api.call(post("/api/boards"), owner,
+                "{\"name\":\"Formats\",\"isPublic\":false,\"projectId\":" + projectId + "}"));
+        long columnId = id(api.call(post("/api/boards/{id}/columns", boardId), owner,
+                "{\"name\":\"Todo\",\"position\":0}"));
+        for (String title : List.of("one", "two", "three"))
+            api.call(post("/api/cards"), owner, "{\"columnId\":" + columnId + ",\"title\":\"" + title + "\"}");
+
+        List<Supplier<MockHttpServletRequestBuilder>> reads = List.of(
+                () -> get("/api/boards/{id}", boardId),
+                () -> get("/api/boards/{id}", boardId).param("fields", "name").param("include", "columns,cards"),
+                () -> get("/api/boards/{id}", boardId).param("cardsPerColumn", "2"),
+                () -> get("/api/projects/{id}", projectId),
+                () -> get("/api/projects/{id}", projectId).param("fields", "name").param("include", "boards"),
+                () -> get("/api/columns/{id}/cards", columnId).param("limit", "2"));
+        for (Supplier<MockHttpServletRequestBuilder> read : reads) {
+            String expected = decode(WireFormat.JSON, perform(read.get(), owner));
+            for (WireFormat format : List.of(WireFormat.SMILE, WireFormat.CBOR)) {
+                MockHttpServletResponse response = perform(read.get()
+                        .header(HttpHeaders.ACCEPT, format.mediaType() + ", application/json;q=0.5"), owner);
+                String path = read.get().buildRequest(null).getRequestURI() + " as " + format;
+                assertThat(MediaType.parseMediaType(response.getContentType()).isCompatibleWith(format.mediaType()))
+                        .as(path).isTrue();
+                assertThat(decode(format, response)).as(path).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void boardReadsAreGzippedOnlyForClientsAcceptingGzip() throws Exception {
+        User owner = api.newUser("format-gzip");
+        long boardId = id(api.call(post("/api/boards"), owner, "{\"name\":\"Large\",\"isPublic\":false}"));
+        long columnId = id(api.call(post("/api/boards/{id}/columns", boardId), owner,
+                "{\"name\":\"Todo\",\"position\":0}"));
+        // Past the cache's 1 KB threshold for keeping a gzipped copy
+        for (int i = 0; i < 20; i++)
+            api.call(post("/api/cards"), owner, "{\"columnId\":" + columnId + ",\"title\":\"card " + i + "\"}");
+        String plain = perform(get("/api/boards/{id}", boardId), owner).getContentAsString();
+
+        MockHttpServletResponse gzipped = perform(get("/api/boards/{id}", boardId)
+                .header(HttpHeaders.ACCEPT_ENCODING, "deflate;q=1.0, gzip;q=0.5"), owner);
+        assertThat(gzipped.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(plain);
+        }
+
+        // Only gzip is implemented, so a deflate-only client gets the identity coding
+        MockHttpServletResponse deflate = perform(get("/api/boards/{id}", boardId)
+                .header(HttpHeaders.ACCEPT_ENCODING, "deflate"), owner);
+        assertThat(deflate.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(deflate.getContentAsString()).isEqualTo(plain);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequestBuilder request, User as) throws Exception {
+        return mvc.perform(request.with(user(as.getEmail())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    // Re-rendered as JSON so the formats compare as text
+    private static String decode(WireFormat format, MockHttpServletResponse response) throws Exception {
+        return JSON.writeValueAsString(READERS.get(format).readTree(response.getContentAsByteArray()));
+    }
+}
@@ -0,0 +1,89 @@
+package com.wisecamp.api.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Thin JSON client over {@link HttpClient}. Every call is timed into the
+ * {@link LatencyRecorder} from the caller supplied start time, so the first
+ * step of a session can be measured from its scheduled arrival rather than
+ * from when a thread got around to sending it.
+ */
+public class ApiClient {
+
+    public static class ApiException extends RuntimeException {
+        public ApiException(String message) {
+            super(message);
+        }
+    }
+
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final LatencyRecorder recorder;
+    private final String baseUrl;
+
+    public ApiClient(String baseUrl, ObjectMapper mapper, LatencyRecorder recorder) {
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.mapper = mapper;
+        this.recorder = recorder;
+        this.baseUrl = baseUrl;
+    }
+
+    public JsonNode get(String endpoint, String path, String token, long startNanos) {
+        return send(endpoint, request(path, token).GET().build(), startNanos);
+    }
+
+    public JsonNode post(String endpoint, String path, String token, Object body, long startNanos) {
+        return send(endpoint, request(path, token).POST(body(body)).build(), startNanos);
+    }
+
+    public JsonNode patch(String endpoint, String path, String token, Object body, long startNanos) {
+        return send(endpoint, request(path, token).method("PATCH", body(body)).build(), startNanos);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (token != null)
+            builder.header("Authorization", "Bearer " + token);
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher body(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new ApiException("Cannot serialize request body: " + e.getMessage());
+        }
+    }
+
+    private JsonNode send(String endpoint, HttpRequest request, long startNanos) {
+        boolean success = false;
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            success = response.statusCode() < 400;
+            if (!success)
+                throw new ApiException(endpoint + " returned " + response.statusCode());
+            byte[] payload = response.body();
+            return payload.length == 0 ? mapper.nullNode() : mapper.readTree(payload);
+        } catch (IOException e) {
+            throw new ApiException(endpoint + " failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(endpoint + " interrupted");
+        } finally {
+            recorder.record(endpoint, startNanos, success);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.wisecamp.api.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wisecamp.api.repository.BoardRepository;
+import com.wisecamp.api.service.BoardJsonWriter;
+import com.wisecamp.api.service.BoardQueryService;
+import com.wisecamp.api.service.BoardService;
+
+/**
+ * Bytes allocated and time per board read for the DTO path
+ * ({@code BoardQueryService.getBoardById} + Jackson) and the streaming path
+ * ({@code BoardJsonWriter}), measured in-process on one seeded board with
+ * {@code ThreadMXBean.getCurrentThreadAllocatedBytes}. Both include the
+ * database reads; the HTTP layer is left out so the numbers isolate the
+ * object graph.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.mainClass=com.wisecamp.api.loadtest.BoardSerializationBenchmark \
+ *     -Dloadtest.columnsPerBoard=8 -Dloadtest.cardsPerColumn=250
+ * </pre>
+ */
+public class BoardSerializationBenchmark {
+
+    private interface Read {
+        void run(OutputStream out) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        int iterations = Integer.getInteger("bench.iterations", 200);
+        int warmup = Integer.getInteger("bench.warmup", 200);
+
+        try (ConfigurableApplicationContext context = LoadTestHarness.start()) {
+            DatasetSeeder.SeededDataset dataset = new DatasetSeeder(context).seed(config);
+            Long boardId = context.getBean(BoardRepository.class).findByMembers_Id(dataset.userIds().get(0))
+                    .get(0).getId();
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(dataset.emails().get(0), null, List.of()));
+
+            BoardService boardService = context.getBean(BoardService.class);
+            BoardQueryService boardQueryService = context.getBean(BoardQueryService.class);
+            BoardJsonWriter writer = context.getBean(BoardJsonWriter.class);
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            Read dto = out -> objectMapper.writeValue(out, boardQueryService.getBoardById(boardId));
+            Read streaming = out -> {
+                boardService.checkBoardAccess(boardId);
+                writer.writeBoard(boardId, out);
+            };
+
+            byte[] dtoBytes = capture(dto);
+            byte[] streamingBytes = capture(streaming);
+            System.out.printf("%nboard %d: %d columns x %d cards, %d bytes of JSON, identical=%b%n", boardId,
+                    config.columnsPerBoard(), config.cardsPerColumn(), dtoBytes.length,
+                    Arrays.equals(dtoBytes, streamingBytes));
+
+            measure("dto", dto, warmup, iterations);
+            measure("streaming", streaming, warmup, iterations);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static byte[] capture(Read read) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        read.run(out);
+        return out.toByteArray();
+    }
+
+    private static void measure(String name, Read read, int warmup, int iterations) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        OutputStream sink = OutputStream.nullOutputStream();
+        for (int i = 0; i < warmup; i++)
+            read.run(sink);
+
+        long bytes = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+            read.run(sink);
+        long nanos = System.nanoTime() - start;
+        bytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+
+        System.out.printf("%-10s %12d B/op %10.1f us/op%n", name, bytes / iterations,
+                nanos / 1000.0 / iterations);
+    }
+}
@@ -0,0 +1,57 @@
+package com.wisecamp.api.loadtest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One scripted user session: login, list boards, open one, create a card,
+ * move it to another column and, when the user owns the board, add a member.
+ */
+public class BoardSessionFlow {
+
+    private final ApiClient client;
+    private final DatasetSeeder.SeededDataset dataset;
+
+    public BoardSessionFlow(ApiClient client, DatasetSeeder.SeededDataset dataset) {
+        this.client = client;
+        this.dataset = dataset;
+    }
+
+    public void run(long scheduledNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String email = dataset.emails().get(random.nextInt(dataset.emails().size()));
+
+        JsonNode auth = client.post("login", "/api/auth/login", null,
+                Map.of("email", email, "password", DatasetSeeder.PASSWORD), scheduledNanos);
+        String token = auth.path("token").asText();
+        long userId = auth.path("user").path("id").asLong();
+
+        JsonNode boards = client.get("list boards", "/api/boards", token, System.nanoTime());
+        if (boards.isEmpty())
+            return;
+        long boardId = boards.get(random.nextInt(boards.size())).path("id").asLong();
+
+        JsonNode board = client.get("open board", "/api/boards/" + boardId, token, System.nanoTime());
+        JsonNode columns = board.path("columns");
+        if (columns.isEmpty())
+            return;
+
+        long fromColumn = columns.get(0).path("id").asLong();
+        long toColumn = columns.get(random.nextInt(columns.size())).path("id").asLong();
+        JsonNode card = client.post("create card", "/api/cards", token,
+                Map.of("columnId", fromColumn, "title", "Load card " + random.nextInt(1_000_000)),
+                System.nanoTime());
+
+        client.patch("move card", "/api/cards/" + card.path("id").asLong() + "/move", token,
+                Map.of("columnId", toColumn, "position", 1), System.nanoTime());
+
+        if (board.path("userId").asLong() == userId) {
+            List<Long> userIds = dataset.userIds();
+            client.post("add member", "/api/boards/" + boardId + "/members", token,
+                    Map.of("userId", userIds.get(random.nextInt(userIds.size()))), System.nanoTime());
+        }
+    }
+}
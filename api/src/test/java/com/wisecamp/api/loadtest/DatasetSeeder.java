@@ -0,0 +1,105 @@
+package com.wisecamp.api.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.wisecamp.api.model.Board;
+import com.wisecamp.api.model.Card;
+import com.wisecamp.api.model.Column;
+import com.wisecamp.api.model.Role;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.repository.BoardRepository;
+import com.wisecamp.api.repository.UserRepository;
+
+/**
+ * Seeds a synthetic dataset straight through the repositories. The password
+ * is hashed once and shared by every user so seeding does not spend minutes
+ * in BCrypt.
+ */
+public class DatasetSeeder {
+
+    public static final String PASSWORD = "loadtest-password";
+
+    public record SeededDataset(List<String> emails, List<Long> userIds, int boards, int cards) {
+    }
+
+    private final UserRepository userRepository;
+    private final BoardRepository boardRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    public DatasetSeeder(ApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.boardRepository = context.getBean(BoardRepository.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+    }
+
+    public SeededDataset seed(LoadTestConfig config) {
+        Random random = new Random(config.seed());
+        String hash = passwordEncoder.encode(PASSWORD);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < config.users(); i++) {
+            User user = new User();
+            user.setName("Load User " + i);
+            user.setUsername("load" + i);
+            user.setEmail("load" + i + "@wisecamp.test");
+            user.setPassword(hash);
+            user.setRole(i % 10 == 0 ? Role.PROJECT_MANAGER : Role.TEAM_MEMBER);
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        int boardCount = 0;
+        int cardCount = 0;
+        for (User owner : users) {
+            List<Board> boards = new ArrayList<>();
+            for (int b = 0; b < config.boardsPerUser(); b++) {
+                Board board = new Board();
+                board.setName(owner.getUsername() + " board " + b);
+                board.setDescription("Synthetic board " + b + " of " + owner.getEmail());
+                board.setIsPublic(false);
+                board.setOwner(owner);
+                board.setMembers(new HashSet<>());
+                board.getMembers().add(owner);
+                for (int m = 0; m < config.membersPerBoard(); m++) {
+                    board.getMembers().add(users.get(random.nextInt(users.size())));
+                }
+
+                board.setColumns(new ArrayList<>());
+                for (int c = 0; c < config.columnsPerBoard(); c++) {
+                    Column column = new Column();
+                    column.setName("Column " + c);
+                    column.setPosition((long) c);
+                    column.setBoard(board);
+                    column.setCards(new ArrayList<>());
+                    for (int k = 0; k < config.cardsPerColumn(); k++) {
+                        Card card = new Card();
+                        card.setTitle("Card " + c + "-" + k);
+                        card.setName("Card " + c + "-" + k);
+                        card.setDescription("Generated description for card " + k + " in column " + c);
+                        card.setPosition(k + 1);
+                        card.setIsActive(true);
+                        card.setColumn(column);
+                        column.getCards().add(card);
+                        cardCount++;
+                    }
+                    board.getColumns().add(column);
+                }
+                boards.add(board);
+                boardCount++;
+            }
+            boardRepository.saveAll(boards);
+        }
+
+        return new SeededDataset(
+                users.stream().map(User::getEmail).toList(),
+                users.stream().map(User::getId).toList(),
+                boardCount,
+                cardCount);
+    }
+}
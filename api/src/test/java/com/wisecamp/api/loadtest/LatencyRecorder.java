@@ -0,0 +1,58 @@
+package com.wisecamp.api.loadtest;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Per-endpoint latency histograms. Values are recorded in microseconds and
+ * reported in milliseconds.
+ */
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private record Endpoint(Histogram histogram, LongAdder errors) {
+    }
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    public void startRecording() {
+        recording = true;
+    }
+
+    public void record(String endpoint, long startNanos, boolean success) {
+        if (!recording)
+            return;
+        Endpoint e = endpoints.computeIfAbsent(endpoint,
+                k -> new Endpoint(new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3), new LongAdder()));
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        e.histogram().recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        if (!success)
+            e.errors().increment();
+    }
+
+    public void report(PrintStream out) {
+        out.printf("%-14s %9s %8s %10s %10s %10s %10s%n",
+                "endpoint", "count", "errors", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)");
+        endpoints.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    Histogram h = entry.getValue().histogram();
+                    out.printf("%-14s %9d %8d %10.2f %10.2f %10.2f %10.2f%n",
+                            entry.getKey(),
+                            h.getTotalCount(),
+                            entry.getValue().errors().sum(),
+                            h.getValueAtPercentile(50) / 1000.0,
+                            h.getValueAtPercentile(95) / 1000.0,
+                            h.getValueAtPercentile(99) / 1000.0,
+                            h.getMaxValue() / 1000.0);
+                });
+    }
+}
@@ -0,0 +1,34 @@
+package com.wisecamp.api.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Load test knobs, read from {@code -Dloadtest.*} system properties so the
+ * harness can be driven from the maven {@code loadtest} profile.
+ */
+public record LoadTestConfig(
+        int users,
+        int boardsPerUser,
+        int membersPerBoard,
+        int columnsPerBoard,
+        int cardsPerColumn,
+        double sessionsPerSecond,
+        Duration duration,
+        Duration warmup,
+        int maxInFlight,
+        long seed) {
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.users", 50),
+                Integer.getInteger("loadtest.boardsPerUser", 3),
+                Integer.getInteger("loadtest.membersPerBoard", 5),
+                Integer.getInteger("loadtest.columnsPerBoard", 4),
+                Integer.getInteger("loadtest.cardsPerColumn", 25),
+                Double.parseDouble(System.getProperty("loadtest.rate", "10")),
+                Duration.ofSeconds(Long.getLong("loadtest.duration", 60L)),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup", 10L)),
+                Integer.getInteger("loadtest.maxInFlight", 500),
+                Long.getLong("loadtest.seed", 42L));
+    }
+}
@@ -0,0 +1,114 @@
+package com.wisecamp.api.loadtest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wisecamp.api.ApiApplication;
+
+/**
+ * Boots the API on the H2 {@code dev} profile, seeds a synthetic dataset and
+ * drives {@link BoardSessionFlow} sessions with an open-loop (Poisson)
+ * arrival model. Arrivals are never delayed by slow responses; sessions that
+ * would exceed {@code loadtest.maxInFlight} are counted as dropped instead.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.rate=20 -Dloadtest.duration=120
+ * </pre>
+ */
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        try (ConfigurableApplicationContext context = start()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            System.out.printf("Seeding %d users x %d boards x %d columns x %d cards...%n",
+                    config.users(), config.boardsPerUser(), config.columnsPerBoard(), config.cardsPerColumn());
+            DatasetSeeder.SeededDataset dataset = new DatasetSeeder(context).seed(config);
+            System.out.printf("Seeded %d boards, %d cards%n", dataset.boards(), dataset.cards());
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            ApiClient client = new ApiClient(baseUrl, context.getBean(ObjectMapper.class), recorder);
+            BoardSessionFlow flow = new BoardSessionFlow(client, dataset);
+
+            Result result = drive(config, flow, recorder);
+
+            System.out.printf("%nsessions=%d failed=%d dropped=%d rate=%.1f/s duration=%ds%n",
+                    result.started(), result.failed(), result.dropped(), config.sessionsPerSecond(),
+                    config.duration().toSeconds());
+            recorder.report(System.out);
+        }
+    }
+
+    public record Result(long started, long failed, long dropped) {
+    }
+
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        return new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("dev")
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.wisecamp.api=INFO",
+                        // Benchmarks measure capacity, not the per-user limits
+                        "wisecamp.rate-limit.enabled=false")
+                .properties(extraProperties)
+                .run();
+    }
+
+    static Result drive(LoadTestConfig config, BoardSessionFlow flow, LatencyRecorder recorder)
+            throws InterruptedException {
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        LongAdder started = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder dropped = new LongAdder();
+
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / config.sessionsPerSecond();
+        long begin = System.nanoTime();
+        long recordFrom = begin + config.warmup().toNanos();
+        long end = recordFrom + config.duration().toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long next = begin;
+            boolean recording = false;
+            while (next < end) {
+                long wait = next - System.nanoTime();
+                if (wait > 0)
+                    LockSupport.parkNanos(wait);
+                if (!recording && next >= recordFrom) {
+                    recorder.startRecording();
+                    recording = true;
+                }
+
+                final long scheduled = next;
+                if (inFlight.tryAcquire()) {
+                    started.increment();
+                    executor.execute(() -> {
+                        try {
+                            flow.run(scheduled);
+                        } catch (RuntimeException e) {
+                            failed.increment();
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } else {
+                    dropped.increment();
+                }
+
+                double u = ThreadLocalRandom.current().nextDouble();
+                next += (long) (-Math.log(1.0 - u) * meanIntervalNanos);
+            }
+        }
+        return new Result(started.sum(), failed.sum(), dropped.sum());
+    }
+}
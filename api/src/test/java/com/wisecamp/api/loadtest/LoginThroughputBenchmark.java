@@ -0,0 +1,96 @@
+package com.wisecamp.api.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Login storm under contention: {@code bench.loginClients} closed-loop
+ * clients log in as fast as they can while {@code bench.readerClients}
+ * keep opening boards. Reports login throughput, 503 rejections and the
+ * latency the board readers see while BCrypt is saturated.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.mainClass=com.wisecamp.api.loadtest.LoginThroughputBenchmark
+ * </pre>
+ */
+public class LoginThroughputBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        int loginClients = Integer.getInteger("bench.loginClients", 200);
+        int readerClients = Integer.getInteger("bench.readerClients", 20);
+        Duration duration = config.duration();
+
+        try (ConfigurableApplicationContext context = LoadTestHarness.start()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            DatasetSeeder.SeededDataset dataset = new DatasetSeeder(context).seed(config);
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            ApiClient client = new ApiClient(baseUrl, context.getBean(ObjectMapper.class), recorder);
+
+            List<String> readerTokens = new ArrayList<>();
+            for (int i = 0; i < readerClients; i++) {
+                readerTokens.add(login(client, dataset.emails().get(i % dataset.emails().size())));
+            }
+
+            LongAdder logins = new LongAdder();
+            LongAdder rejected = new LongAdder();
+            long end = System.nanoTime() + duration.toNanos();
+            recorder.startRecording();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < loginClients; i++) {
+                    executor.execute(() -> {
+                        while (System.nanoTime() < end) {
+                            String email = dataset.emails()
+                                    .get(ThreadLocalRandom.current().nextInt(dataset.emails().size()));
+                            try {
+                                login(client, email);
+                                logins.increment();
+                            } catch (ApiClient.ApiException e) {
+                                rejected.increment();
+                            }
+                        }
+                    });
+                }
+                for (String token : readerTokens) {
+                    executor.execute(() -> {
+                        while (System.nanoTime() < end) {
+                            try {
+                                var boards = client.get("list boards", "/api/boards", token, System.nanoTime());
+                                if (!boards.isEmpty()) {
+                                    long id = boards.get(0).path("id").asLong();
+                                    client.get("open board", "/api/boards/" + id, token, System.nanoTime());
+                                }
+                            } catch (ApiClient.ApiException e) {
+                                // counted as an error by the recorder
+                            }
+                        }
+                    });
+                }
+            }
+
+            System.out.printf("%nlogin clients=%d readers=%d duration=%ds%n", loginClients, readerClients,
+                    duration.toSeconds());
+            System.out.printf("logins=%d (%.1f/s) rejected=%d%n", logins.sum(),
+                    logins.sum() / (double) duration.toSeconds(), rejected.sum());
+            recorder.report(System.out);
+        }
+    }
+
+    private static String login(ApiClient client, String email) {
+        return client.post("login", "/api/auth/login", null,
+                Map.of("email", email, "password", DatasetSeeder.PASSWORD), System.nanoTime())
+                .path("token").asText();
+    }
+}
@@ -0,0 +1,140 @@
+package com.wisecamp.api.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wisecamp.api.dto.BoardDtos.FullBoardResponse;
+import com.wisecamp.api.model.Board;
+import com.wisecamp.api.model.Card;
+import com.wisecamp.api.model.Column;
+import com.wisecamp.api.model.Role;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.repository.BoardRepository;
+import com.wisecamp.api.repository.UserRepository;
+import com.wisecamp.api.service.BoardQueryService;
+
+/**
+ * Encode time against bytes on the wire for JSON, Smile and CBOR, raw and
+ * gzipped, on a typical board and a worst-case one. The board is loaded
+ * once; only encoding and compression are timed.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.mainClass=com.wisecamp.api.loadtest.WireFormatBenchmark
+ * </pre>
+ */
+public class WireFormatBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int iterations = Integer.getInteger("bench.iterations", 500);
+
+        try (ConfigurableApplicationContext context = LoadTestHarness.start()) {
+            User owner = seedOwner(context);
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(owner.getEmail(), null, List.of()));
+
+            List<ObjectMapper> mappers = List.of(
+                    context.getBean(ObjectMapper.class),
+                    context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper(),
+                    context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper());
+            List<String> names = List.of("json", "smile", "cbor");
+
+            int[][] shapes = {
+                    { Integer.getInteger("bench.typicalColumns", 4), Integer.getInteger("bench.typicalCards", 25) },
+                    { Integer.getInteger("bench.worstColumns", 20), Integer.getInteger("bench.worstCards", 500) } };
+            for (int[] shape : shapes) {
+                FullBoardResponse board = load(context, seedBoard(context, owner, shape[0], shape[1]));
+                System.out.printf("%n%d columns x %d cards%n", shape[0], shape[1]);
+                System.out.printf("%-6s %10s %10s %12s %12s%n", "format", "bytes", "gzipped", "encode us", "+gzip us");
+                for (int i = 0; i < mappers.size(); i++) {
+                    measure(names.get(i), mappers.get(i), board, iterations);
+                }
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static void measure(String name, ObjectMapper mapper, FullBoardResponse board, int iterations)
+            throws IOException {
+        byte[] encoded = mapper.writeValueAsBytes(board);
+        byte[] gzipped = gzip(encoded);
+        for (int i = 0; i < iterations; i++)
+            gzip(mapper.writeValueAsBytes(board));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+            mapper.writeValueAsBytes(board);
+        long encodeNanos = (System.nanoTime() - start) / iterations;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+            gzip(encoded);
+        long gzipNanos = (System.nanoTime() - start) / iterations;
+
+        System.out.printf("%-6s %10d %10d %12.1f %12.1f%n", name, encoded.length, gzipped.length,
+                encodeNanos / 1000.0, gzipNanos / 1000.0);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static FullBoardResponse load(ConfigurableApplicationContext context, Long boardId) {
+        return context.getBean(BoardQueryService.class).getBoardById(boardId);
+    }
+
+    private static User seedOwner(ConfigurableApplicationContext context) {
+        User user = new User();
+        user.setName("Wire Format Owner");
+        user.setUsername("wireformat");
+        user.setEmail("wireformat@wisecamp.test");
+        user.setPassword("not-used");
+        user.setRole(Role.PROJECT_MANAGER);
+        return context.getBean(UserRepository.class).save(user);
+    }
+
+    private static Long seedBoard(ConfigurableApplicationContext context, User owner, int columns,
+            int cardsPerColumn) {
+        Board board = new Board();
+        board.setName("Wire format " + columns + "x" + cardsPerColumn);
+        board.setDescription("Benchmark board");
+        board.setIsPublic(false);
+        board.setOwner(owner);
+        board.setMembers(new HashSet<>(List.of(owner)));
+        board.setColumns(new ArrayList<>());
+        for (int c = 0; c < columns; c++) {
+            Column column = new Column();
+            column.setName("Column " + c);
+            column.setPosition((long) c);
+            column.setBoard(board);
+            column.setCards(new ArrayList<>());
+            for (int k = 0; k < cardsPerColumn; k++) {
+                Card card = new Card();
+                card.setTitle("Card " + c + "-" + k);
+                card.setName("Card " + c + "-" + k);
+                card.setDescription("Generated description for card " + k + " in column " + c);
+                card.setPosition(k + 1);
+                card.setIsActive(true);
+                card.setColumn(column);
+                column.getCards().add(card);
+            }
+            board.getColumns().add(column);
+        }
+        return context.getBean(BoardRepository.class).save(board).getId();
+    }
+}
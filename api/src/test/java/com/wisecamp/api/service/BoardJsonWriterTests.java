@@ -0,0 +1,114 @@
+package com.wisecamp.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wisecamp.api.dto.BoardDtos.FullBoardResponse;
+import com.wisecamp.api.model.Board;
+import com.wisecamp.api.model.Card;
+import com.wisecamp.api.model.Column;
+import com.wisecamp.api.model.Role;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.repository.BoardRepository;
+import com.wisecamp.api.repository.UserRepository;
+
+/**
+ * The streaming board writer must produce exactly the bytes Jackson writes
+ * for {@link FullBoardResponse}, including nulls, empty columns and ordering.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("dev")
+class BoardJsonWriterTests {
+
+    @Autowired
+    private BoardJsonWriter writer;
+    @Autowired
+    private BoardQueryService boardQueryService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void matchesDtoSerialization() throws Exception {
+        User owner = newUser("writer-owner", "https://example.test/a.png");
+        User member = newUser("writer-member \"quoted\" é", null);
+
+        Board board = new Board();
+        board.setName("Streaming ✓");
+        board.setDescription(null);
+        board.setIsPublic(true);
+        board.setOwner(owner);
+        board.setMembers(new HashSet<>(List.of(member, owner)));
+        board.setColumns(new ArrayList<>());
+        for (int c = 0; c < 3; c++) {
+            Column column = new Column();
+            column.setName("Column " + c);
+            column.setPosition((long) (2 - c));
+            column.setBoard(board);
+            column.setCards(new ArrayList<>());
+            // the last column stays empty
+            for (int k = 0; c < 2 && k < 4; k++) {
+                Card card = new Card();
+                card.setTitle("Card " + k);
+                card.setName(k % 2 == 0 ? "Card " + k : null);
+                card.setDescription("line\nbreak " + k);
+                card.setPosition(4 - k);
+                card.setIsActive(k == 3 ? null : k % 2 == 0);
+                card.setColumn(column);
+                column.getCards().add(card);
+            }
+            board.getColumns().add(column);
+        }
+        Long boardId = boardRepository.save(board).getId();
+
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(owner.getEmail(), null, List.of()));
+        FullBoardResponse dto = boardQueryService.getBoardById(boardId);
+        String expected = objectMapper.writeValueAsString(dto);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(writer.writeBoard(boardId, out)).isTrue();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+
+    @Test
+    void missingBoardWritesNothing() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(writer.writeBoard(Long.MAX_VALUE, out)).isFalse();
+        assertThat(out.size()).isZero();
+    }
+
+    private User newUser(String name, String avatarUrl) {
+        User user = new User();
+        user.setName(name);
+        user.setUsername(name.replaceAll("\\W", ""));
+        user.setEmail(System.nanoTime() + "@wisecamp.test");
+        user.setPassword("not-used");
+        user.setAvatarUrl(avatarUrl);
+        user.setRole(Role.TEAM_MEMBER);
+        return userRepository.save(user);
+    }
+}
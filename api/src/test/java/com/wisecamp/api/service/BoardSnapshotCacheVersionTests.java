@@ -0,0 +1,36 @@
+package com.wisecamp.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoardSnapshotCacheVersionTests {
+
+    private final BoardSnapshotCache cache = new BoardSnapshotCache(new SimpleMeterRegistry(), true, 1 << 20, 1024, 3);
+
+    @Test
+    void versionsOnlyMoveForwardWhileTheTableStaysBounded() {
+        long before = cache.version(1L);
+        cache.boardChanged(1);
+        cache.boardChanged(2);
+        cache.boardChanged(3);
+        long one = cache.version(1L);
+        assertThat(one).isGreaterThan(before);
+        assertThat(cache.trackedVersions()).isEqualTo(3);
+
+        // The fourth board overflows the table: everything moves to the new floor
+        cache.boardChanged(4);
+        assertThat(cache.trackedVersions()).isZero();
+        assertThat(cache.version(1L)).isGreaterThan(one);
+        assertThat(cache.version(4L)).isGreaterThanOrEqualTo(cache.version(1L));
+
+        long floor = cache.version(99L);
+        cache.boardChanged(5);
+        assertThat(cache.version(5L)).isGreaterThan(floor);
+        cache.flushAll();
+        assertThat(cache.trackedVersions()).isZero();
+        assertThat(cache.version(5L)).isGreaterThan(floor);
+    }
+}
@@ -0,0 +1,217 @@
+package com.wisecamp.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.jayway.jsonpath.JsonPath;
+import com.wisecamp.api.dto.DueReminder;
+import com.wisecamp.api.model.PurgeJob;
+import com.wisecamp.api.model.PurgeStatus;
+import com.wisecamp.api.model.PurgeTarget;
+import com.wisecamp.api.model.Role;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.repository.CardRepository;
+import com.wisecamp.api.repository.PurgeJobRepository;
+import com.wisecamp.api.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Drives a purger of its own, two rows per batch, on a database no other
+ * test context shares; the application's purge thread is switched off so
+ * it cannot pick up the jobs first.
+ */
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "wisecamp.purge.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:purge;DB_CLOSE_DELAY=-1;MODE=PostgreSQL" })
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class BulkPurgerTests {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private PurgeJobRepository jobRepository;
+    @Autowired
+    private DueDateReminderScheduler reminderScheduler;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private boolean failNextCardBatch;
+
+    @Test
+    void purgesDeletedBoardsAndProjectsBatchByBatchAndRetriesAFailedBatch() throws Exception {
+        BulkPurger purger = purger();
+        // Jobs queued by other tests in this class would be picked first
+        while (purger.purgeNext()) {
+        }
+
+        User owner = newUser("purge-owner");
+        long projectId = id(call(post("/api/projects"), owner, "{\"name\":\"Purged project\"}"));
+        long inProject = board(owner, projectId, 3);
+        long standalone = board(owner, null, 5);
+        long kept = board(owner, null, 1);
+
+        call(delete("/api/boards/{id}", standalone), owner, null);
+        call(delete("/api/projects/{id}", projectId), owner, null);
+
+        failNextCardBatch = true;
+        assertThat(purger.purgeNext()).as("failed attempt").isFalse();
+        PurgeJob failed = job(PurgeTarget.BOARD, standalone);
+        assertThat(failed.getStatus()).isEqualTo(PurgeStatus.PENDING);
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).isEqualTo("connection reset");
+        // Comments went in earlier batches, each committed with the job's progress
+        assertThat(failed.getPhase()).isEqualTo("board " + standalone + ": checklist_items");
+        assertThat(failed.getRowsDeleted()).isEqualTo(5);
+        assertThat(count("comments", standalone)).isZero();
+        assertThat(count("cards", standalone)).isEqualTo(5);
+
+        assertThat(purger.purgeNext()).as("retry").isTrue();
+        assertThat(purger.purgeNext()).as("project").isTrue();
+        assertThat(purger.purgeNext()).as("nothing left").isFalse();
+
+        PurgeJob board = job(PurgeTarget.BOARD, standalone);
+        assertThat(board.getStatus()).isEqualTo(PurgeStatus.DONE);
+        assertThat(board.getAttempts()).isEqualTo(1);
+        PurgeJob project = job(PurgeTarget.PROJECT, projectId);
+        assertThat(project.getStatus()).isEqualTo(PurgeStatus.DONE);
+        for (long boardId : List.of(standalone, inProject)) {
+            assertThat(count("cards", boardId)).isZero();
+            assertThat(count("comments", boardId)).isZero();
+            assertThat(jdbcTemplate.queryForObject("select count(*) from columns where board_id = ?",
+                    Integer.class, boardId)).isZero();
+            assertThat(jdbcTemplate.queryForObject("select count(*) from board_members where board_id = ?",
+                    Integer.class, boardId)).isZero();
+            assertThat(jdbcTemplate.queryForObject("select count(*) from boards where id = ?", Integer.class,
+                    boardId)).isZero();
+        }
+        assertThat(jdbcTemplate.queryForObject("select count(*) from projects where id = ?", Integer.class,
+                projectId)).isZero();
+        assertThat(count("cards", kept)).isEqualTo(1);
+        assertThat(count("comments", kept)).isEqualTo(1);
+    }
+
+    @Test
+    void deletedBoardsTakeNoCardWritesAndRaiseNoReminders() throws Exception {
+        User owner = newUser("purge-writer");
+        long boardId = id(call(post("/api/boards"), owner, "{\"name\":\"Deleted\",\"isPublic\":false}"));
+        long columnId = id(call(post("/api/boards/{id}/columns", boardId), owner,
+                "{\"name\":\"Todo\",\"position\":0}"));
+        LocalDate due = LocalDate.now().plusDays(400);
+        long cardId = id(call(post("/api/cards"), owner,
+                "{\"columnId\":" + columnId + ",\"title\":\"due\",\"dueDate\":\"" + due + "\"}"));
+        assertThat(cardRepository.findDueReminders(due, 0L, Limit.of(10)))
+                .extracting(DueReminder::cardId).contains(cardId);
+
+        call(delete("/api/boards/{id}", boardId), owner, null);
+
+        assertThat(cardRepository.findDueReminders(due, 0L, Limit.of(10)))
+                .extracting(DueReminder::cardId).doesNotContain(cardId);
+        assertThatThrownBy(() -> call(post("/api/cards"), owner, "{\"columnId\":" + columnId
+                + ",\"title\":\"late\"}")).hasRootCauseMessage("Board not found");
+        assertThatThrownBy(() -> call(put("/api/cards/{id}", cardId), owner, "{\"title\":\"renamed\"}"))
+                .hasRootCauseMessage("Board not found");
+        assertThatThrownBy(() -> call(patch("/api/cards/{id}/move", cardId), owner,
+                "{\"columnId\":" + columnId + ",\"position\":1}")).hasRootCauseMessage("Board not found");
+    }
+
+    // Fails the first cards batch once it is armed, as a dropped connection would
+    private BulkPurger purger() {
+        JdbcTemplate failing = new JdbcTemplate(dataSource) {
+            @Override
+            public int update(String sql, Object... args) {
+                if (failNextCardBatch && sql.startsWith("delete from cards")) {
+                    failNextCardBatch = false;
+                    throw new DataAccessResourceFailureException("connection reset");
+                }
+                return super.update(sql, args);
+            }
+        };
+        return new BulkPurger(jobRepository, reminderScheduler, failing, transactionManager, registry, false, 2,
+                100, 10_000);
+    }
+
+    // A board with one column holding the given number of cards, each with a comment
+    private long board(User owner, Long projectId, int cards) throws Exception {
+        long boardId = id(call(post("/api/boards"), owner, "{\"name\":\"Board\",\"isPublic\":false"
+                + (projectId != null ? ",\"projectId\":" + projectId : "") + "}"));
+        long columnId = id(call(post("/api/boards/{id}/columns", boardId), owner,
+                "{\"name\":\"Todo\",\"position\":0}"));
+        for (int i = 0; i < cards; i++) {
+            long cardId = id(call(post("/api/cards"), owner, "{\"columnId\":" + columnId + ",\"title\":\"c" + i
+                    + "\"}"));
+            jdbcTemplate.update("insert into comments (comment, card_id, user_id) values (?, ?, ?)", "note", cardId,
+                    owner.getId());
+        }
+        return boardId;
+    }
+
+    private int count(String table, long boardId) {
+        String cards = "select c.id from cards c join columns col on col.id = c.column_id where col.board_id = ?";
+        String sql = table.equals("cards") ? "select count(*) from (" + cards + ") x"
+                : "select count(*) from comments where card_id in (" + cards + ")";
+        return jdbcTemplate.queryForObject(sql, Integer.class, boardId);
+    }
+
+    private PurgeJob job(PurgeTarget target, long targetId) {
+        return jobRepository.findAll().stream()
+                .filter(job -> job.getTarget() == target && job.getTargetId() == targetId)
+                .findFirst().orElseThrow();
+    }
+
+    private String call(MockHttpServletRequestBuilder request, User as, String body) throws Exception {
+        if (body != null)
+            request.contentType(MediaType.APPLICATION_JSON).content(body);
+        return mvc.perform(request.with(user(as.getEmail())))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private static long id(String json) {
+        return ((Number) JsonPath.read(json, "$.id")).longValue();
+    }
+
+    private User newUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setUsername(name);
+        user.setEmail(name + "@wisecamp.test");
+        user.setPassword("not-used");
+        user.setRole(Role.TEAM_MEMBER);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,54 @@
+package com.wisecamp.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CardArchiveStoreTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsEveryRecordBackAcrossBlocksSegmentsAndRestarts() throws Exception {
+        CardArchiveStore store = new CardArchiveStore(directory, 4096, 8);
+        List<CardArchiveStore.Location> locations = new ArrayList<>();
+        List<String> records = new ArrayList<>();
+        for (int batch = 0; batch < 40; batch++) {
+            List<byte[]> bytes = new ArrayList<>();
+            for (int i = 0; i < 1 + batch % 13; i++) {
+                String record = "{\"card\":" + records.size() + ",\"title\":\"" + "x".repeat(records.size() % 97)
+                        + "\"}";
+                records.add(record);
+                bytes.add(record.getBytes(StandardCharsets.UTF_8));
+            }
+            locations.addAll(store.append(bytes));
+        }
+        assertThat(locations.stream().mapToInt(CardArchiveStore.Location::segment).max().getAsInt()).isGreaterThan(1);
+        for (int i = 0; i < records.size(); i++)
+            assertThat(new String(store.read(locations.get(i)), StandardCharsets.UTF_8)).isEqualTo(records.get(i));
+        store.destroy();
+
+        // A block written without its index entry is dropped on reopen
+        CardArchiveStore.Location last = locations.get(locations.size() - 1);
+        Path segment = directory.resolve("%08d.seg".formatted(last.segment()));
+        long size = Files.size(segment);
+        Files.write(segment, new byte[] { 1, 2, 3, 4, 5 }, StandardOpenOption.APPEND);
+
+        CardArchiveStore reopened = new CardArchiveStore(directory, 4096, 8);
+        assertThat(Files.size(segment)).isEqualTo(size);
+        CardArchiveStore.Location next = reopened.append(List.of("after".getBytes(StandardCharsets.UTF_8))).get(0);
+        assertThat(next).isEqualTo(new CardArchiveStore.Location(last.segment(), last.seq() + 1));
+        assertThat(new String(reopened.read(next), StandardCharsets.UTF_8)).isEqualTo("after");
+        assertThat(new String(reopened.read(locations.get(0)), StandardCharsets.UTF_8)).isEqualTo(records.get(0));
+        reopened.destroy();
+    }
+}
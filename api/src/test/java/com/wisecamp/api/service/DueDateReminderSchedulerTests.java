@@ -0,0 +1,111 @@
+package com.wisecamp.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import com.wisecamp.api.dto.DueReminder;
+import com.wisecamp.api.model.Board;
+import com.wisecamp.api.model.Card;
+import com.wisecamp.api.model.Column;
+import com.wisecamp.api.repository.CardRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Drives the scheduler tick by tick with a fixed clock: reminders fire 24
+ * hours before the due date and the window reaches 24 hours ahead.
+ */
+class DueDateReminderSchedulerTests {
+
+    private static final LocalDate DUE = LocalDate.of(2026, 3, 12);
+    // Noon two days before the due date, so DUE is loaded by the first tick
+    private static final long NOW = DUE.minusDays(2).atTime(12, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final long FIRE_AT = DUE.minusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+
+    private final List<DueReminder> stored = new ArrayList<>();
+    private final List<DueReminder> delivered = new ArrayList<>();
+    private int failLoads;
+
+    private final DueDateReminderScheduler scheduler = new DueDateReminderScheduler(repository(), delivered::addAll,
+            new SimpleMeterRegistry(), true, 24, 24, 2, "UTC");
+
+    @Test
+    void reschedulesCreatedUpdatedMovedAndDeletedCards() {
+        stored.add(new DueReminder(1L, 10L, "stored", DUE));
+        stored.add(new DueReminder(2L, 10L, "stored then deleted", DUE));
+        stored.add(new DueReminder(3L, 10L, "stored then updated", DUE));
+        scheduler.reset(NOW);
+        scheduler.tick(NOW);
+
+        scheduler.cardSaved(card(4L, 10L, "created", DUE), true);
+        scheduler.cardSaved(card(3L, 10L, "updated", DUE), false);
+        scheduler.cardSaved(card(5L, 10L, "created then moved", DUE), true);
+        scheduler.cardSaved(card(5L, 20L, "created then moved", DUE), false);
+        scheduler.cardDeleted(2L);
+        scheduler.cardSaved(card(6L, 10L, "date cleared", DUE), true);
+        scheduler.cardSaved(card(6L, 10L, "date cleared", null), true);
+        scheduler.cardSaved(card(7L, 10L, "due later", DUE.plusDays(1)), true);
+        scheduler.tick(NOW + 1);
+        assertThat(delivered).isEmpty();
+
+        scheduler.tick(FIRE_AT - 1);
+        assertThat(delivered).isEmpty();
+        scheduler.tick(FIRE_AT);
+        assertThat(delivered).containsExactlyInAnyOrder(
+                new DueReminder(1L, 10L, "stored", DUE),
+                new DueReminder(3L, 10L, "updated", DUE),
+                new DueReminder(4L, 10L, "created", DUE),
+                new DueReminder(5L, 20L, "created then moved", DUE));
+    }
+
+    @Test
+    void aFailingTickDoesNotStopTheNextOne() {
+        stored.add(new DueReminder(1L, 10L, "stored", DUE));
+        failLoads = 1;
+        scheduler.reset(NOW);
+        scheduler.tick(NOW);
+        scheduler.tick(NOW + 1);
+
+        scheduler.tick(FIRE_AT);
+        assertThat(delivered).containsExactly(new DueReminder(1L, 10L, "stored", DUE));
+    }
+
+    private CardRepository repository() {
+        return (CardRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { CardRepository.class }, (proxy, method, args) -> {
+                    if (!method.getName().equals("findDueReminders"))
+                        throw new UnsupportedOperationException(method.getName());
+                    if (failLoads > 0) {
+                        failLoads--;
+                        throw new IllegalStateException("load failed");
+                    }
+                    LocalDate dueDate = (LocalDate) args[0];
+                    long afterId = (Long) args[1];
+                    return stored.stream()
+                            .filter(r -> r.dueDate().equals(dueDate) && r.cardId() > afterId)
+                            .limit(((Limit) args[2]).max())
+                            .toList();
+                });
+    }
+
+    private static Card card(Long id, Long boardId, String title, LocalDate dueDate) {
+        Board board = new Board();
+        board.setId(boardId);
+        Column column = new Column();
+        column.setBoard(board);
+        Card card = new Card();
+        card.setId(id);
+        card.setTitle(title);
+        card.setDueDate(dueDate);
+        card.setColumn(column);
+        return card;
+    }
+}
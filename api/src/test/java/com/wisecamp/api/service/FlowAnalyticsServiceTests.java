@@ -0,0 +1,109 @@
+package com.wisecamp.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.wisecamp.api.dto.AnalyticsDtos.CumulativeFlowResponse;
+import com.wisecamp.api.dto.AnalyticsDtos.CycleTimeResponse;
+import com.wisecamp.api.dto.AnalyticsDtos.FlowDay;
+import com.wisecamp.api.model.Board;
+import com.wisecamp.api.model.CardTransition;
+import com.wisecamp.api.model.Column;
+import com.wisecamp.api.model.Role;
+import com.wisecamp.api.model.User;
+import com.wisecamp.api.repository.BoardRepository;
+import com.wisecamp.api.repository.CardTransitionRepository;
+import com.wisecamp.api.repository.UserRepository;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("dev")
+class FlowAnalyticsServiceTests {
+
+    @Autowired
+    private FlowAnalyticsService flowAnalyticsService;
+    @Autowired
+    private CardTransitionRepository transitionRepository;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void combinesRolledUpDaysWithTodaysMoves() {
+        Board board = board("Todo", "Doing", "Done");
+        long todo = board.getColumns().get(0).getId();
+        long doing = board.getColumns().get(1).getId();
+        long done = board.getColumns().get(2).getId();
+        LocalDate today = LocalDate.now();
+        LocalDateTime midnight = today.atStartOfDay();
+
+        move(board, 1, 0, todo, midnight.minusDays(3).plusHours(12));
+        move(board, 1, todo, doing, midnight.minusDays(2).plusHours(12));
+        move(board, 1, doing, done, midnight.minusDays(1).plusHours(12));
+        move(board, 2, 0, todo, midnight.minusDays(2));
+        move(board, 3, 0, todo, midnight);
+        move(board, 3, todo, done, midnight);
+        flowAnalyticsService.rollup();
+
+        CumulativeFlowResponse flow = flowAnalyticsService.getCumulativeFlow(board.getId(), today.minusDays(3),
+                today);
+        assertThat(flow.days()).extracting(FlowDay::counts).containsExactly(
+                List.of(1L, 0L, 0L),
+                List.of(1L, 1L, 0L),
+                List.of(1L, 0L, 1L),
+                List.of(1L, 0L, 2L));
+
+        CycleTimeResponse times = flowAnalyticsService.getCycleTimes(board.getId(), today.minusDays(3), today);
+        assertThat(times.doneColumn().id()).isEqualTo(done);
+        assertThat(times.leadTime().cards()).isEqualTo(2);
+        assertThat(times.leadTime().p50Hours()).isZero();
+        assertThat(times.leadTime().p95Hours()).isEqualTo(48.0);
+        assertThat(times.cycleTime().p95Hours()).isEqualTo(24.0);
+    }
+
+    private void move(Board board, long cardId, long from, long to, LocalDateTime at) {
+        CardTransition transition = new CardTransition();
+        transition.setBoardId(board.getId());
+        transition.setCardId(cardId);
+        transition.setFromColumnId(from == 0 ? null : from);
+        transition.setToColumnId(to);
+        transition.setMovedAt(at);
+        transitionRepository.save(transition);
+    }
+
+    private Board board(String... columns) {
+        User owner = new User();
+        owner.setName("Flow Owner");
+        owner.setUsername("flowowner");
+        owner.setEmail("flow-owner@wisecamp.test");
+        owner.setPassword("not-used");
+        owner.setRole(Role.PROJECT_MANAGER);
+        owner = userRepository.save(owner);
+
+        Board board = new Board();
+        board.setName("Flow");
+        board.setIsPublic(false);
+        board.setOwner(owner);
+        board.setMembers(new HashSet<>(List.of(owner)));
+        board.setColumns(new ArrayList<>());
+        for (int i = 0; i < columns.length; i++) {
+            Column column = new Column();
+            column.setName(columns[i]);
+            column.setPosition((long) i);
+            column.setBoard(board);
+            column.setCards(new ArrayList<>());
+            board.getColumns().add(column);
+        }
+        return boardRepository.save(board);
+    }
+}
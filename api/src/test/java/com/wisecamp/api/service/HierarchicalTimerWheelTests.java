@@ -0,0 +1,69 @@
+package com.wisecamp.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimerWheelTests {
+
+    @Test
+    void firesEachTimerOnItsDeadlineAcrossLevels() {
+        long start = 1_000_003;
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(start);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = start + 1 + random.nextInt(300_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+        // Beyond the top level: parked, then re-placed
+        long far = start + (1L << 24) + 17;
+        wheel.schedule(far, far);
+
+        List<Long> late = new ArrayList<>();
+        long[] fired = { 0 };
+        for (long tick = start + 1; tick <= far; tick++) {
+            long now = tick;
+            wheel.advance(tick, deadline -> {
+                if (deadline != now)
+                    late.add(deadline);
+                fired[0]++;
+            });
+        }
+        assertThat(late).isEmpty();
+        assertThat(fired[0]).isEqualTo(deadlines.size() + 1);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(0);
+        HierarchicalTimerWheel.Timer<String> kept = wheel.schedule("kept", 5_000);
+        HierarchicalTimerWheel.Timer<String> cancelled = wheel.schedule("cancelled", 5_000);
+        wheel.cancel(cancelled);
+        wheel.cancel(cancelled);
+        assertThat(wheel.size()).isEqualTo(1);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(10_000, fired::add);
+        assertThat(fired).containsExactly(kept.value());
+        wheel.cancel(kept);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTick() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(100);
+        wheel.schedule("overdue", 10);
+        List<String> fired = new ArrayList<>();
+        wheel.advance(100, fired::add);
+        assertThat(fired).isEmpty();
+        wheel.advance(101, fired::add);
+        assertThat(fired).containsExactly("overdue");
+    }
+}
@@ -0,0 +1,85 @@
+package com.wisecamp.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Two buses on the in-JVM transport stand in for two nodes. The sender
+ * threads wait an hour before each flush, so every message goes out when
+ * the test calls {@code flush()}.
+ */
+class InvalidationBusTests {
+
+    private static class Recorder implements InvalidationListener {
+        private final List<String> seen = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void boardChanged(long boardId) {
+            seen.add("board " + boardId);
+        }
+
+        @Override
+        public void userChanged(long userId) {
+            seen.add("user " + userId);
+        }
+
+        @Override
+        public void flushAll() {
+            seen.add("flush");
+        }
+    }
+
+    private final Recorder first = new Recorder();
+    private final Recorder second = new Recorder();
+    private final InvalidationBus firstBus = bus(first);
+    private final InvalidationBus secondBus = bus(second);
+
+    @AfterEach
+    void stop() {
+        firstBus.stop();
+        secondBus.stop();
+    }
+
+    @Test
+    void appliesLocallyAtOnceAndRemotelyAsOneCoalescedMessage() {
+        firstBus.start();
+        secondBus.start();
+
+        firstBus.boardChanged(7L);
+        firstBus.boardChanged(7L);
+        firstBus.userChanged(3L);
+        assertThat(first.seen).containsExactly("board 7", "board 7", "user 3");
+        assertThat(second.seen).isEmpty();
+
+        firstBus.flush();
+        assertThat(second.seen).containsExactlyInAnyOrder("board 7", "user 3");
+        assertThat(first.seen).hasSize(3);
+    }
+
+    @Test
+    void flushesEverythingWhenAMessageGoesMissing() {
+        LocalInvalidationTransport otherNode = new LocalInvalidationTransport();
+        secondBus.start();
+
+        otherNode.send("abcd1234 1 b1");
+        otherNode.send("abcd1234 2 b2");
+        otherNode.send("abcd1234 4 b4");
+        otherNode.send("abcd1234 5 b5");
+        assertThat(second.seen).containsExactly("board 1", "board 2", "flush", "board 5");
+    }
+
+    private static InvalidationBus bus(InvalidationListener listener) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("listener", listener));
+        return new InvalidationBus(new LocalInvalidationTransport(),
+                beans.getBeanProvider(InvalidationListener.class), new SimpleMeterRegistry(), 3_600_000, 3_600_000);
+    }
+}
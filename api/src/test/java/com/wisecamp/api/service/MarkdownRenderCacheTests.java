@@ -0,0 +1,27 @@
+package com.wisecamp.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MarkdownRenderCacheTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MarkdownRenderCache cache = new MarkdownRenderCache(registry, 1 << 20);
+
+    @Test
+    void rendersOncePerDistinctTextAndEscapesRawHtml() {
+        String html = cache.render("**Ship** it <script>alert(1)</script> [x](javascript:alert(1))");
+        assertThat(html).contains("<strong>Ship</strong>")
+                .doesNotContain("<script>")
+                .doesNotContain("javascript:");
+
+        // Same text, same rendered instance
+        assertThat(cache.render("**Ship** it <script>alert(1)</script> [x](javascript:alert(1))")).isSameAs(html);
+        assertThat(registry.get("cache.gets").tag("cache", "markdown-renders").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(cache.render(null)).isNull();
+    }
+}
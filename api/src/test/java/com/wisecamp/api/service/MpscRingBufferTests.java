@@ -0,0 +1,56 @@
+package com.wisecamp.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+class MpscRingBufferTests {
+
+    @Test
+    void rejectsOffersWhenFull() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++)
+            assertThat(buffer.offer(i)).isTrue();
+        assertThat(buffer.offer(4)).isFalse();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drain(drained::add, 2)).isEqualTo(2);
+        assertThat(buffer.offer(5)).isTrue();
+        buffer.drain(drained::add, 10);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 5);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void deliversEveryElementOnceUnderContention() throws Exception {
+        int producers = 8;
+        int perProducer = 50_000;
+        MpscRingBuffer<Long> buffer = new MpscRingBuffer<>(1024);
+        boolean[] seen = new boolean[producers * perProducer];
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                long base = (long) p * perProducer;
+                executor.execute(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i))
+                            Thread.onSpinWait();
+                    }
+                });
+            }
+            int received = 0;
+            while (received < seen.length) {
+                received += buffer.drain(value -> {
+                    assertThat(seen[value.intValue()]).isFalse();
+                    seen[value.intValue()] = true;
+                }, 256);
+            }
+        }
+        assertThat(buffer.size()).isZero();
+    }
+}
@@ -0,0 +1,72 @@
+package com.wisecamp.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SingleFlightTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlight<Long, String> flight = new SingleFlight<>("test", registry);
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        int callers = 16;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> flight.load(7L, () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return "board 7";
+                })));
+            }
+            // Everyone but the loader has joined once the collapsed count reaches callers - 1
+            while (registry.get("wisecamp.single-flight.collapsed").counter().count() < callers - 1)
+                Thread.sleep(1);
+            release.countDown();
+            for (Future<String> result : results)
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("board 7");
+        }
+        assertThat(loads).hasValue(1);
+
+        // Nothing is kept: the next call loads again
+        assertThat(flight.load(7L, () -> "board 7 again")).isEqualTo("board 7 again");
+    }
+
+    @Test
+    void failuresReachEveryWaitingCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<String> leader = executor.submit(() -> flight.load(1L, () -> {
+                release.await();
+                throw new IOException("database gone");
+            }));
+            while (registry.get("wisecamp.single-flight.loads").counter().count() < 1)
+                Thread.sleep(1);
+            Future<String> follower = executor.submit(() -> flight.load(1L, () -> "never runs"));
+            while (registry.get("wisecamp.single-flight.collapsed").counter().count() < 1)
+                Thread.sleep(1);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("database gone");
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("database gone");
+        }
+    }
+}
@@ -36,7 +36,15 @@ const BoardDetailPage: React.FC = () => {
   const [showBoardSettingsModal, setShowBoardSettingsModal] = useState(false);
   const [editingCard, setEditingCard] = useState<Card | null>(null);
   const [deletingCard, setDeletingCard] = useState<Card | null>(null);
-  const [cardForm, setCardForm] = useState({ title: "", description: "" });
+  const [cardForm, setCardForm] = useState({
+    title: "",
+    description: "",
+    descriptionEdited: false,
+  });
+  const [descriptionStatus, setDescriptionStatus] = useState<
+    "loading" | "loaded" | "failed"
+  >("loaded");
+  const editingCardId = useRef<number | null>(null);
 
   const load = useCallback(async () => {
     if (!id) return;
@@ -123,7 +131,10 @@ const BoardDetailPage: React.FC = () => {
     await apiService.updateCard(editingCard.id, {
       title: cardForm.title,
       name: cardForm.title,
-      description: cardForm.description,
+      // Left out unless typed in, so a description that never loaded is kept
+      ...(cardForm.descriptionEdited
+        ? { description: cardForm.description }
+        : {}),
     });
     setEditingCard(null);
     await load();
@@ -181,10 +192,30 @@ const BoardDetailPage: React.FC = () => {
                 }}
                 onEditCard={(card) => {
                   setEditingCard(card);
+                  editingCardId.current = card.id;
                   setCardForm({
                     title: card.title,
-                    description: card.description,
+                    description: "",
+                    descriptionEdited: false,
                   });
+                  setDescriptionStatus("loading");
+                  // Board reads leave descriptions out; a late answer must not replace typed text
+                  apiService
+                    .getCard(card.id)
+                    .then((detail) => {
+                      if (editingCardId.current !== card.id) return;
+                      setCardForm((form) =>
+                        form.descriptionEdited
+                          ? form
+                          : { ...form, description: detail.description ?? "" }
+                      );
+                      setDescriptionStatus("loaded");
+                    })
+                    .catch((e) => {
+                      console.error(e);
+                      if (editingCardId.current === card.id)
+                        setDescriptionStatus("failed");
+                    });
                 }}
                 onDeleteCard={(card) => {
                   setDeletingCard(card);
@@ -300,7 +331,18 @@ const BoardDetailPage: React.FC = () => {
               <textarea
                 value={cardForm.description}
                 onChange={(e) =>
-                  setCardForm({ ...cardForm, description: e.target.value })
+                  setCardForm({
+                    ...cardForm,
+                    description: e.target.value,
+                    descriptionEdited: true,
+                  })
+                }
+                placeholder={
+                  descriptionStatus === "loading"
+                    ? "Loading description..."
+                    : descriptionStatus === "failed"
+                    ? "Could not load the description; text typed here replaces it"
+                    : undefined
                 }
                 rows={3}
                 className="w-full rounded-lg border border-gray-200 px-3 py-2"
@@ -508,7 +550,6 @@ const CardItem: React.FC<{
           </button>
         </div>
       </div>
-      <div className="text-sm text-gray-600 mt-1">{card.description}</div>
       <div className="mt-3">
         <span
           className={`text-xs font-medium px-2 py-0.5 rounded-full ${tagColor}`}
@@ -12,6 +12,7 @@ import type {
   BoardSummaryResponse,
   CreateCardRequest,
   Card,
+  CardDetail,
   User,
 } from "../types";
 
@@ -197,6 +198,13 @@ class ApiService {
     await this.api.delete(`/boards/${boardId}/columns/${columnId}`);
   }
 
+  async getCard(id: number): Promise<CardDetail> {
+    const response: AxiosResponse<CardDetail> = await this.api.get(
+      `/cards/${id}`
+    );
+    return response.data;
+  }
+
   async updateCard(
     id: number,
     cardData: Partial<CreateCardRequest>
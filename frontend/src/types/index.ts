@@ -135,7 +135,8 @@ export interface Card {
   id: number;
   title: string;
   name: string;
-  description: string;
+  // Not part of board reads; see CardDetail
+  description?: string;
   position: number;
   isActive: boolean;
   dueDate?: string;
@@ -163,6 +164,22 @@ export interface CardResponse {
   updatedAt: string;
 }
 
+export interface CardDetail {
+  id: number;
+  columnId: number;
+  title: string;
+  name: string;
+  description?: string;
+  descriptionHtml?: string;
+  position: number;
+  isActive: boolean;
+  dueDate?: string;
+  commentCount: number;
+  attachmentCount: number;
+  createdAt: string;
+  updatedAt: string;
+}
+
 export interface CreateCardRequest {
   title: string;
   name: string;